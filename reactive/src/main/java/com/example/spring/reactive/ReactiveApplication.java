@@ -0,0 +1,22 @@
+package com.example.spring.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+
+/**
+ * Non-blocking edge for the hot read endpoints of the servlet application: token verification,
+ * {@code /api/v1/session/user-me} and {@code /api/v1/session/refresh-token}, on WebFlux and R2DBC
+ * against the same database.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@SpringBootApplication(exclude = ReactiveUserDetailsServiceAutoConfiguration.class)
+public class ReactiveApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveApplication.class, args);
+    }
+
+}
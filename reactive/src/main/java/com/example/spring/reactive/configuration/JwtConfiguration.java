@@ -0,0 +1,42 @@
+package com.example.spring.reactive.configuration;
+
+import com.example.spring.exception.ApiHandlerException;
+import com.example.spring.util.JWTUtil;
+import com.example.spring.util.JwtKeyRing;
+import com.example.spring.util.VerifiedTokenCache;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * Token signing, verification and error responses shared with the servlet application.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Configuration
+@Import({JWTUtil.class, JwtKeyRing.class, VerifiedTokenCache.class, ApiHandlerException.class})
+public class JwtConfiguration {
+
+    private final JwtKeyRing jwtKeyRing;
+
+    public JwtConfiguration(JwtKeyRing jwtKeyRing) {
+        this.jwtKeyRing = jwtKeyRing;
+    }
+
+    /**
+     * {@code RS256} / {@code ES256} keys live in {@code jwt_signing_key}, but {@link JwtKeyRing}
+     * reads them through the JPA {@code DatabaseJwtKeyStore}, which this module does not have.
+     * Public keys alone would not do either: the refresh endpoint signs new tokens, so it would
+     * need the encrypted private keys and the ring's blocking reload and rotation on R2DBC. Until
+     * the ring can take a non-blocking store, only the shared {@code HS256} secret is supported.
+     */
+    @PostConstruct
+    public void requireSharedSecret() {
+        if (jwtKeyRing.isAsymmetric()) {
+            throw new IllegalStateException("The reactive endpoints need jwt-algorithm " + JwtKeyRing.HS256
+                    + " with the secret of the servlet application, got " + jwtKeyRing.getAlgorithmName());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.spring.reactive.configuration;
+
+import com.example.spring.reactive.filter.ReactiveAuthorizationFilter;
+import com.example.spring.reactive.filter.ReactiveResponseWriter;
+import com.example.spring.reactive.service.TokenVerificationService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+
+/**
+ * Stateless security chain of the reactive endpoints, the routes match {@code RouteSecurityConfiguration}.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Configuration
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfiguration {
+
+    private static final String[] PUBLIC_ROUTES = {"/api/v1/session/refresh-token"};
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         TokenVerificationService tokenVerificationService,
+                                                         ReactiveResponseWriter reactiveResponseWriter) {
+        ServerWebExchangeMatcher publicRoutes = ServerWebExchangeMatchers.pathMatchers(PUBLIC_ROUTES);
+        return http
+                .csrf().disable()
+                .httpBasic().disable()
+                .formLogin().disable()
+                .logout().disable()
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange()
+                .matchers(publicRoutes).permitAll()
+                .anyExchange().authenticated()
+                .and()
+                .addFilterAt(new ReactiveAuthorizationFilter(publicRoutes, tokenVerificationService, reactiveResponseWriter),
+                        SecurityWebFiltersOrder.AUTHENTICATION)
+                .exceptionHandling()
+                .authenticationEntryPoint((exchange, e) ->
+                        reactiveResponseWriter.writeError(exchange.getResponse(), HttpStatus.UNAUTHORIZED, e.getMessage()))
+                .accessDeniedHandler((exchange, e) ->
+                        reactiveResponseWriter.writeError(exchange.getResponse(), HttpStatus.FORBIDDEN, e.getMessage()))
+                .and()
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.spring.reactive.controller;
+
+import com.example.spring.exception.ApiBadRequestException;
+import com.example.spring.exception.ApiNotFoundException;
+import com.example.spring.model.domain.JwtPrincipal;
+import com.example.spring.model.response.ApiResponse;
+import com.example.spring.reactive.repository.ReactiveAppUserRepository;
+import com.example.spring.reactive.service.ReactiveRefreshTokenService;
+import com.example.spring.reactive.service.TokenVerificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+
+/**
+ * Reactive {@code SessionManagementController#refreshToken} and {@code #getUser}, same paths,
+ * statuses and bodies.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@RestController
+@RequestMapping("/api/v1/session")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveSessionController {
+
+    private final ReactiveAppUserRepository appUserRepository;
+    private final TokenVerificationService tokenVerificationService;
+    private final ReactiveRefreshTokenService refreshTokenService;
+
+    /**
+     * Same statuses as the servlet endpoint: {@code 400} for an unreadable or invalid token, the
+     * rotation failures ({@code 409}, {@code 401}) through {@code ApiHandlerException}.
+     */
+    @GetMapping("/refresh-token")
+    public Mono<ResponseEntity<ApiResponse>> refreshToken(ServerHttpRequest request) {
+        return tokenVerificationService.decode(request)
+                .onErrorMap(e -> {
+                    log.error("Error while refreshing token : {}", e.getMessage());
+                    return new ApiBadRequestException("Error while refreshing token : " + e.getMessage());
+                })
+                .flatMap(tokenVerificationService::requireNotRevoked)
+                .flatMap(refreshToken -> refreshTokenService.rotate(refreshToken, request.getPath().value()))
+                .map(loginResponse -> ResponseEntity.ok(
+                        ApiResponse.ok("Refresh token successfull", loginResponse)));
+    }
+
+    @GetMapping("/user-me")
+    public Mono<ResponseEntity<ApiResponse>> getUser(@AuthenticationPrincipal JwtPrincipal principal) {
+        String username = principal.getUsername();
+        return appUserRepository.findUserInfo(username)
+                .switchIfEmpty(Mono.error(() -> new ApiNotFoundException(String.format("User with username %s not found", username))))
+                .map(user -> ResponseEntity.ok(
+                        ApiResponse.ok("Success retrieve user", Collections.singletonMap("user", user))));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.spring.reactive.filter;
+
+import com.example.spring.exception.ApiUnauthorizedException;
+import com.example.spring.model.domain.JwtPrincipal;
+import com.example.spring.reactive.service.TokenVerificationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code CustomAuthorizationFilter} for WebFlux: public routes pass through, every other request
+ * needs a verified, non-revoked access token, whose {@link JwtPrincipal} becomes the
+ * authentication of the reactive security context. Failures are answered with {@code 401}.
+ * <p>
+ * Not a bean on purpose: WebFlux would also add every {@link WebFilter} bean to the application
+ * chain, so it is only registered in the security chain.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Slf4j
+public class ReactiveAuthorizationFilter implements WebFilter {
+
+    private final ServerWebExchangeMatcher publicRoutes;
+    private final TokenVerificationService tokenVerificationService;
+    private final ReactiveResponseWriter reactiveResponseWriter;
+
+    public ReactiveAuthorizationFilter(ServerWebExchangeMatcher publicRoutes,
+                                       TokenVerificationService tokenVerificationService,
+                                       ReactiveResponseWriter reactiveResponseWriter) {
+        this.publicRoutes = publicRoutes;
+        this.tokenVerificationService = tokenVerificationService;
+        this.reactiveResponseWriter = reactiveResponseWriter;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return publicRoutes.matches(exchange)
+                .flatMap(match -> match.isMatch()
+                        ? chain.filter(exchange)
+                        : authenticate(exchange).flatMap(principal -> chain.filter(exchange)
+                                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(
+                                        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities())))
+                                .doOnSuccess(done -> log.info("Authentication success : {}", principal.getUsername()))));
+    }
+
+    /**
+     * Access token of the request, or empty once the {@code 401} has been written.
+     */
+    private Mono<JwtPrincipal> authenticate(ServerWebExchange exchange) {
+        return tokenVerificationService.verify(exchange.getRequest())
+                .flatMap(principal -> principal.isRefreshToken()
+                        ? Mono.<JwtPrincipal>error(new ApiUnauthorizedException("Refresh token cannot be used as access token"))
+                        : Mono.just(principal))
+                .onErrorResume(e -> {
+                    log.info("Authentication failed : {}", e.getMessage());
+                    return reactiveResponseWriter.writeError(exchange.getResponse(), HttpStatus.UNAUTHORIZED, e.getMessage())
+                            .then(Mono.empty());
+                });
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.spring.reactive.filter;
+
+import com.example.spring.model.response.ApiResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Writes {@link ApiResponse} error bodies from the security filter chain, where no controller
+ * advice applies.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Component
+public class ReactiveResponseWriter {
+
+    private final ObjectWriter objectWriter;
+
+    public ReactiveResponseWriter(ObjectMapper objectMapper) {
+        this.objectWriter = objectMapper.writerFor(ApiResponse.class);
+    }
+
+    public Mono<Void> writeError(ServerHttpResponse response, HttpStatus status, String message) {
+        byte[] body;
+        try {
+            body = objectWriter.writeValueAsBytes(ApiResponse.builder()
+                    .code(status.value())
+                    .status(status.getReasonPhrase())
+                    .message(message)
+                    .build());
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(body.length);
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
+    }
+}
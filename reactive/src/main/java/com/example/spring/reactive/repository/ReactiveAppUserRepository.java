@@ -0,0 +1,82 @@
+package com.example.spring.reactive.repository;
+
+import com.example.spring.model.domain.Role;
+import com.example.spring.model.projection.AppUserCredentialRow;
+import com.example.spring.model.projection.AppUserCredentials;
+import com.example.spring.model.response.UserInfoResponse;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Account lookups of {@code AppUserRepository} over R2DBC. Each is one query joining the user to
+ * its roles, one row per role; {@code app_role.name} holds the {@link Role} ordinal.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveAppUserRepository {
+
+    private static final String ROLES_BY_USERNAME = " from app_user u"
+            + " left join app_user_role ur on ur.app_user = u.id"
+            + " left join app_role r on r.id = ur.app_role"
+            + " where u.username = :username";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<UserInfoResponse> findUserInfo(String username) {
+        return databaseClient.sql("select u.first_name, u.last_name, u.username, u.email, r.name as role" + ROLES_BY_USERNAME)
+                .bind("username", username)
+                .map((row, metadata) -> {
+                    List<Role> roles = new ArrayList<>();
+                    Role role = role(row);
+                    if (role != null) {
+                        roles.add(role);
+                    }
+                    return UserInfoResponse.builder()
+                            .firstName(row.get("first_name", String.class))
+                            .lastName(row.get("last_name", String.class))
+                            .userName(row.get("username", String.class))
+                            .email(row.get("email", String.class))
+                            .roles(roles)
+                            .build();
+                })
+                .all()
+                .reduce((user, next) -> {
+                    user.getRoles().addAll(next.getRoles());
+                    return user;
+                });
+    }
+
+    /**
+     * Same account data as {@code AppUserRepository#findCredentialRows}, by username only.
+     */
+    public Mono<AppUserCredentials> findCredentials(String username) {
+        return databaseClient.sql("select u.id, u.username, u.email, u.password, u.is_enabled, u.is_locked, r.name as role"
+                        + ROLES_BY_USERNAME)
+                .bind("username", username)
+                .map((row, metadata) -> new AppUserCredentialRow(
+                        row.get("id", Long.class),
+                        row.get("username", String.class),
+                        row.get("email", String.class),
+                        row.get("password", String.class),
+                        row.get("is_enabled", Boolean.class),
+                        row.get("is_locked", Boolean.class),
+                        role(row)))
+                .all()
+                .collectList()
+                .flatMap(rows -> Mono.justOrEmpty(AppUserCredentials.from(username, rows)));
+    }
+
+    private static Role role(Row row) {
+        Integer ordinal = row.get("role", Integer.class);
+        return ordinal != null ? Role.values()[ordinal] : null;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.spring.reactive.repository;
+
+import com.example.spring.model.domain.RefreshTokenFamily;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * {@code RefreshTokenFamilyRepository} over R2DBC, on the same {@code refresh_token_family} rows.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveRefreshTokenFamilyRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<RefreshTokenFamily> findById(String familyId) {
+        return databaseClient.sql("select family_id, username, current_token_id, previous_token_id, rotated_at, expires_at, revoked"
+                        + " from refresh_token_family where family_id = :familyId")
+                .bind("familyId", familyId)
+                .map((row, metadata) -> RefreshTokenFamily.builder()
+                        .familyId(row.get("family_id", String.class))
+                        .username(row.get("username", String.class))
+                        .currentTokenId(row.get("current_token_id", String.class))
+                        .previousTokenId(row.get("previous_token_id", String.class))
+                        .rotatedAt(row.get("rotated_at", LocalDateTime.class))
+                        .expiresAt(row.get("expires_at", LocalDateTime.class))
+                        .revoked(Boolean.TRUE.equals(row.get("revoked", Boolean.class)))
+                        .build())
+                .one();
+    }
+
+    /**
+     * Compare-and-set on {@code current_token_id}: updates nothing when the family was already
+     * rotated or revoked elsewhere.
+     */
+    public Mono<Integer> rotate(String familyId, String currentTokenId, String nextTokenId,
+                                LocalDateTime rotatedAt, LocalDateTime expiresAt) {
+        return databaseClient.sql("update refresh_token_family set current_token_id = :nextTokenId,"
+                        + " previous_token_id = :currentTokenId, rotated_at = :rotatedAt, expires_at = :expiresAt"
+                        + " where family_id = :familyId and current_token_id = :currentTokenId and revoked = false")
+                .bind("familyId", familyId)
+                .bind("currentTokenId", currentTokenId)
+                .bind("nextTokenId", nextTokenId)
+                .bind("rotatedAt", rotatedAt)
+                .bind("expiresAt", expiresAt)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Integer> revoke(String familyId) {
+        return databaseClient.sql("update refresh_token_family set revoked = true where family_id = :familyId")
+                .bind("familyId", familyId)
+                .fetch()
+                .rowsUpdated();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.spring.reactive.repository;
+
+import com.example.spring.model.domain.RevokedToken;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * The {@code revoked_token} denylist shared with the servlet application.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveRevokedTokenRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Boolean> existsById(String tokenId) {
+        return databaseClient.sql("select 1 from revoked_token where token_id = :tokenId")
+                .bind("tokenId", tokenId)
+                .map((row, metadata) -> Boolean.TRUE)
+                .first()
+                .hasElement();
+    }
+
+    public Flux<String> findActiveTokenIds(LocalDateTime now) {
+        return databaseClient.sql("select token_id from revoked_token where expires_at > :now")
+                .bind("now", now)
+                .map((row, metadata) -> row.get("token_id", String.class))
+                .all();
+    }
+
+    public Flux<String> findTokenIdsRevokedAfter(LocalDateTime after) {
+        return databaseClient.sql("select token_id from revoked_token where revoked_at > :after")
+                .bind("after", after)
+                .map((row, metadata) -> row.get("token_id", String.class))
+                .all();
+    }
+
+    /**
+     * Inserts the row unless the id is already denylisted.
+     */
+    public Mono<Integer> save(RevokedToken revokedToken) {
+        return databaseClient.sql("insert into revoked_token (token_id, username, revoked_at, expires_at)"
+                        + " select :tokenId, :username, :revokedAt, :expiresAt"
+                        + " where not exists (select 1 from revoked_token where token_id = :tokenId)")
+                .bind("tokenId", revokedToken.getTokenId())
+                .bind("username", revokedToken.getUsername())
+                .bind("revokedAt", revokedToken.getRevokedAt())
+                .bind("expiresAt", revokedToken.getExpiresAt())
+                .fetch()
+                .rowsUpdated();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.spring.reactive.service;
+
+import com.example.spring.exception.ApiBadRequestException;
+import com.example.spring.exception.ApiConflictException;
+import com.example.spring.exception.ApiNotFoundException;
+import com.example.spring.exception.ApiUnauthorizedException;
+import com.example.spring.model.domain.JwtPrincipal;
+import com.example.spring.model.domain.RefreshTokenFamily;
+import com.example.spring.model.response.LoginResponse;
+import com.example.spring.reactive.repository.ReactiveAppUserRepository;
+import com.example.spring.reactive.repository.ReactiveRefreshTokenFamilyRepository;
+import com.example.spring.util.JWTUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * Refresh token rotation of {@code RefreshTokenService} with the same outcomes, on R2DBC.
+ * <p>
+ * There is no in-memory family index here: the conditional update on {@code refresh_token_family}
+ * is the only compare-and-set, so this module and any number of servlet instances can rotate the
+ * same families and exactly one exchange of a token wins.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Service
+@Slf4j
+public class ReactiveRefreshTokenService {
+
+    private final ReactiveRefreshTokenFamilyRepository refreshTokenFamilyRepository;
+    private final ReactiveAppUserRepository appUserRepository;
+    private final ReactiveTokenRevocationService tokenRevocationService;
+    private final JWTUtil jwtUtil;
+    private final long reuseGracePeriod;
+
+    public ReactiveRefreshTokenService(ReactiveRefreshTokenFamilyRepository refreshTokenFamilyRepository,
+                                       ReactiveAppUserRepository appUserRepository,
+                                       ReactiveTokenRevocationService tokenRevocationService,
+                                       JWTUtil jwtUtil,
+                                       @Value("${parameter.value.refresh-token-reuse-grace-period}") long reuseGracePeriod) {
+        this.refreshTokenFamilyRepository = refreshTokenFamilyRepository;
+        this.appUserRepository = appUserRepository;
+        this.tokenRevocationService = tokenRevocationService;
+        this.jwtUtil = jwtUtil;
+        this.reuseGracePeriod = reuseGracePeriod;
+    }
+
+    /**
+     * Exchange a verified refresh token for a new token pair of the same family.
+     *
+     * @param issuer request path written to {@code iss}
+     */
+    public Mono<LoginResponse> rotate(JwtPrincipal refreshToken, String issuer) {
+        if (!refreshToken.isRefreshToken() || refreshToken.getFamilyId() == null) {
+            return Mono.error(new ApiBadRequestException("Token is not a refresh token"));
+        }
+        String tokenId = refreshToken.getTokenId();
+        return findFamily(refreshToken.getFamilyId())
+                .flatMap(family -> !family.isRevoked() && family.getCurrentTokenId().equals(tokenId)
+                        ? exchange(family, tokenId, issuer)
+                        : reject(family, tokenId));
+    }
+
+    /**
+     * Revokes the family and denylists it like {@code TokenRevocationService#revokeFamily}, so its
+     * access tokens are refused too.
+     */
+    public Mono<Void> revokeFamily(String familyId, String username) {
+        log.info("Revoking refresh token family {}", familyId);
+        return refreshTokenFamilyRepository.revoke(familyId)
+                .then(tokenRevocationService.revokeFamily(familyId, username));
+    }
+
+    private Mono<LoginResponse> exchange(RefreshTokenFamily family, String tokenId, String issuer) {
+        String familyId = family.getFamilyId();
+        String username = family.getUsername();
+        return appUserRepository.findCredentials(username)
+                .switchIfEmpty(Mono.error(() -> new ApiNotFoundException(String.format("User with username %s not found", username))))
+                .flatMap(user -> {
+                    String nextTokenId = UUID.randomUUID().toString();
+                    LoginResponse loginResponse = jwtUtil.createTokens(user, issuer, familyId, nextTokenId);
+                    long now = System.currentTimeMillis();
+                    long expiresAt = loginResponse.getRefreshToken().getExpiredAt().getTime();
+                    return refreshTokenFamilyRepository.rotate(familyId, tokenId, nextTokenId,
+                                    toLocalDateTime(now), toLocalDateTime(expiresAt))
+                            // zero rows: another request or instance exchanged or revoked the same token first
+                            .flatMap(updated -> updated > 0
+                                    ? Mono.just(loginResponse)
+                                    : findFamily(familyId).flatMap(current -> reject(current, tokenId)));
+                });
+    }
+
+    private Mono<RefreshTokenFamily> findFamily(String familyId) {
+        return refreshTokenFamilyRepository.findById(familyId)
+                .switchIfEmpty(Mono.error(() -> new ApiUnauthorizedException("Refresh token is no longer valid, please login again")));
+    }
+
+    private Mono<LoginResponse> reject(RefreshTokenFamily family, String tokenId) {
+        if (family.isRevoked()) {
+            return Mono.error(new ApiUnauthorizedException("Refresh token has been revoked, please login again"));
+        }
+        if (tokenId.equals(family.getPreviousTokenId()) && family.getRotatedAt() != null
+                && System.currentTimeMillis() - toEpochMilli(family.getRotatedAt()) < reuseGracePeriod) {
+            return Mono.error(new ApiConflictException("Refresh token was already exchanged by a concurrent request"));
+        }
+        log.warn("Refresh token reuse detected for {} in family {}", family.getUsername(), family.getFamilyId());
+        return revokeFamily(family.getFamilyId(), family.getUsername())
+                .then(Mono.error(new ApiUnauthorizedException("Refresh token reuse detected, please login again")));
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMilli) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneId.systemDefault());
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
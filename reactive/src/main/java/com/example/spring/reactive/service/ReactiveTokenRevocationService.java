@@ -0,0 +1,151 @@
+package com.example.spring.reactive.service;
+
+import com.example.spring.model.domain.RevokedToken;
+import com.example.spring.reactive.repository.ReactiveRevokedTokenRepository;
+import com.example.spring.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Denylist of revoked token ids of {@code TokenRevocationService}, on R2DBC.
+ * <p>
+ * The {@code revoked_token} table stays the source of truth. A {@link BloomFilter} built from it
+ * answers the common "not revoked" case without a round trip; only possible hits are looked up.
+ * Rows revoked by the servlet instances are pulled in every {@code revocation-sync-interval} by
+ * reading the rows revoked since the previous load, {@code revocation-sync-overlap} further back
+ * for clock skew and late commits. Expired rows are pruned by the servlet application, so the
+ * filter is rebuilt every {@code revocation-rebuild-interval} to drop them.
+ * <p>
+ * Loads run on the scheduler thread and block it; request handling never waits on them.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Service
+@Slf4j
+@DependsOnDatabaseInitialization
+public class ReactiveTokenRevocationService {
+
+    private final ReactiveRevokedTokenRepository revokedTokenRepository;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Duration syncOverlap;
+    private final Duration accessTokenLifetime;
+
+    private volatile BloomFilter bloomFilter;
+    private volatile BloomFilter rebuilding;
+    /**
+     * When the last full or incremental load started, {@code null} before the first one.
+     */
+    private volatile LocalDateTime loadedAt;
+
+    public ReactiveTokenRevocationService(ReactiveRevokedTokenRepository revokedTokenRepository,
+                                          @Value("${parameter.value.revocation-bloom-expected-insertions}") long expectedInsertions,
+                                          @Value("${parameter.value.revocation-bloom-false-positive-rate}") double falsePositiveRate,
+                                          @Value("${parameter.value.revocation-sync-overlap}") long syncOverlap,
+                                          @Value("${parameter.value.jwt-access-token-expiration-time}") long accessTokenLifetime) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.syncOverlap = Duration.ofMillis(syncOverlap);
+        this.accessTokenLifetime = Duration.ofMillis(accessTokenLifetime);
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    public Mono<Boolean> isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return Mono.just(false);
+        }
+        BloomFilter filter = bloomFilter;
+        if (filter != null && !filter.mightContain(tokenId)) {
+            return Mono.just(false);
+        }
+        return revokedTokenRepository.existsById(tokenId);
+    }
+
+    /**
+     * Refuses every token of the family from now on, including access tokens issued before.
+     */
+    public Mono<Void> revokeFamily(String familyId, String username) {
+        String tokenId = RevokedToken.familyKey(familyId);
+        LocalDateTime now = LocalDateTime.now();
+        return revokedTokenRepository.save(RevokedToken.builder()
+                        .tokenId(tokenId)
+                        .username(username)
+                        .revokedAt(now)
+                        .expiresAt(now.plus(accessTokenLifetime))
+                        .build())
+                .doOnSuccess(saved -> put(tokenId))
+                .then();
+    }
+
+    /**
+     * Adds the tokens revoked since the previous load, by this or any other instance.
+     */
+    @Scheduled(fixedDelayString = "${parameter.value.revocation-sync-interval}",
+            initialDelayString = "${parameter.value.revocation-sync-interval}")
+    public void sync() {
+        LocalDateTime since = loadedAt;
+        if (since == null) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        Long count = revokedTokenRepository.findTokenIdsRevokedAfter(since.minus(syncOverlap))
+                .doOnNext(this::put)
+                .count()
+                .block();
+        loadedAt = startedAt;
+        log.debug("Revocation filter synced with {} tokens", count);
+    }
+
+    /**
+     * Stream the still-valid revoked ids into a fresh filter and swap it in.
+     * Revocations that happen meanwhile are written to both filters.
+     */
+    @Scheduled(fixedDelayString = "${parameter.value.revocation-rebuild-interval}",
+            initialDelayString = "${parameter.value.revocation-rebuild-interval}")
+    public void rebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        BloomFilter next = new BloomFilter(expectedInsertions, falsePositiveRate);
+        rebuilding = next;
+        Long count;
+        try {
+            count = revokedTokenRepository.findActiveTokenIds(startedAt)
+                    .doOnNext(next::put)
+                    .count()
+                    .block();
+            bloomFilter = next;
+            loadedAt = startedAt;
+        } finally {
+            rebuilding = null;
+        }
+        log.info("Revocation filter rebuilt with {} tokens", count);
+    }
+
+    private void put(String tokenId) {
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.put(tokenId);
+        }
+        // a rebuild may swap the filter under us, so repeat until the live one has it
+        BloomFilter filter;
+        do {
+            filter = bloomFilter;
+            if (filter != null) {
+                filter.put(tokenId);
+            }
+        } while (filter != bloomFilter);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.spring.reactive.service;
+
+import com.example.spring.exception.ApiBadRequestException;
+import com.example.spring.exception.ApiUnauthorizedException;
+import com.example.spring.model.domain.JwtPrincipal;
+import com.example.spring.model.domain.RevokedToken;
+import com.example.spring.util.JWTUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+/**
+ * Bearer token checks of the servlet application without blocking: the signature and claims are
+ * verified in memory (through the shared {@code VerifiedTokenCache}), the denylist through the
+ * {@link ReactiveTokenRevocationService} filter, so only possible hits cost an R2DBC lookup.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Service
+@Slf4j
+public class TokenVerificationService {
+
+    private final JWTUtil jwtUtil;
+    private final ReactiveTokenRevocationService tokenRevocationService;
+    private final String bearer;
+
+    public TokenVerificationService(JWTUtil jwtUtil,
+                                    ReactiveTokenRevocationService tokenRevocationService,
+                                    @Value("${parameter.value.jwt-bearer}") String bearer) {
+        this.jwtUtil = jwtUtil;
+        this.tokenRevocationService = tokenRevocationService;
+        this.bearer = bearer;
+    }
+
+    /**
+     * Verified and not revoked token of the request, of either type.
+     */
+    public Mono<JwtPrincipal> verify(ServerHttpRequest request) {
+        return decode(request).flatMap(this::requireNotRevoked);
+    }
+
+    /**
+     * Token of the request with a valid signature and claims, revoked or not.
+     */
+    public Mono<JwtPrincipal> decode(ServerHttpRequest request) {
+        return Mono.fromCallable(() -> jwtUtil.verify(getTokenFromRequest(request)));
+    }
+
+    /**
+     * Fails when the token or its refresh token family has been revoked.
+     */
+    public Mono<JwtPrincipal> requireNotRevoked(JwtPrincipal principal) {
+        return tokenRevocationService.isRevoked(principal.getTokenId())
+                .flatMap(revoked -> revoked || principal.getFamilyId() == null
+                        ? Mono.just(revoked)
+                        : tokenRevocationService.isRevoked(RevokedToken.familyKey(principal.getFamilyId())))
+                .flatMap(revoked -> revoked
+                        ? Mono.<JwtPrincipal>error(new ApiUnauthorizedException("Token has been revoked"))
+                        : Mono.just(principal));
+    }
+
+    private String getTokenFromRequest(ServerHttpRequest request) {
+        String authorizationHeader = request.getHeaders().getFirst(AUTHORIZATION);
+        if (authorizationHeader != null && authorizationHeader.startsWith(bearer)) {
+            return authorizationHeader.substring(bearer.length());
+        }
+        log.error("No token found in request");
+        throw new ApiBadRequestException("Invalid token");
+    }
+}
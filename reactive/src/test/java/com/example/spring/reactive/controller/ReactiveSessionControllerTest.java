@@ -0,0 +1,234 @@
+package com.example.spring.reactive.controller;
+
+import com.example.spring.model.projection.AppUserCredentials;
+import com.example.spring.model.response.LoginResponse;
+import com.example.spring.reactive.service.ReactiveTokenRevocationService;
+import com.example.spring.util.JWTUtil;
+import com.example.spring.util.RoleAuthorities;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+class ReactiveSessionControllerTest {
+
+    private static final String USER_ME = "/api/v1/session/user-me";
+    private static final String REFRESH_TOKEN = "/api/v1/session/refresh-token";
+
+    @Autowired
+    private WebTestClient webTestClient;
+    @Autowired
+    private DatabaseClient databaseClient;
+    @Autowired
+    private JWTUtil jwtUtil;
+    @Autowired
+    private ReactiveTokenRevocationService tokenRevocationService;
+
+    private final AppUserCredentials user = new AppUserCredentials(1L, "yogi", "password", true, false,
+            RoleAuthorities.mask(Arrays.asList("ROLE_USER", "ROLE_ADMIN")));
+    private String familyId;
+    private String refreshTokenId;
+    private LoginResponse tokens;
+
+    @BeforeEach
+    void setUp() {
+        Flux.just("delete from app_user_role", "delete from app_role", "delete from app_user",
+                        "delete from refresh_token_family", "delete from revoked_token",
+                        "insert into app_user values (1, 'Yogi', 'Gan', 'yogi', 'yogi@example.com', 'password', false, true)",
+                        "insert into app_role values (1, 0)",
+                        "insert into app_role values (2, 1)",
+                        "insert into app_user_role values (1, 1)",
+                        "insert into app_user_role values (1, 2)")
+                .concatMap(sql -> databaseClient.sql(sql).then())
+                .blockLast();
+        familyId = UUID.randomUUID().toString();
+        refreshTokenId = UUID.randomUUID().toString();
+        tokens = jwtUtil.createTokens(user, "/api/v1/login", familyId, refreshTokenId);
+        databaseClient.sql("insert into refresh_token_family (family_id, username, current_token_id, expires_at, revoked)"
+                        + " values (:familyId, 'yogi', :tokenId, :expiresAt, false)")
+                .bind("familyId", familyId)
+                .bind("tokenId", refreshTokenId)
+                .bind("expiresAt", LocalDateTime.now().plusHours(1))
+                .then()
+                .block();
+    }
+
+    @Test
+    void testUserMeReturnsUserWithRoles() {
+        //when
+        //then
+        webTestClient.get().uri(USER_ME)
+                .header(AUTHORIZATION, "Bearer " + tokens.getAccessToken().getValue())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Success retrieve user")
+                .jsonPath("$.data.user.userName").isEqualTo("yogi")
+                .jsonPath("$.data.user.email").isEqualTo("yogi@example.com")
+                .jsonPath("$.data.user.roles.length()").isEqualTo(2);
+    }
+
+    @Test
+    void testUserMeWithoutTokenIsUnauthorized() {
+        //when
+        //then
+        webTestClient.get().uri(USER_ME)
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Invalid token");
+    }
+
+    @Test
+    void testUserMeWithRefreshTokenIsUnauthorized() {
+        //when
+        //then
+        webTestClient.get().uri(USER_ME)
+                .header(AUTHORIZATION, "Bearer " + tokens.getRefreshToken().getValue())
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Refresh token cannot be used as access token");
+    }
+
+    @Test
+    void testUserMeWithTokenRevokedByServletApplicationIsUnauthorized() {
+        //given
+        String accessToken = tokens.getAccessToken().getValue();
+        databaseClient.sql("insert into revoked_token (token_id, username, revoked_at, expires_at)"
+                        + " values (:tokenId, 'yogi', :now, :expiresAt)")
+                .bind("tokenId", jwtUtil.verify(accessToken).getTokenId())
+                .bind("now", LocalDateTime.now())
+                .bind("expiresAt", LocalDateTime.now().plusHours(1))
+                .then()
+                .block();
+        tokenRevocationService.sync();
+
+        //when
+        //then
+        webTestClient.get().uri(USER_ME)
+                .header(AUTHORIZATION, "Bearer " + accessToken)
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Token has been revoked");
+    }
+
+    @Test
+    void testRefreshTokenRotatesFamily() {
+        //when
+        //then
+        webTestClient.get().uri(REFRESH_TOKEN)
+                .header(AUTHORIZATION, "Bearer " + tokens.getRefreshToken().getValue())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Refresh token successfull")
+                .jsonPath("$.data.accessToken.value").isNotEmpty()
+                .jsonPath("$.data.refreshToken.value").isNotEmpty();
+        assertThat(familyColumn("previous_token_id")).isEqualTo(refreshTokenId);
+        assertThat(familyColumn("current_token_id")).isNotEqualTo(refreshTokenId);
+    }
+
+    @Test
+    void testRefreshTokenRetriedWithinGracePeriodIsConflict() {
+        //given
+        String refreshToken = tokens.getRefreshToken().getValue();
+        webTestClient.get().uri(REFRESH_TOKEN).header(AUTHORIZATION, "Bearer " + refreshToken)
+                .exchange().expectStatus().isOk();
+
+        //when
+        //then
+        webTestClient.get().uri(REFRESH_TOKEN)
+                .header(AUTHORIZATION, "Bearer " + refreshToken)
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Refresh token was already exchanged by a concurrent request");
+        assertThat(familyColumn("revoked")).isEqualTo(false);
+    }
+
+    @Test
+    void testRefreshTokenReuseRevokesFamily() {
+        //given
+        databaseClient.sql("update refresh_token_family set current_token_id = 'newer', previous_token_id = 'older'")
+                .then()
+                .block();
+
+        //when
+        //then
+        webTestClient.get().uri(REFRESH_TOKEN)
+                .header(AUTHORIZATION, "Bearer " + tokens.getRefreshToken().getValue())
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Refresh token reuse detected, please login again");
+        assertThat(familyColumn("revoked")).isEqualTo(true);
+    }
+
+    @Test
+    void testAccessTokenOfFamilyRevokedForReuseIsUnauthorized() {
+        //given
+        databaseClient.sql("update refresh_token_family set current_token_id = 'newer', previous_token_id = 'older'")
+                .then()
+                .block();
+        webTestClient.get().uri(REFRESH_TOKEN)
+                .header(AUTHORIZATION, "Bearer " + tokens.getRefreshToken().getValue())
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        //when
+        //then
+        webTestClient.get().uri(USER_ME)
+                .header(AUTHORIZATION, "Bearer " + tokens.getAccessToken().getValue())
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Token has been revoked");
+    }
+
+    @Test
+    void testRefreshTokenRejectsAccessToken() {
+        //when
+        //then
+        webTestClient.get().uri(REFRESH_TOKEN)
+                .header(AUTHORIZATION, "Bearer " + tokens.getAccessToken().getValue())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Token is not a refresh token");
+    }
+
+    @Test
+    void testRefreshTokenWithInvalidTokenIsBadRequest() {
+        //when
+        //then
+        webTestClient.get().uri(REFRESH_TOKEN)
+                .header(AUTHORIZATION, "Bearer invalid")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").value(message -> assertThat((String) message).startsWith("Error while refreshing token : "));
+    }
+
+    private Object familyColumn(String column) {
+        return databaseClient.sql("select " + column + " from refresh_token_family where family_id = :familyId")
+                .bind("familyId", familyId)
+                .map((row, metadata) -> row.get(column))
+                .one()
+                .block();
+    }
+}
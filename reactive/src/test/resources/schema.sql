@@ -0,0 +1,38 @@
+-- tables as Hibernate creates them for the servlet application
+create table app_user (
+    id bigint primary key,
+    first_name varchar(255),
+    last_name varchar(255),
+    username varchar(255) not null unique,
+    email varchar(255) not null unique,
+    password varchar(255),
+    is_locked boolean,
+    is_enabled boolean
+);
+
+create table app_role (
+    id bigint primary key,
+    name integer
+);
+
+create table app_user_role (
+    app_user bigint not null references app_user (id),
+    app_role bigint not null references app_role (id)
+);
+
+create table refresh_token_family (
+    family_id varchar(255) primary key,
+    username varchar(255),
+    current_token_id varchar(255),
+    previous_token_id varchar(255),
+    rotated_at timestamp,
+    expires_at timestamp,
+    revoked boolean not null
+);
+
+create table revoked_token (
+    token_id varchar(255) primary key,
+    username varchar(255),
+    revoked_at timestamp,
+    expires_at timestamp
+);
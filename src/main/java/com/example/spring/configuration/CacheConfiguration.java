@@ -0,0 +1,58 @@
+package com.example.spring.configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded local caches in front of the lookups made on every request. Puts and evictions made
+ * within a transaction are applied after it commits: a rolled back change evicts nothing, and a
+ * concurrent reader cannot cache the old row again between the eviction and the commit. A reader
+ * whose query started before the commit still can, which the user cache's expiry bounds.
+ * <p>
+ * Hits, misses and evictions are published per cache as the {@code cache.*} metrics.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    /**
+     * {@code AppRole} by {@code Role}: reference data, only evicted when roles are saved or deleted.
+     */
+    public static final String ROLES = "roles";
+    /**
+     * {@code AppUserSummary} by username, evicted whenever the user or its roles are written.
+     */
+    public static final String USERS = "users";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${parameter.value.role-cache-maximum-size}") long roleMaximumSize,
+            @Value("${parameter.value.user-cache-maximum-size}") long userMaximumSize,
+            @Value("${parameter.value.user-cache-expire-after-write}") long userExpireAfterWrite) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // no caches beyond the registered ones, a misspelt name fails instead of caching unbounded
+        cacheManager.setCacheNames(Collections.emptyList());
+        cacheManager.registerCustomCache(ROLES, Caffeine.newBuilder()
+                .maximumSize(roleMaximumSize)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(USERS, Caffeine.newBuilder()
+                .maximumSize(userMaximumSize)
+                .expireAfterWrite(userExpireAfterWrite, TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
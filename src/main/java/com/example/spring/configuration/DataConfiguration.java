@@ -10,7 +10,7 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -29,7 +29,7 @@ public class DataConfiguration {
     @Profile("dev")
     public CommandLineRunner commandLineRunner(
             Faker faker, AppUserService userService,
-            BCryptPasswordEncoder bcryptPasswordEncoder,
+            PasswordEncoder passwordEncoder,
             AppRoleService roleService) {
         return arg -> {
             List<AppUser> users = new ArrayList<>();
@@ -48,7 +48,7 @@ public class DataConfiguration {
                         .firstName(faker.name().firstName())
                         .lastName(faker.name().lastName())
                         .email(faker.internet().emailAddress())
-                        .password(bcryptPasswordEncoder.encode(faker.internet().password()))
+                        .password(passwordEncoder.encode(faker.internet().password()))
                         .username(faker.name().username())
                         .build()
                 );
@@ -0,0 +1,50 @@
+package com.example.spring.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Configuration
+public class ExecutorConfiguration {
+
+    /**
+     * Bounded pool for token introspection. When the queue is full the calling request thread
+     * verifies the token itself, which throttles callers instead of dropping work.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor introspectionExecutor(
+            @Value("${parameter.value.introspection-pool-size}") int poolSize,
+            @Value("${parameter.value.introspection-queue-capacity}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("introspection-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * Hashes the passwords of a user import, apart from the login pool so an import does not
+     * hold up logins.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool userImportHashingPool(
+            @Value("${parameter.value.user-import-hashing-parallelism}") int parallelism) {
+        return new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("user-import-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+}
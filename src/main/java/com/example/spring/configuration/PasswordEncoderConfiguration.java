@@ -0,0 +1,41 @@
+package com.example.spring.configuration;
+
+import com.example.spring.util.PasswordHashing;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Configuration
+@Slf4j
+public class PasswordEncoderConfiguration {
+
+    /**
+     * Encoder for every stored password. With a {@code password-hash-target-time} the cost of the
+     * configured bcrypt or Argon2 encoder is raised at startup until one hash takes about that
+     * long on this machine; the configured costs are the floor. PBKDF2 hashes do not record their
+     * iteration count, so PBKDF2 always uses the configured count.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(
+            @Value("${parameter.value.password-encoder}") String encoder,
+            @Value("${parameter.value.password-hash-target-time}") long targetMillis,
+            @Value("${parameter.value.password-bcrypt-strength}") int bcryptStrength,
+            @Value("${parameter.value.password-pbkdf2-iterations}") int pbkdf2Iterations,
+            @Value("${parameter.value.password-argon2-iterations}") int argon2Iterations,
+            @Value("${parameter.value.password-argon2-memory}") int argon2Memory) {
+        if (targetMillis > 0 && PasswordHashing.BCRYPT.equals(encoder)) {
+            bcryptStrength = PasswordHashing.calibrateBcrypt(targetMillis, bcryptStrength);
+            log.info("Calibrated bcrypt strength {} for {} ms per hash", bcryptStrength, targetMillis);
+        } else if (targetMillis > 0 && PasswordHashing.ARGON2.equals(encoder)) {
+            argon2Iterations = PasswordHashing.calibrateArgon2(targetMillis, argon2Iterations, argon2Memory);
+            log.info("Calibrated argon2 iterations {} for {} ms per hash", argon2Iterations, targetMillis);
+        }
+        return PasswordHashing.delegating(encoder, bcryptStrength, pbkdf2Iterations, argon2Iterations, argon2Memory);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.spring.configuration;
+
+import com.example.spring.util.RouteSecurityTable;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Single source of truth for which routes are public, authenticated or admin-only.
+ * Routes not listed here require authentication.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Configuration
+public class RouteSecurityConfiguration {
+
+    @Bean
+    public RouteSecurityTable routeSecurityTable() {
+        return RouteSecurityTable.builder()
+                .permit(
+                        "/api/v1/login",
+                        "/api/v1/registration/**",
+                        "/api/v1/session/refresh-token",
+                        "/swagger-resources/**",
+                        "/swagger-ui/**",
+                        "/v2/api-docs/**",
+                        "/v3/api-docs/**",
+                        "/favicon.ico",
+                        "/.well-known/jwks.json")
+                .admin(
+                        "/api/v1/user/**",
+                        "/api/v1/role/**",
+                        "/api/v1/key/**",
+                        "/api/v1/introspect")
+                .build();
+    }
+}
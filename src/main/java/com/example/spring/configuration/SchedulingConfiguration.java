@@ -0,0 +1,13 @@
+package com.example.spring.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
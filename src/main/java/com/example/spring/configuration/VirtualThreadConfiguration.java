@@ -0,0 +1,40 @@
+package com.example.spring.configuration;
+
+import com.example.spring.util.VirtualThreads;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Opt-in mode that runs every Tomcat request, including async dispatches, on its own virtual
+ * thread instead of the fixed worker pool. Needs Java 21 or later at runtime; startup fails
+ * otherwise.
+ * <p>
+ * Password hashing and token introspection keep their bounded platform pools: that work is CPU
+ * bound and the pools are what limit it.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "parameter.value.virtual-threads-enabled", havingValue = "true")
+public class VirtualThreadConfiguration {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadRequestExecutor() {
+        log.info("Handling requests on virtual threads");
+        return VirtualThreads.newThreadPerTaskExecutor("request-");
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer(
+            ExecutorService virtualThreadRequestExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadRequestExecutor);
+    }
+}
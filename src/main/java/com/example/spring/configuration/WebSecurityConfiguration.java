@@ -3,7 +3,9 @@ package com.example.spring.configuration;
 import com.example.spring.exception.CustomAccessDeniedHandler;
 import com.example.spring.filter.CustomAuthenticationFilter;
 import com.example.spring.filter.CustomAuthorizationFilter;
+import com.example.spring.filter.RateLimitFilter;
 import com.example.spring.service.AppUserService;
+import com.example.spring.util.RouteSecurityTable;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
@@ -15,9 +17,12 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import static com.example.spring.util.RouteSecurityTable.Access.ADMIN;
+import static com.example.spring.util.RouteSecurityTable.Access.PUBLIC;
+
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
@@ -26,19 +31,10 @@ public class WebSecurityConfiguration extends WebSecurityConfigurerAdapter {
     private AppUserService userDetailsService;
     private CustomAuthenticationFilter customAuthenticationFilter;
     private final CustomAuthorizationFilter customAuthorizationFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final CustomAccessDeniedHandler customAccessDeniedHandler;
-    private static final String[] ALLOWED_PATHS = {
-            "/api/v1/login",
-            "/api/v1/registration/**",
-            "/api/v1/session/**",
-            "/swagger-resources/**",
-            "/swagger-ui/**",
-            "/v*/api-docs"
-    };
-    private static final String[] SECURED_ADMIN_PATHS = {
-            "/api/v1/user/**",
-            "/api/v1/role/**"
-    };
+    private final RouteSecurityTable routeSecurityTable;
+    private final PasswordEncoder passwordEncoder;
 
     @Autowired
     public void setUserDetailsService(@Lazy AppUserService userDetailsService) {
@@ -57,27 +53,25 @@ public class WebSecurityConfiguration extends WebSecurityConfigurerAdapter {
 
         http.cors().and().csrf().disable();
         http.sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS);
-        http.authorizeRequests().antMatchers(ALLOWED_PATHS).permitAll();
-        http.authorizeRequests().antMatchers(SECURED_ADMIN_PATHS).hasAuthority("ROLE_ADMIN");
+        http.authorizeRequests().requestMatchers(routeSecurityTable.matcher(PUBLIC)).permitAll();
+        http.authorizeRequests().requestMatchers(routeSecurityTable.matcher(ADMIN)).hasAuthority("ROLE_ADMIN");
         http.authorizeRequests().anyRequest().authenticated();
         http.addFilter(customAuthenticationFilter);
+        http.addFilterBefore(rateLimitFilter, UsernamePasswordAuthenticationFilter.class);
         http.addFilterBefore(customAuthorizationFilter, UsernamePasswordAuthenticationFilter.class);
         http.exceptionHandling().accessDeniedHandler(customAccessDeniedHandler);
     }
 
     @Override
     protected void configure(AuthenticationManagerBuilder auth) throws Exception {
+        // rehashes outdated passwords after a successful login
         auth.userDetailsService(userDetailsService)
-                .passwordEncoder(bCryptPasswordEncoder());
+                .passwordEncoder(passwordEncoder)
+                .userDetailsPasswordManager(userDetailsService);
     }
 
     @Bean
     public AuthenticationManager authenticationManager() throws Exception {
         return super.authenticationManager();
     }
-
-    @Bean
-    public BCryptPasswordEncoder bCryptPasswordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
 }
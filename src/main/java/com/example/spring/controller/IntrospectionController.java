@@ -0,0 +1,34 @@
+package com.example.spring.controller;
+
+import com.example.spring.model.requests.IntrospectionRequest;
+import com.example.spring.model.response.ApiResponse;
+import com.example.spring.service.TokenIntrospectionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+import java.util.Collections;
+
+/**
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@RestController
+@RequestMapping("/api/v1/introspect")
+@RequiredArgsConstructor
+public class IntrospectionController {
+
+    private final TokenIntrospectionService tokenIntrospectionService;
+
+    @PostMapping
+    public ResponseEntity<ApiResponse> introspect(@RequestBody @Valid IntrospectionRequest introspectionRequest) {
+        return ResponseEntity.ok(
+                ApiResponse.ok("Tokens introspected",
+                        Collections.singletonMap("results",
+                                tokenIntrospectionService.introspect(introspectionRequest.getTokens()))));
+    }
+}
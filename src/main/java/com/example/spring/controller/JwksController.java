@@ -0,0 +1,41 @@
+package com.example.spring.controller;
+
+import com.example.spring.model.response.ApiResponse;
+import com.example.spring.util.JwtKeyRing;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final JwtKeyRing jwtKeyRing;
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> getJwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS).cachePublic())
+                .body(jwtKeyRing.getJwks());
+    }
+
+    @PostMapping("/api/v1/key/rotate")
+    public ResponseEntity<ApiResponse> rotate() {
+        if (!jwtKeyRing.isAsymmetric()) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.badRequest("Key rotation requires RS256 or ES256"));
+        }
+        jwtKeyRing.rotate();
+        return ResponseEntity.ok(ApiResponse.ok("Signing key rotated"));
+    }
+}
@@ -1,20 +1,31 @@
 package com.example.spring.controller;
 
-import com.example.spring.model.domain.AppUser;
+import com.example.spring.exception.ApiBadRequestException;
+import com.example.spring.exception.ApiForbiddenException;
+import com.example.spring.exception.ApiUnauthorizedException;
+import com.example.spring.model.domain.JwtPrincipal;
+import com.example.spring.model.domain.Role;
+import com.example.spring.model.requests.RevokeTokenRequest;
 import com.example.spring.model.response.ApiResponse;
 import com.example.spring.model.response.LoginResponse;
-import com.example.spring.model.response.TokenResponse;
 import com.example.spring.service.AppUserService;
+import com.example.spring.service.RefreshTokenService;
+import com.example.spring.service.TokenRevocationService;
 import com.example.spring.util.JWTUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import springfox.documentation.annotations.ApiIgnore;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.validation.Valid;
 import java.util.Collections;
 
 import static org.springframework.http.HttpStatus.OK;
@@ -31,34 +42,57 @@ public class SessionManagementController {
 
     private final AppUserService userService;
     private final JWTUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
 
+    /**
+     * An unreadable or invalid token is a {@code 400}. Rotation failures keep their own status:
+     * {@code 409} for a token just exchanged by a concurrent request, {@code 401} once the family
+     * is revoked, so a client knows whether to retry with the newer token or to login again.
+     */
     @GetMapping("/refresh-token")
     public ResponseEntity<ApiResponse> refreshToken(HttpServletRequest request) {
+        JwtPrincipal refreshToken;
         try {
-            String tokenFromRequest = jwtUtil.getTokenFromRequest(request);
-            AppUser user = userService.findByUsername(jwtUtil.getUsernameByToken(tokenFromRequest));
-            TokenResponse accessToken = jwtUtil.createAccessToken(user, request);
-            TokenResponse refreshToken = jwtUtil.createRefreshToken(user, request);
-            LoginResponse loginResponse = LoginResponse.builder()
-                    .accessToken(accessToken)
-                    .refreshToken(refreshToken)
-                    .build();
-            return ResponseEntity.ok(
-                    ApiResponse.ok("Refresh token successfull", loginResponse));
-        } catch (Exception e) {
+            refreshToken = jwtUtil.verify(jwtUtil.getTokenFromRequest(request));
+        } catch (RuntimeException e) {
             log.error("Error while refreshing token : {}", e.getMessage());
-            return ResponseEntity.badRequest().body(
-                    ApiResponse.badRequest("Error while refreshing token : " + e.getMessage()));
+            throw new ApiBadRequestException("Error while refreshing token : " + e.getMessage());
         }
+        if (tokenRevocationService.isRevoked(refreshToken)) {
+            throw new ApiUnauthorizedException("Token has been revoked");
+        }
+        LoginResponse loginResponse = refreshTokenService.rotate(refreshToken, request);
+        return ResponseEntity.ok(
+                ApiResponse.ok("Refresh token successfull", loginResponse));
     }
 
     @GetMapping("/user-me")
-    public ResponseEntity<ApiResponse> getUser(HttpServletRequest request) {
-        String token = jwtUtil.getTokenFromRequest(request);
-        String username = jwtUtil.getUsernameByToken(token);
+    public ResponseEntity<ApiResponse> getUser(@ApiIgnore @AuthenticationPrincipal JwtPrincipal principal) {
         return ResponseEntity.ok(
                 ApiResponse.ok("Success retrieve user",
-                        Collections.singletonMap("user", userService.getUserInfoByUsername(username))
+                        Collections.singletonMap("user", userService.getUserInfoByUsername(principal.getUsername()))
                 ));
     }
+
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse> logout(@ApiIgnore @AuthenticationPrincipal JwtPrincipal principal) {
+        tokenRevocationService.revoke(principal.getTokenId(), principal.getUsername(), principal.getExpiresAt());
+        if (principal.getFamilyId() != null) {
+            refreshTokenService.revokeFamily(principal.getFamilyId(), principal.getUsername());
+        }
+        return ResponseEntity.ok(ApiResponse.ok("Logout successful"));
+    }
+
+    @PostMapping("/revoke")
+    public ResponseEntity<ApiResponse> revoke(@ApiIgnore @AuthenticationPrincipal JwtPrincipal principal,
+                                              @RequestBody @Valid RevokeTokenRequest revokeTokenRequest) {
+        JwtPrincipal token = jwtUtil.verify(revokeTokenRequest.getToken());
+        boolean admin = principal.getRoles().contains(Role.ROLE_ADMIN.name());
+        if (!admin && !principal.getUsername().equals(token.getUsername())) {
+            throw new ApiForbiddenException("Token belongs to another user");
+        }
+        tokenRevocationService.revoke(token.getTokenId(), token.getUsername(), token.getExpiresAt());
+        return ResponseEntity.ok(ApiResponse.ok("Token revoked successfully"));
+    }
 }
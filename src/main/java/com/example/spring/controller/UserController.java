@@ -1,15 +1,26 @@
 package com.example.spring.controller;
 
+import com.example.spring.exception.ApiBadRequestException;
 import com.example.spring.model.domain.AppUser;
+import com.example.spring.model.requests.UserExportFormat;
+import com.example.spring.model.requests.UserImportFormat;
+import com.example.spring.model.requests.UserSort;
 import com.example.spring.model.response.ApiResponse;
 import com.example.spring.service.AppUserService;
+import com.example.spring.service.UserImportService;
+import com.example.spring.util.UserImportReader;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
-import java.util.Collections;
+import java.io.IOException;
 
+import static org.springframework.http.HttpHeaders.CONTENT_DISPOSITION;
 import static org.springframework.http.HttpStatus.CREATED;
 
 /**
@@ -22,13 +33,51 @@ import static org.springframework.http.HttpStatus.CREATED;
 public class UserController {
 
     private final AppUserService userService;
+    private final UserImportService userImportService;
 
+    /**
+     * Pass the returned {@code nextCursor} as {@code cursor} to page through all users at a
+     * constant cost per page; {@code page} still works but gets slower the deeper it goes.
+     */
     @GetMapping
     public ResponseEntity<ApiResponse> getAllUsers(@RequestParam(value = "page", defaultValue = "0") int page,
-                                                   @RequestParam(value = "size", defaultValue = "5") int size) {
+                                                   @RequestParam(value = "size", defaultValue = "5") int size,
+                                                   @RequestParam(value = "cursor", required = false) String cursor,
+                                                   @RequestParam(value = "sort", defaultValue = "id") String sort,
+                                                   @RequestParam(value = "direction", defaultValue = "asc") String direction,
+                                                   @RequestParam(value = "total", defaultValue = "false") boolean total) {
+        Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction)
+                .orElseThrow(() -> new ApiBadRequestException(
+                        String.format("Unsupported direction %s, expected asc or desc", direction)));
         return ResponseEntity.ok(
                 ApiResponse.ok("Success retrieve users",
-                        Collections.singletonMap("users", userService.findAll(page, size))));
+                        userService.findPage(cursor, page, size, UserSort.from(sort), sortDirection, total)));
+    }
+
+    /**
+     * Every user, streamed from a database cursor straight into the response.
+     */
+    @GetMapping("/export")
+    public void exportUsers(@RequestParam(value = "format", defaultValue = "ndjson") String format,
+                            HttpServletResponse response) throws IOException {
+        UserExportFormat exportFormat = UserExportFormat.from(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(CONTENT_DISPOSITION, "attachment; filename=\"users." + exportFormat.getExtension() + "\"");
+        userService.exportUsers(exportFormat, response.getOutputStream());
+    }
+
+    /**
+     * Users from a JSON array, NDJSON or CSV body, read as it arrives. Rows that cannot be
+     * imported are listed in the response; the others are imported regardless.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ApiResponse> importUsers(HttpServletRequest request) throws IOException {
+        UserImportFormat format = UserImportFormat.from(MediaType.parseMediaType(
+                request.getContentType() != null ? request.getContentType() : MediaType.APPLICATION_JSON_VALUE));
+        try (UserImportReader reader = format.reader(request.getInputStream())) {
+            return ResponseEntity.ok(
+                    ApiResponse.ok("Success import users", userImportService.importUsers(reader)));
+        }
     }
 
     @PostMapping
@@ -1,7 +1,7 @@
 package com.example.spring.exception;
 
-import com.example.spring.model.response.ApiResponse;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.spring.filter.SecurityResponseWriter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
@@ -19,17 +19,14 @@ import java.io.IOException;
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class CustomAccessDeniedHandler implements AccessDeniedHandler {
 
+    private final SecurityResponseWriter securityResponseWriter;
+
     @Override
     public void handle(HttpServletRequest request, HttpServletResponse response, AccessDeniedException accessDeniedException) throws IOException, ServletException {
         log.info("Access Denied : {}", accessDeniedException.getMessage());
-        response.setStatus(HttpStatus.UNAUTHORIZED.value());
-        response.setHeader("Content-Type", "application/json;charset=UTF-8");
-        response.getWriter().write(
-                new ObjectMapper().writeValueAsString(
-                        ApiResponse.unauthorized(accessDeniedException.getMessage())
-                ));
-        response.flushBuffer();
+        securityResponseWriter.writeError(response, HttpStatus.UNAUTHORIZED, accessDeniedException.getMessage());
     }
 }
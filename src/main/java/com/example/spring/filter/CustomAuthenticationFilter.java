@@ -1,26 +1,36 @@
 package com.example.spring.filter;
 
-import com.example.spring.model.domain.AppUser;
 import com.example.spring.model.requests.LoginRequest;
 import com.example.spring.model.response.ApiResponse;
 import com.example.spring.model.response.LoginResponse;
-import com.example.spring.model.response.TokenResponse;
-import com.example.spring.util.JWTUtil;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.spring.service.RefreshTokenService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.stereotype.Component;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.BufferedReader;
 import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * @author Yogi
@@ -31,9 +41,15 @@ import java.io.IOException;
 public class CustomAuthenticationFilter extends UsernamePasswordAuthenticationFilter {
 
     private final AuthenticationManager authenticationManager;
-    private JWTUtil jwtUtil;
-    private String username;
-    private String password;
+    private RefreshTokenService refreshTokenService;
+    private SecurityResponseWriter securityResponseWriter;
+    private LoginRequestParser loginRequestParser;
+    private LoginExecutor loginExecutor;
+    private RateLimitFilter rateLimitFilter;
+    @Value("${parameter.value.login-async-timeout}")
+    private long asyncTimeout;
+    @Value("${parameter.value.login-retry-after}")
+    private String retryAfter;
 
     public CustomAuthenticationFilter(AuthenticationManager authenticationManager) {
         super(authenticationManager);
@@ -41,60 +57,207 @@ public class CustomAuthenticationFilter extends UsernamePasswordAuthenticationFi
     }
 
     @Autowired
-    public void setJwtUtil(JWTUtil jwtUtil) {
-        this.jwtUtil = jwtUtil;
+    public void setRefreshTokenService(RefreshTokenService refreshTokenService) {
+        this.refreshTokenService = refreshTokenService;
     }
 
-    @Override
-    public Authentication attemptAuthentication(HttpServletRequest request, HttpServletResponse response) throws AuthenticationException {
-        if (request.getHeader("Content-Type").equals("application/json")) {
-            try {
-                StringBuilder stringBuilder = new StringBuilder();
-                String line;
-                BufferedReader reader = request.getReader();
-                while ((line = reader.readLine()) != null) {
-                    stringBuilder.append(line);
-                }
-                //json transformation
-                ObjectMapper mapper = new ObjectMapper();
-                LoginRequest loginRequest = mapper.readValue(stringBuilder.toString(), LoginRequest.class);
+    @Autowired
+    public void setSecurityResponseWriter(SecurityResponseWriter securityResponseWriter) {
+        this.securityResponseWriter = securityResponseWriter;
+    }
 
-                this.username = loginRequest.getUsername();
-                this.password = loginRequest.getPassword();
-                log.info("username: {}, password: {}", username, password);
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
+    @Autowired
+    public void setLoginRequestParser(LoginRequestParser loginRequestParser) {
+        this.loginRequestParser = loginRequestParser;
+    }
+
+    @Autowired
+    public void setLoginExecutor(LoginExecutor loginExecutor) {
+        this.loginExecutor = loginExecutor;
+    }
+
+    @Autowired
+    public void setRateLimitFilter(RateLimitFilter rateLimitFilter) {
+        this.rateLimitFilter = rateLimitFilter;
+    }
+
+    /**
+     * Parse on the servlet thread, apply the per-account rate limit, then verify the password on
+     * the {@link LoginExecutor}. The servlet thread is released through async processing, or
+     * waits for the result when the request does not support async.
+     */
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) servletRequest;
+        HttpServletResponse response = (HttpServletResponse) servletResponse;
+        if (!requiresAuthentication(request, response)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        LoginRequest loginRequest;
+        try {
+            loginRequest = loginRequestParser.parse(request);
+        } catch (AuthenticationException e) {
+            unsuccessfulAuthentication(request, response, e);
+            return;
+        }
+        if (rateLimitFilter.rejectAccount(loginRequest.getUsername(), response)) {
+            return;
+        }
+        AsyncContext asyncContext = null;
+        if (request.isAsyncSupported()) {
+            asyncContext = request.startAsync(request, response);
+            asyncContext.setTimeout(asyncTimeout);
         }
-        return authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, password));
+        LoginTask task = new LoginTask(request, response, loginRequest, asyncContext);
+        if (asyncContext != null) {
+            asyncContext.addListener(task);
+        }
+        try {
+            loginExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.unavailable("Too many login attempts, please retry later");
+            return;
+        }
+        if (asyncContext == null) {
+            task.await();
+        }
+    }
+
+    @Override
+    public Authentication attemptAuthentication(HttpServletRequest request, HttpServletResponse response) throws AuthenticationException {
+        LoginRequest loginRequest = loginRequestParser.parse(request);
+        return authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
     }
 
     @Override
     protected void successfulAuthentication(HttpServletRequest request, HttpServletResponse response, FilterChain chain, Authentication authResult) throws IOException {
         log.info("Login success : {}", authResult.getPrincipal());
-        AppUser user = (AppUser) authResult.getPrincipal();
-        TokenResponse accessToken = jwtUtil.createAccessToken(user, request);
-        TokenResponse refreshToken = jwtUtil.createRefreshToken(user, request);
-        response.setHeader("Content-Type", "application/json;charset=UTF-8");
-        response.getWriter().write(
-                new ObjectMapper().writeValueAsString(ApiResponse.ok("Login Successful",
-                        LoginResponse.builder()
-                                .accessToken(accessToken)
-                                .refreshToken(refreshToken)
-                                .build())
-                ));
-        response.flushBuffer();
+        UserDetails user = (UserDetails) authResult.getPrincipal();
+        LoginResponse loginResponse = refreshTokenService.login(user, request);
+        securityResponseWriter.write(response, HttpStatus.OK, ApiResponse.ok("Login Successful", loginResponse));
     }
 
     @Override
     protected void unsuccessfulAuthentication(HttpServletRequest request, HttpServletResponse response, AuthenticationException failed) throws IOException {
         log.info("Login failed : {}", failed.getMessage());
-        response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-        response.setContentType("application/json");
-        response.setCharacterEncoding("UTF-8");
-        response.getWriter().write(
-                new ObjectMapper().writeValueAsString(ApiResponse.badRequest("Login Failed, " + failed.getMessage())
-        ));
-        response.flushBuffer();
+        securityResponseWriter.writeError(response, HttpStatus.BAD_REQUEST, "Login Failed, " + failed.getMessage());
+    }
+
+    private void writeUnavailable(HttpServletResponse response, String message) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+        securityResponseWriter.writeError(response, HttpStatus.SERVICE_UNAVAILABLE, message);
+    }
+
+    /**
+     * One login on the {@link LoginExecutor}. Whichever of the task, the async timeout or the
+     * rejection gets to {@link #done} first writes the response.
+     */
+    private final class LoginTask implements Runnable, AsyncListener {
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final LoginRequest loginRequest;
+        private final AsyncContext asyncContext;
+        private final AtomicBoolean done = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private final CountDownLatch finished = new CountDownLatch(1);
+
+        private LoginTask(HttpServletRequest request, HttpServletResponse response, LoginRequest loginRequest, AsyncContext asyncContext) {
+            this.request = request;
+            this.response = response;
+            this.loginRequest = loginRequest;
+            this.asyncContext = asyncContext;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (done.get()) {
+                    // timed out while queued, nobody is waiting for the hash anymore
+                    return;
+                }
+                Authentication authResult = null;
+                AuthenticationException failed = null;
+                try {
+                    authResult = authenticationManager.authenticate(
+                            new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
+                } catch (AuthenticationException e) {
+                    failed = e;
+                }
+                if (!done.compareAndSet(false, true)) {
+                    return;
+                }
+                try {
+                    if (authResult != null) {
+                        successfulAuthentication(request, response, null, authResult);
+                    } else {
+                        unsuccessfulAuthentication(request, response, failed);
+                    }
+                } finally {
+                    complete();
+                }
+            } catch (Exception e) {
+                log.error("Error while processing login : {}", e.getMessage());
+                if (done.compareAndSet(false, true)) {
+                    try {
+                        securityResponseWriter.writeError(response, HttpStatus.INTERNAL_SERVER_ERROR, "Error while processing login");
+                    } catch (IOException ignored) {
+                        // the client is gone
+                    }
+                }
+                complete();
+            } finally {
+                finished.countDown();
+            }
+        }
+
+        private void unavailable(String message) throws IOException {
+            if (!done.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                writeUnavailable(response, message);
+            } finally {
+                complete();
+            }
+        }
+
+        private void await() throws ServletException {
+            try {
+                if (!finished.await(asyncTimeout, TimeUnit.MILLISECONDS)) {
+                    unavailable("Login timed out, please retry later");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException("Interrupted while waiting for login", e);
+            } catch (IOException e) {
+                throw new ServletException(e);
+            }
+        }
+
+        private void complete() {
+            if (asyncContext != null && completed.compareAndSet(false, true)) {
+                asyncContext.complete();
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) throws IOException {
+            unavailable("Login timed out, please retry later");
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            done.set(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
     }
 }
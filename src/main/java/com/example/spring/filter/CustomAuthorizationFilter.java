@@ -1,13 +1,14 @@
 package com.example.spring.filter;
 
-import com.example.spring.model.response.ApiResponse;
+import com.example.spring.exception.ApiUnauthorizedException;
+import com.example.spring.model.domain.JwtPrincipal;
+import com.example.spring.service.TokenRevocationService;
 import com.example.spring.util.JWTUtil;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.spring.util.RouteSecurityTable;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -17,9 +18,6 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collection;
 
 /**
  * @author Yogi
@@ -30,56 +28,55 @@ import java.util.Collection;
 public class CustomAuthorizationFilter extends OncePerRequestFilter {
 
     private JWTUtil jwtUtil;
-    private static final String[] EXCLUDE_PATH = {
-            "/api/v1/login",
-            "/api/v1/registration",
-            "/api/v1/session",
-            "/swagger-ui",
-            "/swagger-resources",
-            "/v2/api-docs",
-            "/v3/api-docs",
-            "/favicon.ico"
-    };
+    private TokenRevocationService tokenRevocationService;
+    private RouteSecurityTable routeSecurityTable;
+    private SecurityResponseWriter securityResponseWriter;
 
     @Autowired
     public void setJwtUtil(JWTUtil jwtUtil) {
         this.jwtUtil = jwtUtil;
     }
 
+    @Autowired
+    public void setTokenRevocationService(TokenRevocationService tokenRevocationService) {
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    @Autowired
+    public void setRouteSecurityTable(RouteSecurityTable routeSecurityTable) {
+        this.routeSecurityTable = routeSecurityTable;
+    }
+
+    @Autowired
+    public void setSecurityResponseWriter(SecurityResponseWriter securityResponseWriter) {
+        this.securityResponseWriter = securityResponseWriter;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
-        if (isPathExclude(request.getRequestURI())) {
+        if (routeSecurityTable.lookup(request) == RouteSecurityTable.Access.PUBLIC) {
             filterChain.doFilter(request, response);
         } else {
+            JwtPrincipal principal;
             try {
                 String accessToken = jwtUtil.getTokenFromRequest(request);
-                String username = jwtUtil.getUsernameByToken(accessToken);
-                String[] roles = jwtUtil.getRolesByToken(accessToken);
-                Collection<SimpleGrantedAuthority> authorities = new ArrayList<>();
-                Arrays.stream(roles).forEach(role -> authorities.add(new SimpleGrantedAuthority(role)));
-                UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(username, null, authorities);
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-                filterChain.doFilter(request, response);
-                log.info("Authentication success : {}", username);
+                principal = jwtUtil.verify(accessToken);
+                if (principal.isRefreshToken()) {
+                    throw new ApiUnauthorizedException("Refresh token cannot be used as access token");
+                }
+                if (tokenRevocationService.isRevoked(principal)) {
+                    throw new ApiUnauthorizedException("Token has been revoked");
+                }
             } catch (Exception e) {
                 log.info("Authentication failed : {}", e.getMessage());
-                response.setStatus(HttpStatus.UNAUTHORIZED.value());
-                response.setHeader("Content-Type", "application/json;charset=UTF-8");
-                response.getWriter().write(
-                        new ObjectMapper().writeValueAsString(
-                                ApiResponse.unauthorized(e.getMessage())
-                        ));
-                response.flushBuffer();
-            }
-        }
-    }
-
-    public boolean isPathExclude(String path) {
-        for (String excluded : EXCLUDE_PATH) {
-            if (path.startsWith(excluded)) {
-                return true;
+                securityResponseWriter.writeError(response, HttpStatus.UNAUTHORIZED, e.getMessage());
+                return;
             }
+            UsernamePasswordAuthenticationToken authenticationToken =
+                    new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+            SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+            filterChain.doFilter(request, response);
+            log.info("Authentication success : {}", principal.getUsername());
         }
-        return false;
     }
 }
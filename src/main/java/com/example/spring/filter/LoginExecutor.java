@@ -0,0 +1,88 @@
+package com.example.spring.filter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size pool with a bounded queue for password verification, so a login storm only ever
+ * occupies these threads and never the servlet workers. A full queue rejects immediately with
+ * {@link RejectedExecutionException} instead of queueing more work than can finish in time.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Component
+public class LoginExecutor implements Executor, MeterBinder {
+
+    private final ThreadPoolExecutor executor;
+    private final LongAdder waitCount = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public LoginExecutor(@Value("${parameter.value.login-executor-pool-size}") int poolSize,
+                         @Value("${parameter.value.login-executor-queue-capacity}") int queueCapacity) {
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("login-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        long submittedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                waitNanos.add(System.nanoTime() - submittedAt);
+                waitCount.increment();
+                command.run();
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("login.executor.queue.size", this, LoginExecutor::getQueueSize)
+                .register(registry);
+        Gauge.builder("login.executor.active", this, LoginExecutor::getActiveCount)
+                .register(registry);
+        FunctionTimer.builder("login.executor.wait", this,
+                        executor -> executor.waitCount.sum(),
+                        executor -> executor.waitNanos.sum(), TimeUnit.NANOSECONDS)
+                .register(registry);
+        FunctionCounter.builder("login.executor.rejected", rejected, LongAdder::sum)
+                .register(registry);
+    }
+}
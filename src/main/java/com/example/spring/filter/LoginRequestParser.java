@@ -0,0 +1,147 @@
+package com.example.spring.filter;
+
+import com.example.spring.model.requests.LoginRequest;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads {@link LoginRequest} bodies with a streaming parser straight from the request stream.
+ * <p>
+ * Bodies over {@code login-max-body-size} bytes are rejected from the declared length before
+ * anything is read, and chunked bodies are cut off as soon as they cross it. Everything the
+ * parser touches is local to the call, so the parser is safe to share between requests.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Component
+public class LoginRequestParser {
+
+    private static final String USERNAME = "username";
+    private static final String PASSWORD = "password";
+
+    private final JsonFactory jsonFactory;
+    private final int maxBodySize;
+
+    public LoginRequestParser(ObjectMapper objectMapper,
+                              @Value("${parameter.value.login-max-body-size}") int maxBodySize) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.maxBodySize = maxBodySize;
+    }
+
+    public LoginRequest parse(HttpServletRequest request) {
+        if (!isJson(request.getContentType())) {
+            throw new AuthenticationServiceException("Content-Type must be application/json");
+        }
+        if (request.getContentLengthLong() > maxBodySize) {
+            throw new AuthenticationServiceException("Login request is too large");
+        }
+        LoginRequest loginRequest = new LoginRequest();
+        try (JsonParser parser = jsonFactory.createParser(new BoundedInputStream(request.getInputStream(), maxBodySize))) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new AuthenticationServiceException("Malformed login request");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (USERNAME.equals(field)) {
+                    loginRequest.setUsername(stringValue(parser, value));
+                } else if (PASSWORD.equals(field)) {
+                    loginRequest.setPassword(stringValue(parser, value));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (token != JsonToken.END_OBJECT || parser.nextToken() != null) {
+                throw new AuthenticationServiceException("Malformed login request");
+            }
+        } catch (BodyTooLargeException e) {
+            throw new AuthenticationServiceException("Login request is too large");
+        } catch (IOException e) {
+            throw new AuthenticationServiceException("Malformed login request");
+        }
+        if (loginRequest.getUsername() == null || loginRequest.getPassword() == null) {
+            throw new AuthenticationServiceException("Username and password are required");
+        }
+        return loginRequest;
+    }
+
+    private static String stringValue(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.VALUE_STRING) {
+            throw new AuthenticationServiceException("Malformed login request");
+        }
+        return parser.getText();
+    }
+
+    private static boolean isJson(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            return MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    private static final class BodyTooLargeException extends IOException {
+        private BodyTooLargeException() {
+            super("Login request is too large");
+        }
+    }
+
+    /**
+     * Fails once more than {@code limit} bytes have been read.
+     */
+    private static final class BoundedInputStream extends FilterInputStream {
+        private long remaining;
+
+        private BoundedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                consumed(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                consumed(read);
+            }
+            return read;
+        }
+
+        private void consumed(int bytes) throws BodyTooLargeException {
+            remaining -= bytes;
+            if (remaining < 0) {
+                throw new BodyTooLargeException();
+            }
+        }
+
+        @Override
+        public void close() {
+            // the container owns the request stream
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.spring.filter;
+
+import com.example.spring.util.RateLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Rate limits for the unauthenticated endpoints that cost a password hash or a database write.
+ * <p>
+ * Login and registration requests are limited per client IP before anything else looks at them.
+ * Logins are also limited per target account once {@link CustomAuthenticationFilter} has parsed
+ * the username, which catches attacks spread over many addresses. Rejected requests get
+ * {@code 429} with {@code Retry-After} and never reach the parser, the login pool or the database.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Slf4j
+@Component
+public class RateLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    static final String LOGIN_PATH = "/api/v1/login";
+    static final String REGISTRATION_PATH = "/api/v1/registration";
+    private static final Pattern DUPLICATE_SLASHES = Pattern.compile("/{2,}");
+
+    private final RateLimiter loginIpLimiter;
+    private final RateLimiter loginAccountLimiter;
+    private final RateLimiter registrationIpLimiter;
+    private SecurityResponseWriter securityResponseWriter;
+
+    public RateLimitFilter(@Value("${parameter.value.rate-limit-login-ip-requests}") int loginIpRequests,
+                           @Value("${parameter.value.rate-limit-login-ip-period}") long loginIpPeriod,
+                           @Value("${parameter.value.rate-limit-login-account-requests}") int loginAccountRequests,
+                           @Value("${parameter.value.rate-limit-login-account-period}") long loginAccountPeriod,
+                           @Value("${parameter.value.rate-limit-registration-ip-requests}") int registrationIpRequests,
+                           @Value("${parameter.value.rate-limit-registration-ip-period}") long registrationIpPeriod) {
+        this.loginIpLimiter = new RateLimiter(loginIpRequests, loginIpPeriod);
+        this.loginAccountLimiter = new RateLimiter(loginAccountRequests, loginAccountPeriod);
+        this.registrationIpLimiter = new RateLimiter(registrationIpRequests, registrationIpPeriod);
+    }
+
+    @Autowired
+    public void setSecurityResponseWriter(SecurityResponseWriter securityResponseWriter) {
+        this.securityResponseWriter = securityResponseWriter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String path = routePath(request);
+        RateLimiter limiter = LOGIN_PATH.equals(path) ? loginIpLimiter
+                : REGISTRATION_PATH.equals(path) ? registrationIpLimiter
+                : null;
+        if (limiter != null && reject(limiter, request.getRemoteAddr(), response)) {
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * The path within the application without repeated or trailing slashes, which would otherwise
+     * reach the same handler without matching a limited route.
+     */
+    private static String routePath(HttpServletRequest request) {
+        String path = request.getPathInfo() == null
+                ? request.getServletPath()
+                : request.getServletPath() + request.getPathInfo();
+        if (path.indexOf("//") >= 0) {
+            path = DUPLICATE_SLASHES.matcher(path).replaceAll("/");
+        }
+        return path.length() > 1 && path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    /**
+     * Takes a login attempt from the account's bucket.
+     *
+     * @return {@code true} when the limit is exceeded and the {@code 429} has been written
+     */
+    public boolean rejectAccount(String username, HttpServletResponse response) throws IOException {
+        return reject(loginAccountLimiter, username.trim().toLowerCase(Locale.ROOT), response);
+    }
+
+    private boolean reject(RateLimiter limiter, String key, HttpServletResponse response) throws IOException {
+        long wait = limiter.tryAcquire(key);
+        if (wait == 0) {
+            return false;
+        }
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        securityResponseWriter.writeError(response, HttpStatus.TOO_MANY_REQUESTS, "Too many requests, please retry later");
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${parameter.value.rate-limit-eviction-interval}",
+            initialDelayString = "${parameter.value.rate-limit-eviction-interval}")
+    public void evictIdle() {
+        int evicted = loginIpLimiter.evictIdle() + loginAccountLimiter.evictIdle() + registrationIpLimiter.evictIdle();
+        log.debug("Evicted {} idle rate limit buckets", evicted);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bind(registry, loginIpLimiter, "ip", "login");
+        bind(registry, loginAccountLimiter, "account", "login");
+        bind(registry, registrationIpLimiter, "ip", "registration");
+    }
+
+    private static void bind(MeterRegistry registry, RateLimiter limiter, String key, String route) {
+        FunctionCounter.builder("rate.limit.rejected", limiter, RateLimiter::getRejectedCount)
+                .tags("key", key, "route", route)
+                .register(registry);
+        Gauge.builder("rate.limit.buckets", limiter, RateLimiter::size)
+                .tags("key", key, "route", route)
+                .register(registry);
+    }
+}
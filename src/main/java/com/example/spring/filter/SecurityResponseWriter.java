@@ -0,0 +1,134 @@
+package com.example.spring.filter;
+
+import com.example.spring.model.response.ApiResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Writes {@link ApiResponse} bodies from the security filters and handlers straight to the
+ * {@link ServletOutputStream}.
+ * <p>
+ * Error bodies are assembled from pre-encoded bytes: the fixed JSON around each status, the
+ * timestamp (formatted once per second) and the escaped message. Escaped messages are kept in a
+ * small bounded cache whose frequency-based admission keeps the few fixed messages that make up
+ * most failures, while one-off messages (token details, usernames) are evicted first. The output
+ * is byte-for-byte what Jackson writes for {@link ApiResponse}. Bodies with data go through the
+ * application's shared {@link ObjectMapper}.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Component
+public class SecurityResponseWriter {
+
+    private static final String CONTENT_TYPE = "application/json;charset=UTF-8";
+    private static final int MAX_CACHED_MESSAGES = 256;
+    /**
+     * Same pattern and zone as {@link ApiResponse#getTimestamp()}.
+     */
+    private static final DateTimeFormatter TIMESTAMP_FORMAT =
+            DateTimeFormatter.ofPattern("dd-MM-yyyy hh:mm:ss").withZone(ZoneId.of("Asia/Jakarta"));
+    private static final byte[] HEAD = ascii("{\"timestamp\":\"");
+    private static final byte[] MESSAGE = ascii(",\"message\":\"");
+    private static final byte[] QUOTE = ascii("\"");
+    private static final byte[] TAIL = ascii("}");
+
+    private final ObjectWriter objectWriter;
+    private final Map<HttpStatus, byte[]> statusParts = new EnumMap<>(HttpStatus.class);
+    private final Cache<String, byte[]> messages = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_MESSAGES)
+            .executor(Runnable::run)
+            .build();
+    private volatile Timestamp timestamp = new Timestamp(Long.MIN_VALUE, null);
+
+    public SecurityResponseWriter(ObjectMapper objectMapper) {
+        this.objectWriter = objectMapper.writerFor(ApiResponse.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        for (HttpStatus status : HttpStatus.values()) {
+            statusParts.put(status, ascii("\",\"code\":" + status.value() + ",\"status\":\""
+                    + new String(JsonStringEncoder.getInstance().quoteAsString(status.getReasonPhrase())) + "\""));
+        }
+    }
+
+    /**
+     * Same body as {@code ApiResponse.builder().code(..).status(..).message(message)}.
+     */
+    public void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        byte[] timestampBytes = timestamp();
+        byte[] statusPart = statusParts.get(status);
+        byte[] messageBytes = message != null ? message(message) : null;
+        int length = HEAD.length + timestampBytes.length + statusPart.length + TAIL.length
+                + (messageBytes != null ? MESSAGE.length + messageBytes.length + QUOTE.length : 0);
+
+        response.setStatus(status.value());
+        response.setContentType(CONTENT_TYPE);
+        response.setContentLength(length);
+        ServletOutputStream out = response.getOutputStream();
+        out.write(HEAD);
+        out.write(timestampBytes);
+        out.write(statusPart);
+        if (messageBytes != null) {
+            out.write(MESSAGE);
+            out.write(messageBytes);
+            out.write(QUOTE);
+        }
+        out.write(TAIL);
+        response.flushBuffer();
+    }
+
+    public void write(HttpServletResponse response, HttpStatus status, ApiResponse body) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(CONTENT_TYPE);
+        objectWriter.writeValue(response.getOutputStream(), body);
+        response.flushBuffer();
+    }
+
+    private byte[] message(String message) {
+        return messages.get(message, JsonStringEncoder.getInstance()::quoteAsUTF8);
+    }
+
+    long cachedMessages() {
+        messages.cleanUp();
+        return messages.estimatedSize();
+    }
+
+    private byte[] timestamp() {
+        long second = System.currentTimeMillis() / 1000;
+        Timestamp current = timestamp;
+        if (current.second != second) {
+            current = new Timestamp(second, ascii(TIMESTAMP_FORMAT.format(Instant.ofEpochSecond(second))));
+            timestamp = current;
+        }
+        return current.bytes;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static final class Timestamp {
+        private final long second;
+        private final byte[] bytes;
+
+        private Timestamp(long second, byte[] bytes) {
+            this.second = second;
+            this.bytes = bytes;
+        }
+    }
+}
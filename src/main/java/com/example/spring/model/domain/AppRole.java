@@ -1,5 +1,6 @@
 package com.example.spring.model.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 import org.hibernate.Hibernate;
 import org.hibernate.validator.constraints.UniqueElements;
@@ -29,6 +30,7 @@ public class AppRole {
     private Role name;
     @UniqueElements
     @ToString.Exclude
+    @JsonIgnore
     @ManyToMany(
             mappedBy = "appUserRoles",
             fetch = FetchType.LAZY
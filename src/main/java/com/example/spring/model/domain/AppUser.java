@@ -3,6 +3,11 @@ package com.example.spring.model.domain;
 
 import lombok.*;
 import org.hibernate.Hibernate;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.hibernate.validator.constraints.UniqueElements;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -10,6 +15,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -22,10 +28,30 @@ import java.util.Objects;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@NamedEntityGraph(name = AppUser.WITH_ROLES, attributeNodes = @NamedAttributeNode("appUserRoles"))
+@Table(indexes = @Index(name = "idx_app_user_created_at", columnList = "createdAt"))
 public class AppUser implements UserDetails {
 
+    /**
+     * Fetch plan for the use cases that read roles; everything else leaves them unloaded.
+     */
+    public static final String WITH_ROLES = "AppUser.withRoles";
+    /**
+     * Ids are handed out in blocks of {@link #ID_ALLOCATION_SIZE}: each {@code nextval} reserves
+     * the block starting at the returned value (pooled-lo), so saving many users or a bulk import
+     * costs one sequence call per block instead of one per user. On a table that already has rows
+     * the sequence must first be moved past them, see {@code db/app_user_seq.sql}.
+     */
+    public static final String ID_SEQUENCE = "app_user_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @GenericGenerator(name = ID_SEQUENCE, strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+            @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = ID_SEQUENCE),
+            @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "" + ID_ALLOCATION_SIZE),
+            @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled-lo")
+    })
     private Long id;
     @NotNull
     private String firstName;
@@ -41,9 +67,17 @@ public class AppUser implements UserDetails {
     private Boolean isLocked = false;
     @Builder.Default
     private Boolean isEnabled = false;
+    /**
+     * Set on insert; lets other instances pick up new accounts, see {@code AccountExistenceService}.
+     */
+    @CreationTimestamp
+    private LocalDateTime createdAt;
     @Builder.Default
     @UniqueElements
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ToString.Exclude
+    @ManyToMany(fetch = FetchType.LAZY)
+    // initializes the roles of up to 100 loaded users at once when no fetch plan covered them
+    @BatchSize(size = 100)
     @JoinTable(
             name = "app_user_role",
             joinColumns = @JoinColumn(
@@ -20,7 +20,7 @@ public class ConfirmationToken {
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     private Long id;
-    @NotNull
+    @Column(unique = true, nullable = false)
     private String token;
     @NotNull
     private LocalDateTime createdAt;
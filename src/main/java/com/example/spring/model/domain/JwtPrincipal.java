@@ -0,0 +1,41 @@
+package com.example.spring.model.domain;
+
+import com.example.spring.util.JwtClaims;
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Immutable view of a verified access token, stored as the principal of the
+ * {@link org.springframework.security.core.context.SecurityContext} so the token
+ * never has to be decoded again for the rest of the request.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Value
+@Builder
+public class JwtPrincipal implements AuthenticatedPrincipal {
+
+    String tokenId;
+    String tokenType;
+    String familyId;
+    String username;
+    List<String> roles;
+    Collection<? extends GrantedAuthority> authorities;
+    Date expiresAt;
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public boolean isRefreshToken() {
+        return JwtClaims.REFRESH.equals(tokenType);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.spring.model.domain;
+
+import lombok.*;
+import org.hibernate.Hibernate;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * A token signing key pair shared by every instance. The private key is stored encrypted.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_jwt_signing_key_generation",
+        columnNames = {"algorithm", "generation"}))
+public class JwtSigningKey {
+
+    @Id
+    private String kid;
+    @NotNull
+    private String algorithm;
+    @NotNull
+    private Long generation;
+    @NotNull
+    private LocalDateTime createdAt;
+    /**
+     * X.509 encoding, Base64.
+     */
+    @Column(nullable = false, length = 1024)
+    private String publicKey;
+    /**
+     * PKCS #8 encoding encrypted with AES-GCM under a key derived from {@code jwt-secret}, Base64.
+     */
+    @ToString.Exclude
+    @Column(nullable = false, length = 4096)
+    private String privateKey;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
+        JwtSigningKey that = (JwtSigningKey) o;
+        return kid != null && Objects.equals(kid, that.kid);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
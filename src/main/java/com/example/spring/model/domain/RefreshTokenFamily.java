@@ -0,0 +1,55 @@
+package com.example.spring.model.domain;
+
+import lombok.*;
+import org.hibernate.Hibernate;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Chain of refresh tokens issued from one login. Only {@code currentTokenId} may be exchanged;
+ * presenting an older token of the family means it leaked, so the whole family is revoked.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(indexes = @Index(name = "idx_refresh_token_family_expires_at", columnList = "expiresAt"))
+public class RefreshTokenFamily {
+
+    @Id
+    private String familyId;
+    @NotNull
+    private String username;
+    @NotNull
+    private String currentTokenId;
+    private String previousTokenId;
+    private LocalDateTime rotatedAt;
+    @NotNull
+    private LocalDateTime expiresAt;
+    private boolean revoked;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
+        RefreshTokenFamily that = (RefreshTokenFamily) o;
+        return familyId != null && Objects.equals(familyId, that.familyId);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
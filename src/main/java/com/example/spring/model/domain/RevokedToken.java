@@ -0,0 +1,63 @@
+package com.example.spring.model.domain;
+
+import lombok.*;
+import org.hibernate.Hibernate;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * A revoked token id, or a revoked refresh token family under {@link #familyKey(String)}.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_revoked_token_expires_at", columnList = "expiresAt"),
+        @Index(name = "idx_revoked_token_revoked_at", columnList = "revokedAt")
+})
+public class RevokedToken {
+
+    private static final String FAMILY_PREFIX = "fam:";
+
+    @Id
+    private String tokenId;
+    @NotNull
+    private String username;
+    @NotNull
+    private LocalDateTime revokedAt;
+    @NotNull
+    private LocalDateTime expiresAt;
+
+    /**
+     * Denylist id of a refresh token family, which cannot clash with a {@code jti}.
+     */
+    public static String familyKey(String familyId) {
+        return FAMILY_PREFIX + familyId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
+        RevokedToken that = (RevokedToken) o;
+        return tokenId != null && Objects.equals(tokenId, that.tokenId);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
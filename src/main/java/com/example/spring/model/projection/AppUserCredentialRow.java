@@ -0,0 +1,23 @@
+package com.example.spring.model.projection;
+
+import com.example.spring.model.domain.Role;
+import lombok.Value;
+
+/**
+ * One row of the credential lookup: the account columns plus one of its roles, or {@code null}
+ * for an account without roles.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Value
+public class AppUserCredentialRow {
+
+    Long id;
+    String username;
+    String email;
+    String password;
+    Boolean isEnabled;
+    Boolean isLocked;
+    Role role;
+}
@@ -0,0 +1,88 @@
+package com.example.spring.model.projection;
+
+import com.example.spring.util.RoleAuthorities;
+import lombok.ToString;
+import lombok.Value;
+import lombok.With;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Read-only account data needed to authenticate, detached from the persistence context.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Value
+public class AppUserCredentials implements UserDetails {
+
+    Long id;
+    String username;
+    @With
+    @ToString.Exclude
+    String password;
+    boolean enabled;
+    boolean locked;
+    /**
+     * {@link RoleAuthorities} bitmask of the account's roles.
+     */
+    int roleMask;
+
+    /**
+     * Folds the rows of {@code login} into one account. When the login is the email of one
+     * account and the username of another, the email match wins.
+     *
+     * @return {@code null} when no row matched
+     */
+    public static AppUserCredentials from(String login, List<AppUserCredentialRow> rows) {
+        AppUserCredentialRow account = null;
+        for (AppUserCredentialRow row : rows) {
+            if (account == null || (!login.equals(account.getEmail()) && login.equals(row.getEmail()))) {
+                account = row;
+            }
+        }
+        if (account == null) {
+            return null;
+        }
+        int roleMask = 0;
+        for (AppUserCredentialRow row : rows) {
+            if (row.getId().equals(account.getId()) && row.getRole() != null) {
+                roleMask |= RoleAuthorities.bit(row.getRole());
+            }
+        }
+        return new AppUserCredentials(account.getId(), account.getUsername(), account.getPassword(),
+                Boolean.TRUE.equals(account.getIsEnabled()), Boolean.TRUE.equals(account.getIsLocked()), roleMask);
+    }
+
+    /**
+     * The account of {@code user} without its password, enough to issue tokens.
+     */
+    public static AppUserCredentials withoutPassword(AppUserSummary user) {
+        return new AppUserCredentials(user.getId(), user.getUsername(), null,
+                Boolean.TRUE.equals(user.getEnabled()), Boolean.TRUE.equals(user.getLocked()),
+                user.getRoleMask().intValue());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return RoleAuthorities.fromMask(roleMask).getAuthorities();
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return !locked;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.spring.model.projection;
+
+import lombok.Value;
+
+/**
+ * The two values an account can log in with.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Value
+public class AppUserLogin {
+
+    String username;
+    String email;
+}
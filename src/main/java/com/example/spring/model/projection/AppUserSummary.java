@@ -0,0 +1,37 @@
+package com.example.spring.model.projection;
+
+import com.example.spring.util.RoleAuthorities;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Value;
+import lombok.With;
+
+import java.util.List;
+
+/**
+ * What the user listing and detail show of an account: no password, and the roles as names
+ * folded into one column by the query.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Value
+public class AppUserSummary {
+
+    Long id;
+    String firstName;
+    String lastName;
+    String username;
+    String email;
+    Boolean enabled;
+    Boolean locked;
+    /**
+     * {@link RoleAuthorities} bitmask of the account's roles.
+     */
+    @JsonIgnore
+    @With
+    Long roleMask;
+
+    public List<String> getRoles() {
+        return RoleAuthorities.fromMask(roleMask.intValue()).getNames();
+    }
+}
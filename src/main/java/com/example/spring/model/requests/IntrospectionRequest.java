@@ -0,0 +1,17 @@
+package com.example.spring.model.requests;
+
+import lombok.Data;
+
+import javax.validation.constraints.NotEmpty;
+import java.util.List;
+
+/**
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Data
+public class IntrospectionRequest {
+
+    @NotEmpty
+    private List<String> tokens;
+}
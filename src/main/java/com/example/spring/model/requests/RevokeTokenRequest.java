@@ -0,0 +1,16 @@
+package com.example.spring.model.requests;
+
+import lombok.Data;
+
+import javax.validation.constraints.NotNull;
+
+/**
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Data
+public class RevokeTokenRequest {
+
+    @NotNull
+    private String token;
+}
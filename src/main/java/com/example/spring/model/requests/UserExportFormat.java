@@ -0,0 +1,62 @@
+package com.example.spring.model.requests;
+
+import com.example.spring.exception.ApiBadRequestException;
+import com.example.spring.util.CsvUserExportWriter;
+import com.example.spring.util.NdjsonUserExportWriter;
+import com.example.spring.util.UserExportWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * Formats of the user export.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+public enum UserExportFormat {
+
+    NDJSON("ndjson", "application/x-ndjson") {
+        @Override
+        public UserExportWriter writer(OutputStream out) throws IOException {
+            return new NdjsonUserExportWriter(out);
+        }
+    },
+    CSV("csv", "text/csv;charset=UTF-8") {
+        @Override
+        public UserExportWriter writer(OutputStream out) throws IOException {
+            return new CsvUserExportWriter(out);
+        }
+    };
+
+    private final String extension;
+    private final String contentType;
+
+    UserExportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public static UserExportFormat from(String name) {
+        for (UserExportFormat format : values()) {
+            if (format.extension.equals(name.toLowerCase(Locale.ROOT))) {
+                return format;
+            }
+        }
+        throw new ApiBadRequestException(String.format("Unsupported format %s, expected ndjson or csv", name));
+    }
+
+    public abstract UserExportWriter writer(OutputStream out) throws IOException;
+
+    /**
+     * File extension, also the query parameter value.
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+}
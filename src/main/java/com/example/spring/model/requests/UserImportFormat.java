@@ -0,0 +1,52 @@
+package com.example.spring.model.requests;
+
+import com.example.spring.exception.ApiBadRequestException;
+import com.example.spring.util.CsvUserImportReader;
+import com.example.spring.util.JsonUserImportReader;
+import com.example.spring.util.UserImportReader;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Formats of the user import, by content type.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+public enum UserImportFormat {
+
+    JSON(MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE) {
+        @Override
+        public UserImportReader reader(InputStream in) throws IOException {
+            return new JsonUserImportReader(in);
+        }
+    },
+    CSV("text/csv") {
+        @Override
+        public UserImportReader reader(InputStream in) throws IOException {
+            return new CsvUserImportReader(in);
+        }
+    };
+
+    private final String[] contentTypes;
+
+    UserImportFormat(String... contentTypes) {
+        this.contentTypes = contentTypes;
+    }
+
+    public static UserImportFormat from(MediaType contentType) {
+        for (UserImportFormat format : values()) {
+            for (String type : format.contentTypes) {
+                if (MediaType.valueOf(type).includes(contentType)) {
+                    return format;
+                }
+            }
+        }
+        throw new ApiBadRequestException(String.format(
+                "Unsupported content type %s, expected application/json, application/x-ndjson or text/csv", contentType));
+    }
+
+    public abstract UserImportReader reader(InputStream in) throws IOException;
+}
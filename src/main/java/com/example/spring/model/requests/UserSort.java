@@ -0,0 +1,61 @@
+package com.example.spring.model.requests;
+
+import com.example.spring.exception.ApiBadRequestException;
+import com.example.spring.model.projection.AppUserSummary;
+
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Sort keys of the user listing. Each is a unique, indexed column, so it alone orders the users
+ * totally and a keyset page is a single index range scan.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+public enum UserSort {
+
+    ID("id", Long::valueOf, user -> String.valueOf(user.getId())),
+    USERNAME("username", value -> value, AppUserSummary::getUsername),
+    EMAIL("email", value -> value, AppUserSummary::getEmail);
+
+    private final String attribute;
+    private final Function<String, Object> parser;
+    private final Function<AppUserSummary, String> extractor;
+
+    UserSort(String attribute, Function<String, Object> parser, Function<AppUserSummary, String> extractor) {
+        this.attribute = attribute;
+        this.parser = parser;
+        this.extractor = extractor;
+    }
+
+    public static UserSort from(String name) {
+        for (UserSort sort : values()) {
+            if (sort.attribute.equals(name.toLowerCase(Locale.ROOT))) {
+                return sort;
+            }
+        }
+        throw new ApiBadRequestException(String.format("Unsupported sort %s, expected id, username or email", name));
+    }
+
+    /**
+     * {@code AppUser} attribute, also the query parameter value.
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * Typed key from its cursor form.
+     */
+    public Object parse(String value) {
+        return parser.apply(value);
+    }
+
+    /**
+     * Cursor form of the key of {@code user}.
+     */
+    public String valueOf(AppUserSummary user) {
+        return extractor.apply(user);
+    }
+}
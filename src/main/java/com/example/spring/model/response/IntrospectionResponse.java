@@ -0,0 +1,38 @@
+package com.example.spring.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Introspection result for one token, named after RFC 7662. Inactive tokens only carry
+ * {@code active=false}.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IntrospectionResponse {
+
+    private boolean active;
+    private String sub;
+    private List<String> roles;
+    /**
+     * Expiry in epoch seconds.
+     */
+    private Long exp;
+    private String jti;
+    @JsonProperty("token_type")
+    private String tokenType;
+
+    public static IntrospectionResponse inactive() {
+        return IntrospectionResponse.builder().active(false).build();
+    }
+}
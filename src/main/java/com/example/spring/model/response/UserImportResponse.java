@@ -0,0 +1,36 @@
+package com.example.spring.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Data
+@Builder
+@AllArgsConstructor
+public class UserImportResponse {
+
+    private long imported;
+    private long failed;
+    /**
+     * The first failed rows, up to {@code user-import-max-reported-errors}.
+     */
+    private List<RowError> errors;
+
+    @Value
+    public static class RowError {
+
+        /**
+         * 1-based position of the user in the upload.
+         */
+        long row;
+        String username;
+        String message;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.spring.model.response;
+
+import com.example.spring.model.projection.AppUserSummary;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserPageResponse {
+
+    private List<AppUserSummary> users;
+    /**
+     * Passed as {@code cursor} for the next page, absent on the last page.
+     */
+    private String nextCursor;
+    /**
+     * Only when requested, counting costs a scan of the table.
+     */
+    private Long total;
+}
@@ -1,11 +1,15 @@
 package com.example.spring.repository;
 
+import com.example.spring.configuration.CacheConfiguration;
 import com.example.spring.model.domain.AppRole;
 import com.example.spring.model.domain.Role;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -15,6 +19,26 @@ import java.util.Optional;
 @Repository
 public interface AppRoleRepository extends JpaRepository<AppRole, Long> {
 
+    /**
+     * Cached, the roles only change through the writes below. A missing role is not cached.
+     */
+    @Cacheable(cacheNames = CacheConfiguration.ROLES, unless = "#result == null")
     Optional<AppRole> findByName(Role roleName);
 
+    @Override
+    @CacheEvict(cacheNames = CacheConfiguration.ROLES, allEntries = true)
+    <S extends AppRole> S save(S role);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfiguration.ROLES, allEntries = true)
+    <S extends AppRole> List<S> saveAll(Iterable<S> roles);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfiguration.ROLES, allEntries = true)
+    void delete(AppRole role);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfiguration.ROLES, allEntries = true)
+    void deleteAll();
+
 }
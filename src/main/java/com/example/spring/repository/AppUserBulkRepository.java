@@ -0,0 +1,18 @@
+package com.example.spring.repository;
+
+import com.example.spring.model.domain.AppUser;
+
+import java.util.List;
+
+/**
+ * @author Yogi
+ * @since 17/10/2026
+ */
+public interface AppUserBulkRepository {
+
+    /**
+     * Assigns ids to {@code users} and inserts them, each linked to the role {@code roleId} when
+     * it is not {@code null}, with one JDBC batch per table. The users are not managed afterwards.
+     */
+    void insertAll(List<AppUser> users, Long roleId);
+}
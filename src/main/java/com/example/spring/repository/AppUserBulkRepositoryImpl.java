@@ -0,0 +1,64 @@
+package com.example.spring.repository;
+
+import com.example.spring.model.domain.AppUser;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Plain JDBC batches, without the persistence context or per-entity bookkeeping. Ids still come
+ * from the entity's own generator, so they are drawn from the same pooled blocks as users saved
+ * through JPA.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+public class AppUserBulkRepositoryImpl implements AppUserBulkRepository {
+
+    private static final String INSERT_USER = "insert into app_user "
+            + "(id, first_name, last_name, username, email, password, is_enabled, is_locked, created_at) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_USER_ROLE = "insert into app_user_role (app_user, app_role) values (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public AppUserBulkRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<AppUser> users, Long roleId) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        IdentifierGenerator ids = session.getFactory().getIdentifierGenerator(AppUser.class.getName());
+        LocalDateTime now = LocalDateTime.now();
+        for (AppUser user : users) {
+            user.setId((Long) ids.generate(session, user));
+            user.setCreatedAt(now);
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER, users, users.size(), (statement, user) -> {
+            statement.setLong(1, user.getId());
+            statement.setString(2, user.getFirstName());
+            statement.setString(3, user.getLastName());
+            statement.setString(4, user.getUsername());
+            statement.setString(5, user.getEmail());
+            statement.setString(6, user.getPassword());
+            statement.setBoolean(7, Boolean.TRUE.equals(user.getIsEnabled()));
+            statement.setBoolean(8, Boolean.TRUE.equals(user.getIsLocked()));
+            statement.setTimestamp(9, Timestamp.valueOf(user.getCreatedAt()));
+        });
+        if (roleId != null) {
+            jdbcTemplate.batchUpdate(INSERT_USER_ROLE, users, users.size(), (statement, user) -> {
+                statement.setLong(1, user.getId());
+                statement.setLong(2, roleId);
+            });
+        }
+    }
+}
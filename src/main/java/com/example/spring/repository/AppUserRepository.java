@@ -1,19 +1,96 @@
 package com.example.spring.repository;
 
+import com.example.spring.configuration.CacheConfiguration;
 import com.example.spring.model.domain.AppUser;
+import com.example.spring.model.projection.AppUserCredentialRow;
+import com.example.spring.model.projection.AppUserLogin;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 
 @Repository
 @Transactional(readOnly = true)
-public interface AppUserRepository extends JpaRepository<AppUser, Long> {
+public interface AppUserRepository extends JpaRepository<AppUser, Long>, AppUserSummaryRepository,
+        AppUserBulkRepository {
+
+    /**
+     * Evicts the cached summary of the user, applied once the surrounding transaction commits.
+     */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfiguration.USERS, key = "#p0.username")
+    <S extends AppUser> S save(S user);
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfiguration.USERS, allEntries = true)
+    <S extends AppUser> List<S> saveAll(Iterable<S> users);
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfiguration.USERS, key = "#p0.username")
+    void delete(AppUser user);
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfiguration.USERS, allEntries = true)
+    void deleteAll();
 
     Optional<AppUser> findByEmail(String email);
 
     Optional<AppUser> findByUsername(String username);
 
+    boolean existsByEmail(String email);
+
+    boolean existsByUsername(String username);
+
+    /**
+     * The user and its roles in one statement.
+     */
+    @Query("select distinct u from AppUser u left join fetch u.appUserRoles where u.username = :username")
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    Optional<AppUser> findWithRolesByUsername(@Param("username") String username);
+
+    /**
+     * Credentials of the accounts whose username or email is {@code login}, one row per role,
+     * in a single statement and without loading {@link AppUser} entities.
+     */
+    @Query("select new com.example.spring.model.projection.AppUserCredentialRow("
+            + "u.id, u.username, u.email, u.password, u.isEnabled, u.isLocked, r.name) "
+            + "from AppUser u left join u.appUserRoles r "
+            + "where u.username = :login or u.email = :login")
+    List<AppUserCredentialRow> findCredentialRows(@Param("login") String login);
+
+    @Query("select new com.example.spring.model.projection.AppUserLogin(u.username, u.email) from AppUser u")
+    Stream<AppUserLogin> streamLogins();
+
+    @Query("select new com.example.spring.model.projection.AppUserLogin(u.username, u.email) from AppUser u "
+            + "where u.createdAt > :after")
+    List<AppUserLogin> findLoginsCreatedAfter(@Param("after") LocalDateTime after);
+
+    /**
+     * Accounts whose username or email is one of {@code logins}, which must not be empty.
+     */
+    @Query("select new com.example.spring.model.projection.AppUserLogin(u.username, u.email) from AppUser u "
+            + "where u.username in :logins or u.email in :logins")
+    List<AppUserLogin> findLogins(@Param("logins") Collection<String> logins);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update AppUser u set u.password = :password where u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
+
 }
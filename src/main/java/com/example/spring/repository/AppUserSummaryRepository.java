@@ -0,0 +1,36 @@
+package com.example.spring.repository;
+
+import com.example.spring.configuration.CacheConfiguration;
+import com.example.spring.model.projection.AppUserSummary;
+import com.example.spring.model.requests.UserSort;
+import org.springframework.cache.annotation.Cacheable;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * @author Yogi
+ * @since 17/10/2026
+ */
+public interface AppUserSummaryRepository {
+
+    /**
+     * Up to {@code limit} users ordered by {@code sort}, after skipping {@code offset} users whose
+     * key comes after {@code after}, or all users when it is {@code null}.
+     */
+    List<AppUserSummary> findSummaries(UserSort sort, boolean descending, Object after, int offset, int limit);
+
+    /**
+     * Cached by username; evicted by {@link AppUserRepository#save} and role changes. A missing
+     * user is not cached.
+     */
+    @Cacheable(cacheNames = CacheConfiguration.USERS, key = "#p0", unless = "#result == null")
+    Optional<AppUserSummary> findSummaryByUsername(String username);
+
+    /**
+     * Every user ordered by id, read through a forward-only cursor. Must be consumed and closed
+     * within a transaction.
+     */
+    Stream<AppUserSummary> streamSummaries();
+}
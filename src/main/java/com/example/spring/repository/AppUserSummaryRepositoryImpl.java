@@ -0,0 +1,125 @@
+package com.example.spring.repository;
+
+import com.example.spring.model.domain.Role;
+import com.example.spring.model.projection.AppUserSummary;
+import com.example.spring.model.requests.UserSort;
+import com.example.spring.util.RoleAuthorities;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Users with their roles as a {@link RoleAuthorities} bitmask computed by the database.
+ * The sort column and the role bits are part of the statement, so the queries are built here;
+ * the column name only ever comes from {@link UserSort}.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+public class AppUserSummaryRepositoryImpl implements AppUserSummaryRepository {
+
+    private static final String COLUMNS = "select new com.example.spring.model.projection.AppUserSummary("
+            + "u.id, u.firstName, u.lastName, u.username, u.email, u.isEnabled, u.isLocked, ";
+    private static final String FROM = " from AppUser u left join u.appUserRoles r";
+    private static final String SELECT = COLUMNS + "coalesce(sum(" + roleBits() + "), 0))" + FROM;
+    /**
+     * One row per user and role, each with the bit of its role.
+     */
+    private static final String SELECT_ROWS = COLUMNS + "cast(" + roleBits() + " as long))" + FROM;
+    private static final String GROUP_BY = " group by u.id, u.firstName, u.lastName, u.username, u.email, "
+            + "u.isEnabled, u.isLocked";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Value("${parameter.value.user-export-fetch-size}")
+    private int exportFetchSize;
+
+    @Override
+    public List<AppUserSummary> findSummaries(UserSort sort, boolean descending, Object after, int offset, int limit) {
+        String key = "u." + sort.getAttribute();
+        StringBuilder jpql = new StringBuilder(SELECT);
+        if (after != null) {
+            jpql.append(" where ").append(key).append(descending ? " < " : " > ").append(":after");
+        }
+        jpql.append(GROUP_BY).append(" order by ").append(key).append(descending ? " desc" : " asc");
+        TypedQuery<AppUserSummary> query = entityManager.createQuery(jpql.toString(), AppUserSummary.class)
+                .setFirstResult(offset)
+                .setMaxResults(limit);
+        if (after != null) {
+            query.setParameter("after", after);
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public Optional<AppUserSummary> findSummaryByUsername(String username) {
+        return entityManager.createQuery(SELECT + " where u.username = :username" + GROUP_BY, AppUserSummary.class)
+                .setParameter("username", username)
+                .getResultStream()
+                .findFirst();
+    }
+
+    /**
+     * Ungrouped rows ordered by id, merged per user as they are read: the database streams them
+     * straight from the index instead of aggregating the whole table first.
+     */
+    @Override
+    public Stream<AppUserSummary> streamSummaries() {
+        Stream<AppUserSummary> rows = entityManager.createQuery(SELECT_ROWS + " order by u.id", AppUserSummary.class)
+                .setHint(QueryHints.HINT_FETCH_SIZE, exportFetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream();
+        Iterator<AppUserSummary> iterator = rows.iterator();
+        Spliterator<AppUserSummary> users = new Spliterators.AbstractSpliterator<AppUserSummary>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+
+            private AppUserSummary next;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super AppUserSummary> action) {
+                AppUserSummary user = next;
+                next = null;
+                if (user == null) {
+                    if (!iterator.hasNext()) {
+                        return false;
+                    }
+                    user = iterator.next();
+                }
+                while (iterator.hasNext()) {
+                    AppUserSummary row = iterator.next();
+                    if (!row.getId().equals(user.getId())) {
+                        next = row;
+                        break;
+                    }
+                    user = user.withRoleMask(user.getRoleMask() | row.getRoleMask());
+                }
+                action.accept(user);
+                return true;
+            }
+        };
+        return StreamSupport.stream(users, false).onClose(rows::close);
+    }
+
+    /**
+     * {@code case when r.name = ROLE_USER then 1 when ... end}, {@code 0} for a user without roles.
+     */
+    private static String roleBits() {
+        StringBuilder bits = new StringBuilder("case");
+        for (Role role : Role.values()) {
+            bits.append(" when r.name = ").append(Role.class.getName()).append('.').append(role.name())
+                    .append(" then ").append(RoleAuthorities.bit(role));
+        }
+        return bits.append(" else 0 end").toString();
+    }
+}
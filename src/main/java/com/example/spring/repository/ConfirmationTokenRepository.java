@@ -1,9 +1,16 @@
 package com.example.spring.repository;
 
 import com.example.spring.model.domain.ConfirmationToken;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +18,16 @@ public interface ConfirmationTokenRepository extends JpaRepository<ConfirmationT
 
     Optional<ConfirmationToken> findByToken(String token);
 
-}
\ No newline at end of file
+    /**
+     * Ids after {@code after} of tokens that are confirmed or expired at {@code now}, in id order,
+     * read along the primary key so each call only scans from where the previous one stopped.
+     */
+    @Query("select t.id from ConfirmationToken t "
+            + "where t.id > :after and (t.confirmedAt is not null or t.expiresAt <= :now) order by t.id")
+    List<Long> findReclaimableIds(@Param("after") long after, @Param("now") LocalDateTime now, Pageable page);
+
+    @Modifying
+    @Query("delete from ConfirmationToken t where t.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+}
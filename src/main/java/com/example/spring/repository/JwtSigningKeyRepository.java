@@ -0,0 +1,27 @@
+package com.example.spring.repository;
+
+import com.example.spring.model.domain.JwtSigningKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Repository
+public interface JwtSigningKeyRepository extends JpaRepository<JwtSigningKey, String> {
+
+    List<JwtSigningKey> findByAlgorithmOrderByGenerationDesc(String algorithm);
+
+    @Transactional
+    @Modifying
+    @Query("delete from JwtSigningKey k where k.algorithm = :algorithm and k.generation < :generation")
+    int deleteBefore(@Param("algorithm") String algorithm, @Param("generation") long generation);
+
+}
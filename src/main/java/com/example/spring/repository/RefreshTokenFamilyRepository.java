@@ -0,0 +1,45 @@
+package com.example.spring.repository;
+
+import com.example.spring.model.domain.RefreshTokenFamily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Repository
+public interface RefreshTokenFamilyRepository extends JpaRepository<RefreshTokenFamily, String> {
+
+    /**
+     * Compare-and-set on {@code currentTokenId}: updates nothing when the family was already
+     * rotated or revoked elsewhere.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update RefreshTokenFamily f set f.currentTokenId = :nextTokenId, f.previousTokenId = :currentTokenId, "
+            + "f.rotatedAt = :rotatedAt, f.expiresAt = :expiresAt "
+            + "where f.familyId = :familyId and f.currentTokenId = :currentTokenId and f.revoked = false")
+    int rotate(@Param("familyId") String familyId,
+               @Param("currentTokenId") String currentTokenId,
+               @Param("nextTokenId") String nextTokenId,
+               @Param("rotatedAt") LocalDateTime rotatedAt,
+               @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update RefreshTokenFamily f set f.revoked = true where f.familyId = :familyId")
+    int revoke(@Param("familyId") String familyId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshTokenFamily f where f.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+}
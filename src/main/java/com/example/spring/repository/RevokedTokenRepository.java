@@ -0,0 +1,31 @@
+package com.example.spring.repository;
+
+import com.example.spring.model.domain.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    @Query("select r.tokenId from RevokedToken r where r.expiresAt > :now")
+    Stream<String> streamActiveTokenIds(@Param("now") LocalDateTime now);
+
+    @Query("select r.tokenId from RevokedToken r where r.revokedAt > :after")
+    List<String> findTokenIdsRevokedAfter(@Param("after") LocalDateTime after);
+
+    @Modifying
+    @Query("delete from RevokedToken r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+}
@@ -0,0 +1,156 @@
+package com.example.spring.service;
+
+import com.example.spring.model.projection.AppUserLogin;
+import com.example.spring.repository.AppUserRepository;
+import com.example.spring.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * In-memory {@link BloomFilter} over every username and email, so lookups of accounts that do not
+ * exist (unknown logins, free usernames at registration) are answered without a query.
+ * <p>
+ * Values are trimmed and lower-cased on both sides, which can only add false positives. The
+ * filter is filled from a streaming scan at startup and again every
+ * {@code account-bloom-rebuild-interval}, which also drops deleted accounts. Accounts saved through
+ * this instance are added before they are saved; those saved by other instances are pulled in every
+ * {@code account-sync-interval} by reading the accounts created since the previous load, reaching
+ * {@code account-sync-overlap} further back for clock skew and late commits. A miss is therefore
+ * authoritative except for an account created elsewhere within the last sync interval; the unique
+ * constraints still catch such an account at registration.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Service
+@Slf4j
+public class AccountExistenceService {
+
+    private final AppUserRepository appUserRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Duration syncOverlap;
+
+    private volatile BloomFilter bloomFilter;
+    private volatile BloomFilter rebuilding;
+    /**
+     * When the last full or incremental load started, {@code null} before the first one.
+     */
+    private volatile LocalDateTime loadedAt;
+
+    public AccountExistenceService(AppUserRepository appUserRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${parameter.value.account-bloom-expected-insertions}") long expectedInsertions,
+                                   @Value("${parameter.value.account-bloom-false-positive-rate}") double falsePositiveRate,
+                                   @Value("${parameter.value.account-sync-overlap}") long syncOverlap) {
+        this.appUserRepository = appUserRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.syncOverlap = Duration.ofMillis(syncOverlap);
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    /**
+     * {@code false} only when no account has this username or email.
+     */
+    public boolean mightExist(String login) {
+        if (login == null) {
+            return false;
+        }
+        BloomFilter filter = bloomFilter;
+        return filter == null || filter.mightContain(normalize(login));
+    }
+
+    public void add(String username, String email) {
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            put(next, username, email);
+        }
+        // a rebuild may swap the filter under us, so repeat until the live one has it
+        BloomFilter filter;
+        do {
+            filter = bloomFilter;
+            if (filter != null) {
+                put(filter, username, email);
+            }
+        } while (filter != bloomFilter);
+    }
+
+    /**
+     * Adds the accounts created since the previous load, by this or any other instance.
+     */
+    @Scheduled(fixedDelayString = "${parameter.value.account-sync-interval}",
+            initialDelayString = "${parameter.value.account-sync-interval}")
+    public void sync() {
+        LocalDateTime since = loadedAt;
+        if (since == null) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<AppUserLogin> logins = appUserRepository.findLoginsCreatedAfter(since.minus(syncOverlap));
+        logins.forEach(login -> add(login.getUsername(), login.getEmail()));
+        loadedAt = startedAt;
+        log.debug("Account filter synced with {} accounts", logins.size());
+    }
+
+    /**
+     * Stream every username and email into a fresh filter and swap it in.
+     * Accounts added meanwhile are written to both filters.
+     */
+    @Scheduled(fixedDelayString = "${parameter.value.account-bloom-rebuild-interval}",
+            initialDelayString = "${parameter.value.account-bloom-rebuild-interval}")
+    public void rebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        BloomFilter next = new BloomFilter(expectedInsertions, falsePositiveRate);
+        rebuilding = next;
+        AtomicLong count = new AtomicLong();
+        try {
+            transactionTemplate.execute(status -> {
+                try (Stream<AppUserLogin> logins = appUserRepository.streamLogins()) {
+                    logins.forEach(login -> {
+                        put(next, login.getUsername(), login.getEmail());
+                        count.incrementAndGet();
+                    });
+                }
+                return null;
+            });
+            bloomFilter = next;
+            loadedAt = startedAt;
+        } finally {
+            rebuilding = null;
+        }
+        log.info("Account filter rebuilt with {} accounts", count.get());
+    }
+
+    private static void put(BloomFilter filter, String username, String email) {
+        if (username != null) {
+            filter.put(normalize(username));
+        }
+        if (email != null) {
+            filter.put(normalize(email));
+        }
+    }
+
+    private static String normalize(String login) {
+        return login.trim().toLowerCase(Locale.ROOT);
+    }
+}
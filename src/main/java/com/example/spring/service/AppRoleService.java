@@ -1,5 +1,6 @@
 package com.example.spring.service;
 
+import com.example.spring.configuration.CacheConfiguration;
 import com.example.spring.exception.ApiConflictException;
 import com.example.spring.exception.ApiNotFoundException;
 import com.example.spring.model.domain.AppRole;
@@ -8,7 +9,9 @@ import com.example.spring.model.domain.Role;
 import com.example.spring.repository.AppRoleRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -29,6 +32,11 @@ public class AppRoleService {
         appRoleRepository.save(appRole);
     }
 
+    /**
+     * The join table changes without saving the user, so its cached summary is evicted here.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfiguration.USERS, key = "#username")
     public void addRoleToUser(String username, Role roleName) {
         AppUser appUser = appUserService.findByUsername(username);
         AppRole appRole = appRoleRepository.findByName(roleName)
@@ -1,29 +1,44 @@
 package com.example.spring.service;
 
+import com.example.spring.exception.ApiBadRequestException;
 import com.example.spring.exception.ApiConflictException;
 import com.example.spring.exception.ApiNotFoundException;
 import com.example.spring.model.domain.AppRole;
 import com.example.spring.model.domain.AppUser;
+import com.example.spring.model.domain.Role;
+import com.example.spring.model.projection.AppUserCredentials;
+import com.example.spring.model.projection.AppUserSummary;
+import com.example.spring.model.requests.UserExportFormat;
+import com.example.spring.model.requests.UserSort;
 import com.example.spring.model.response.UserInfoResponse;
+import com.example.spring.model.response.UserPageResponse;
 import com.example.spring.repository.AppRoleRepository;
 import com.example.spring.repository.AppUserRepository;
+import com.example.spring.util.KeysetCursor;
+import com.example.spring.util.UserExportWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.example.spring.model.domain.Role.ROLE_ADMIN;
 import static com.example.spring.model.domain.Role.ROLE_USER;
@@ -32,30 +47,41 @@ import static com.example.spring.model.domain.Role.ROLE_USER;
 @Transactional
 @RequiredArgsConstructor
 @Slf4j
-public class AppUserService implements UserDetailsService {
+public class AppUserService implements UserDetailsService, UserDetailsPasswordService {
 
-    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final PasswordEncoder passwordEncoder;
     private final AppUserRepository appUserRepository;
     private final AppRoleRepository appRoleRepository;
+    private final AccountExistenceService accountExistenceService;
 
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         log.info("Loading user by username or email: {} .....", email);
-        // check if user exists by email
-        Optional<AppUser> appUser = appUserRepository.findByEmail(email);
-        if (!appUser.isPresent()) {
-            log.warn("User with email {} not found", email);
-
-            // check if user exists by username
-            appUser = appUserRepository.findByUsername(email);
-            if (!appUser.isPresent()) {
-                log.error("User with username or email {} not found", email);
-                throw new AuthenticationCredentialsNotFoundException(String.format("User with username or email %s not found", email));
-            }
+        // username and email in one query, without managed entities
+        AppUserCredentials credentials = accountExistenceService.mightExist(email)
+                ? AppUserCredentials.from(email, appUserRepository.findCredentialRows(email))
+                : null;
+        if (credentials == null) {
+            log.error("User with username or email {} not found", email);
+            throw new AuthenticationCredentialsNotFoundException(String.format("User with username or email %s not found", email));
         }
 
         log.info("success loading user by username or email: {}", email);
-        return appUser.get();
+        return credentials;
+    }
+
+    /**
+     * Called after a successful login whose stored hash uses an outdated algorithm or cost.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        log.info("Upgrading password hash of user: {}", user.getUsername());
+        appUserRepository.updatePassword(user.getUsername(), newPassword);
+        if (user instanceof AppUserCredentials) {
+            return ((AppUserCredentials) user).withPassword(newPassword);
+        }
+        return user;
     }
 
     public void setUserEnable(Long id) {
@@ -78,60 +104,138 @@ public class AppUserService implements UserDetailsService {
     public void saveUser(AppUser appUser) {
         log.info("Saving user.....");
         // check if email is already exist
-        appUserRepository.findByEmail(appUser.getEmail()).ifPresent(user -> {
+        if (isKnown(appUser.getEmail(), appUserRepository::existsByEmail)) {
             log.error(String.format("Email %s is already exist", appUser.getEmail()));
             throw new ApiConflictException(String.format("Email %s is already exist", appUser.getEmail()));
-        });
+        }
 
         //check if username is already exist
-        appUserRepository.findByUsername(appUser.getUsername()).ifPresent(user -> {
+        if (isKnown(appUser.getUsername(), appUserRepository::existsByUsername)) {
             log.error(String.format("Username %s is already exist", appUser.getUsername()));
             throw new ApiConflictException(String.format("Username %s is already exist", appUser.getUsername()));
-        });
+        }
 
         // save user with encrypted password
         Optional<AppRole> appRole = appRoleRepository.findByName(ROLE_USER);
         List<AppRole> roles = appRole.map(Arrays::asList).orElseGet(Arrays::asList);
         appUser.setAppUserRoles(roles);
-        appUser.setPassword(bCryptPasswordEncoder.encode(appUser.getPassword()));
+        appUser.setPassword(passwordEncoder.encode(appUser.getPassword()));
         log.info("success saving user: {}", appUser);
-        appUserRepository.save(appUser);
+        accountExistenceService.add(appUser.getUsername(), appUser.getEmail());
+        try {
+            appUserRepository.save(appUser);
+            // surface a clash with an account the filter has not seen yet here, not at commit
+            appUserRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            log.error(String.format("Username %s or email %s is already exist", appUser.getUsername(), appUser.getEmail()));
+            throw new ApiConflictException(String.format("Username %s or email %s is already exist",
+                    appUser.getUsername(), appUser.getEmail()));
+        }
     }
 
+    /**
+     * The user with its roles loaded, every caller reads or changes them.
+     */
     public AppUser findByUsername(String username) {
         log.info("Finding user by username: {}", username);
-        return appUserRepository.findByUsername(username)
+        return appUserRepository.findWithRolesByUsername(username)
                 .orElseThrow(() -> {
                     log.error("User with username {} not found", username);
                     return new ApiNotFoundException(String.format("User with username %s not found", username));
                 });
     }
 
-    public UserInfoResponse getUserInfoByUsername(String username) {
-        AppUser user = findByUsername(username);
+    /**
+     * The user without password, served from the user cache after the first lookup.
+     */
+    public AppUserSummary findSummaryByUsername(String username) {
         log.info("Finding user by username: {}", username);
+        return appUserRepository.findSummaryByUsername(username)
+                .orElseThrow(() -> {
+                    log.error("User with username {} not found", username);
+                    return new ApiNotFoundException(String.format("User with username %s not found", username));
+                });
+    }
+
+    public UserInfoResponse getUserInfoByUsername(String username) {
+        AppUserSummary user = findSummaryByUsername(username);
         return UserInfoResponse.builder()
                 .firstName(user.getFirstName())
                 .lastName(user.getLastName())
                 .userName(user.getUsername())
                 .email(user.getEmail())
-                .roles(user.getAppUserRoles().stream().map(AppRole::getName).collect(Collectors.toList()))
+                .roles(user.getRoles().stream().map(Role::valueOf).collect(Collectors.toList()))
                 .build();
     }
 
-    public List<AppUser> findAll(int page, int size) {
-        log.info("Finding all users");
-        Page<AppUser> appUsers = appUserRepository.findAll(PageRequest.of(page, size));
-        if (appUsers.isEmpty()) {
+    /**
+     * One page of users with their roles in one statement, whatever the page size or depth.
+     * With a {@code cursor} the page continues right after the last user of the previous page
+     * (keyset); without one, {@code page} pages are skipped with an offset, which gets slower the
+     * deeper it goes. The total is only counted on request.
+     */
+    @Transactional(readOnly = true)
+    public UserPageResponse findPage(String cursor, int page, int size, UserSort sort, Sort.Direction direction,
+                                     boolean withTotal) {
+        log.info("Finding users by {} {}", sort.getAttribute(), direction);
+        if (page < 0 || size < 1) {
+            throw new ApiBadRequestException("Page must not be negative and size must be positive");
+        }
+        boolean descending = direction.isDescending();
+        Object after = cursor != null ? KeysetCursor.decode(cursor, sort, descending).getAfter() : null;
+        // one extra user tells whether there is a next page
+        int offset = after != null ? 0 : Math.multiplyExact(page, size);
+        List<AppUserSummary> users = appUserRepository.findSummaries(sort, descending, after, offset, size + 1);
+        if (users.isEmpty()) {
             log.error("No user found");
             throw new ApiNotFoundException("No user found");
         }
-        return appUsers.getContent();
+        boolean hasNext = users.size() > size;
+        if (hasNext) {
+            users = users.subList(0, size);
+        }
+        return UserPageResponse.builder()
+                .users(users)
+                .nextCursor(hasNext
+                        ? new KeysetCursor(sort, descending, sort.valueOf(users.get(size - 1))).encode()
+                        : null)
+                .total(withTotal ? appUserRepository.count() : null)
+                .build();
+    }
+
+    /**
+     * Writes every user to {@code out} as it is read, so memory stays flat whatever the number of
+     * users. Leaves {@code out} open.
+     *
+     * @return the number of users written
+     */
+    @Transactional(readOnly = true)
+    public long exportUsers(UserExportFormat format, OutputStream out) throws IOException {
+        log.info("Exporting users as {}", format);
+        long count = 0;
+        try (Stream<AppUserSummary> users = appUserRepository.streamSummaries();
+             UserExportWriter writer = format.writer(out)) {
+            Iterator<AppUserSummary> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+                count++;
+            }
+        }
+        log.info("Exported {} users", count);
+        return count;
     }
 
     public void saveAll(List<AppUser> appUsers) {
         log.info("Saving all users");
+        appUsers.forEach(appUser -> accountExistenceService.add(appUser.getUsername(), appUser.getEmail()));
         appUserRepository.saveAll(appUsers);
     }
 
+    /**
+     * Skips the query when the account filter rules the value out.
+     */
+    private boolean isKnown(String login, Predicate<String> exists) {
+        return accountExistenceService.mightExist(login) && exists.test(login);
+    }
+
 }
@@ -0,0 +1,102 @@
+package com.example.spring.service;
+
+import com.example.spring.repository.ConfirmationTokenRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Deletes confirmation tokens that are confirmed or expired, which are never read again.
+ * <p>
+ * Tokens are deleted in id order, {@code confirmation-token-reap-batch-size} at a time, each batch
+ * in its own short transaction so no lock is held for long. A run stops after
+ * {@code confirmation-token-reap-max-batches} batches and the next one continues after the last
+ * deleted id, so a large backlog is worked off over several runs without holding up the other
+ * scheduled jobs. Reaching the end of the table starts the next run from the beginning again.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Service
+@Slf4j
+public class ConfirmationTokenReaper implements MeterBinder {
+
+    private final ConfirmationTokenRepository confirmationTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatches;
+    private final LongAdder reclaimed = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder batchNanos = new LongAdder();
+
+    /**
+     * Largest id handled so far; runs never overlap, they are scheduled with a fixed delay.
+     */
+    private long after;
+
+    public ConfirmationTokenReaper(ConfirmationTokenRepository confirmationTokenRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${parameter.value.confirmation-token-reap-batch-size}") int batchSize,
+                                   @Value("${parameter.value.confirmation-token-reap-max-batches}") int maxBatches) {
+        this.confirmationTokenRepository = confirmationTokenRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    /**
+     * @return the number of tokens deleted by this run
+     */
+    @Scheduled(fixedDelayString = "${parameter.value.confirmation-token-reap-interval}",
+            initialDelayString = "${parameter.value.confirmation-token-reap-interval}")
+    public long reap() {
+        LocalDateTime now = LocalDateTime.now();
+        long deleted = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            long startedAt = System.nanoTime();
+            int[] count = new int[1];
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> reclaimable = confirmationTokenRepository.findReclaimableIds(after, now,
+                        PageRequest.of(0, batchSize));
+                if (!reclaimable.isEmpty()) {
+                    count[0] = confirmationTokenRepository.deleteByIds(reclaimable);
+                }
+                return reclaimable;
+            });
+            batchNanos.add(System.nanoTime() - startedAt);
+            batchCount.increment();
+            reclaimed.add(count[0]);
+            deleted += count[0];
+            if (ids == null || ids.size() < batchSize) {
+                after = 0;
+                break;
+            }
+            after = ids.get(ids.size() - 1);
+        }
+        log.info("Reaped {} confirmed or expired confirmation tokens", deleted);
+        return deleted;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("confirmation.token.reaper.reclaimed", reclaimed, LongAdder::sum)
+                .register(registry);
+        FunctionTimer.builder("confirmation.token.reaper.batch", this,
+                        reaper -> reaper.batchCount.sum(),
+                        reaper -> reaper.batchNanos.sum(), TimeUnit.NANOSECONDS)
+                .register(registry);
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.spring.service;
+
+import com.example.spring.exception.ApiBadRequestException;
+import com.example.spring.exception.ApiConflictException;
+import com.example.spring.exception.ApiUnauthorizedException;
+import com.example.spring.model.domain.JwtPrincipal;
+import com.example.spring.model.domain.RefreshTokenFamily;
+import com.example.spring.model.projection.AppUserCredentials;
+import com.example.spring.model.response.LoginResponse;
+import com.example.spring.repository.RefreshTokenFamilyRepository;
+import com.example.spring.util.JWTUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import javax.servlet.http.HttpServletRequest;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Refresh token rotation with reuse detection.
+ * <p>
+ * Every login starts a family; each refresh swaps the family's current token id for a new one,
+ * so the presented token is retired atomically. Presenting a retired token revokes the family.
+ * Family state lives in an in-memory index of immutable snapshots updated by compare-and-set,
+ * written through to {@code refresh_token_family} with a conditional update, so concurrent
+ * refreshes never block each other and exactly one of them wins. Presenting the token that was
+ * rotated within {@code refresh-token-reuse-grace-period} is treated as a client race and only
+ * rejected, not as reuse. Revoking a family also denylists it in {@link TokenRevocationService},
+ * which refuses the access tokens issued to it as well.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    private final RefreshTokenFamilyRepository refreshTokenFamilyRepository;
+    private final AppUserService userService;
+    private final JWTUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
+    private final long reuseGracePeriod;
+    private final ConcurrentHashMap<String, AtomicReference<FamilyState>> families = new ConcurrentHashMap<>();
+
+    public RefreshTokenService(RefreshTokenFamilyRepository refreshTokenFamilyRepository,
+                               AppUserService userService,
+                               JWTUtil jwtUtil,
+                               TokenRevocationService tokenRevocationService,
+                               @Value("${parameter.value.refresh-token-reuse-grace-period}") long reuseGracePeriod) {
+        this.refreshTokenFamilyRepository = refreshTokenFamilyRepository;
+        this.userService = userService;
+        this.jwtUtil = jwtUtil;
+        this.tokenRevocationService = tokenRevocationService;
+        this.reuseGracePeriod = reuseGracePeriod;
+    }
+
+    /**
+     * Start a new family for a successful login.
+     */
+    public LoginResponse login(UserDetails user, HttpServletRequest request) {
+        String familyId = UUID.randomUUID().toString();
+        String tokenId = UUID.randomUUID().toString();
+        LoginResponse loginResponse = jwtUtil.createTokens(user, request, familyId, tokenId);
+        long expiresAt = loginResponse.getRefreshToken().getExpiredAt().getTime();
+        refreshTokenFamilyRepository.save(RefreshTokenFamily.builder()
+                .familyId(familyId)
+                .username(user.getUsername())
+                .currentTokenId(tokenId)
+                .expiresAt(toLocalDateTime(expiresAt))
+                .build());
+        families.put(familyId, new AtomicReference<>(
+                new FamilyState(user.getUsername(), tokenId, null, 0, expiresAt, false)));
+        return loginResponse;
+    }
+
+    /**
+     * Exchange a verified refresh token for a new token pair of the same family.
+     */
+    public LoginResponse rotate(JwtPrincipal refreshToken, HttpServletRequest request) {
+        if (!refreshToken.isRefreshToken() || refreshToken.getFamilyId() == null) {
+            throw new ApiBadRequestException("Token is not a refresh token");
+        }
+        String familyId = refreshToken.getFamilyId();
+        String tokenId = refreshToken.getTokenId();
+        AtomicReference<FamilyState> family = families.get(familyId);
+        if (family == null || !family.get().isCurrent(tokenId)) {
+            // unknown here or possibly behind a rotation persisted elsewhere, the table decides
+            family = reload(familyId);
+        }
+        FamilyState current = family.get();
+        if (!current.isCurrent(tokenId)) {
+            throw reject(familyId, current, tokenId);
+        }
+
+        // roles as of now, from the user cache
+        UserDetails user = AppUserCredentials.withoutPassword(userService.findSummaryByUsername(refreshToken.getUsername()));
+        String nextTokenId = UUID.randomUUID().toString();
+        LoginResponse loginResponse = jwtUtil.createTokens(user, request, familyId, nextTokenId);
+        long now = System.currentTimeMillis();
+        long expiresAt = loginResponse.getRefreshToken().getExpiredAt().getTime();
+
+        if (!family.compareAndSet(current, current.rotate(nextTokenId, now, expiresAt))) {
+            throw reject(familyId, family.get(), tokenId);
+        }
+        int updated = refreshTokenFamilyRepository.rotate(familyId, tokenId, nextTokenId,
+                toLocalDateTime(now), toLocalDateTime(expiresAt));
+        if (updated == 0) {
+            // another instance exchanged or revoked the same token first
+            throw reject(familyId, reload(familyId).get(), tokenId);
+        }
+        return loginResponse;
+    }
+
+    public void revokeFamily(String familyId, String username) {
+        log.info("Revoking refresh token family {}", familyId);
+        tokenRevocationService.revokeFamily(familyId, username);
+        AtomicReference<FamilyState> family = families.get(familyId);
+        if (family != null) {
+            family.updateAndGet(FamilyState::revoke);
+        }
+        refreshTokenFamilyRepository.revoke(familyId);
+    }
+
+    @Scheduled(fixedDelayString = "${parameter.value.refresh-token-prune-interval}",
+            initialDelayString = "${parameter.value.refresh-token-prune-interval}")
+    public void prune() {
+        long now = System.currentTimeMillis();
+        families.values().removeIf(family -> family.get().expiresAt <= now);
+        int deleted = refreshTokenFamilyRepository.deleteExpired(toLocalDateTime(now));
+        log.info("Pruned {} expired refresh token families", deleted);
+    }
+
+    private AtomicReference<FamilyState> reload(String familyId) {
+        RefreshTokenFamily entity = refreshTokenFamilyRepository.findById(familyId)
+                .orElseThrow(() -> new ApiUnauthorizedException("Refresh token is no longer valid, please login again"));
+        FamilyState state = new FamilyState(entity.getUsername(), entity.getCurrentTokenId(), entity.getPreviousTokenId(),
+                toEpochMilli(entity.getRotatedAt()), toEpochMilli(entity.getExpiresAt()), entity.isRevoked());
+        AtomicReference<FamilyState> family = families.putIfAbsent(familyId, new AtomicReference<>(state));
+        if (family == null) {
+            return families.get(familyId);
+        }
+        family.set(state);
+        return family;
+    }
+
+    private RuntimeException reject(String familyId, FamilyState state, String tokenId) {
+        if (state.revoked) {
+            return new ApiUnauthorizedException("Refresh token has been revoked, please login again");
+        }
+        if (tokenId.equals(state.previousTokenId) && System.currentTimeMillis() - state.rotatedAt < reuseGracePeriod) {
+            return new ApiConflictException("Refresh token was already exchanged by a concurrent request");
+        }
+        log.warn("Refresh token reuse detected for {} in family {}", state.username, familyId);
+        revokeFamily(familyId, state.username);
+        return new ApiUnauthorizedException("Refresh token reuse detected, please login again");
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMilli) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneId.systemDefault());
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime == null ? 0 : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class FamilyState {
+        private final String username;
+        private final String currentTokenId;
+        private final String previousTokenId;
+        private final long rotatedAt;
+        private final long expiresAt;
+        private final boolean revoked;
+
+        private FamilyState(String username, String currentTokenId, String previousTokenId,
+                            long rotatedAt, long expiresAt, boolean revoked) {
+            this.username = username;
+            this.currentTokenId = currentTokenId;
+            this.previousTokenId = previousTokenId;
+            this.rotatedAt = rotatedAt;
+            this.expiresAt = expiresAt;
+            this.revoked = revoked;
+        }
+
+        private boolean isCurrent(String tokenId) {
+            return !revoked && currentTokenId.equals(tokenId);
+        }
+
+        private FamilyState rotate(String nextTokenId, long now, long nextExpiresAt) {
+            return new FamilyState(username, nextTokenId, currentTokenId, now, nextExpiresAt, false);
+        }
+
+        private FamilyState revoke() {
+            return new FamilyState(username, currentTokenId, previousTokenId, rotatedAt, expiresAt, true);
+        }
+    }
+}
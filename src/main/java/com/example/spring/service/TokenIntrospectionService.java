@@ -0,0 +1,108 @@
+package com.example.spring.service;
+
+import com.example.spring.exception.ApiBadRequestException;
+import com.example.spring.model.domain.JwtPrincipal;
+import com.example.spring.model.response.IntrospectionResponse;
+import com.example.spring.util.JWTUtil;
+import com.example.spring.util.JwtClaims;
+import com.example.spring.util.VerifiedTokenCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Batch token introspection for services that cannot verify tokens themselves.
+ * <p>
+ * Tokens already in the {@link VerifiedTokenCache} are answered on the calling thread; only
+ * the misses pay for signature verification, spread over the bounded introspection pool.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Service
+@Slf4j
+public class TokenIntrospectionService {
+
+    private static final String ACCESS = "access";
+
+    private final JWTUtil jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final AsyncTaskExecutor introspectionExecutor;
+    private final int maxBatchSize;
+
+    public TokenIntrospectionService(JWTUtil jwtUtil,
+                                     VerifiedTokenCache verifiedTokenCache,
+                                     TokenRevocationService tokenRevocationService,
+                                     @Qualifier("introspectionExecutor") AsyncTaskExecutor introspectionExecutor,
+                                     @Value("${parameter.value.introspection-max-batch-size}") int maxBatchSize) {
+        this.jwtUtil = jwtUtil;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenRevocationService = tokenRevocationService;
+        this.introspectionExecutor = introspectionExecutor;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * @return one result per token, in request order
+     */
+    public List<IntrospectionResponse> introspect(List<String> tokens) {
+        if (tokens.size() > maxBatchSize) {
+            throw new ApiBadRequestException("At most " + maxBatchSize + " tokens can be introspected at once");
+        }
+        IntrospectionResponse[] results = new IntrospectionResponse[tokens.size()];
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        int localMiss = -1;
+        for (int i = 0; i < results.length; i++) {
+            String token = tokens.get(i);
+            JwtPrincipal cached = token != null ? verifiedTokenCache.get(token) : null;
+            if (token == null) {
+                results[i] = IntrospectionResponse.inactive();
+            } else if (cached != null) {
+                results[i] = toResponse(cached);
+            } else if (localMiss < 0) {
+                // keep the first miss for this thread instead of idling while the pool works
+                localMiss = i;
+            } else {
+                int index = i;
+                pending.add(CompletableFuture.runAsync(() -> results[index] = introspect(token), introspectionExecutor));
+            }
+        }
+        if (localMiss >= 0) {
+            results[localMiss] = introspect(tokens.get(localMiss));
+        }
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+        return Arrays.asList(results);
+    }
+
+    private IntrospectionResponse introspect(String token) {
+        try {
+            return toResponse(jwtUtil.verify(token));
+        } catch (Exception e) {
+            log.debug("Inactive token : {}", e.getMessage());
+            return IntrospectionResponse.inactive();
+        }
+    }
+
+    private IntrospectionResponse toResponse(JwtPrincipal principal) {
+        if (principal.getExpiresAt().getTime() <= System.currentTimeMillis()
+                || tokenRevocationService.isRevoked(principal)) {
+            return IntrospectionResponse.inactive();
+        }
+        return IntrospectionResponse.builder()
+                .active(true)
+                .sub(principal.getUsername())
+                .roles(principal.getRoles())
+                .exp(principal.getExpiresAt().getTime() / 1000)
+                .jti(principal.getTokenId())
+                .tokenType(principal.isRefreshToken() ? JwtClaims.REFRESH : ACCESS)
+                .build();
+    }
+}
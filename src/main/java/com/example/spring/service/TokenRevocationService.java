@@ -0,0 +1,190 @@
+package com.example.spring.service;
+
+import com.example.spring.model.domain.JwtPrincipal;
+import com.example.spring.model.domain.RevokedToken;
+import com.example.spring.repository.RevokedTokenRepository;
+import com.example.spring.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Denylist of revoked token ids ({@code jti}).
+ * <p>
+ * The {@code revoked_token} table is the source of truth. An in-memory {@link BloomFilter} built
+ * from it answers the common "not revoked" case without touching the database; only possible
+ * hits are checked against the table. Expired rows are pruned on a schedule and the filter is
+ * rebuilt afterwards so it does not fill up over time.
+ * <p>
+ * Tokens revoked by other instances are pulled into the filter every
+ * {@code revocation-sync-interval}, by reading the rows revoked since the previous load, so a token
+ * revoked elsewhere is accepted here for at most that long. The window reaches
+ * {@code revocation-sync-overlap} further back to cover clock skew between instances and rows
+ * committed after the previous read.
+ * <p>
+ * A revoked refresh token family is denylisted in the same table, under
+ * {@link RevokedToken#familyKey(String)}, until the last access token it can have issued has expired. A
+ * token carrying that family is refused like a revoked {@code jti}, so access tokens obtained
+ * before reuse was detected stop working with the refresh token.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Service
+@Slf4j
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Duration syncOverlap;
+    private final long accessTokenLifetime;
+
+    private volatile BloomFilter bloomFilter;
+    private volatile BloomFilter rebuilding;
+    /**
+     * When the last full or incremental load started, {@code null} before the first one.
+     */
+    private volatile LocalDateTime loadedAt;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${parameter.value.revocation-bloom-expected-insertions}") long expectedInsertions,
+                                  @Value("${parameter.value.revocation-bloom-false-positive-rate}") double falsePositiveRate,
+                                  @Value("${parameter.value.revocation-sync-overlap}") long syncOverlap,
+                                  @Value("${parameter.value.jwt-access-token-expiration-time}") long accessTokenLifetime) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.syncOverlap = Duration.ofMillis(syncOverlap);
+        this.accessTokenLifetime = accessTokenLifetime;
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        BloomFilter filter = bloomFilter;
+        if (filter != null && !filter.mightContain(tokenId)) {
+            return false;
+        }
+        return revokedTokenRepository.existsById(tokenId);
+    }
+
+    /**
+     * Whether the token itself or its refresh token family has been revoked.
+     */
+    public boolean isRevoked(JwtPrincipal principal) {
+        return isRevoked(principal.getTokenId())
+                || principal.getFamilyId() != null && isRevoked(RevokedToken.familyKey(principal.getFamilyId()));
+    }
+
+    /**
+     * Refuses every token of the family from now on, including access tokens issued before.
+     */
+    public void revokeFamily(String familyId, String username) {
+        revoke(RevokedToken.familyKey(familyId), username, new Date(System.currentTimeMillis() + accessTokenLifetime));
+    }
+
+    public void revoke(String tokenId, String username, Date expiresAt) {
+        if (tokenId == null) {
+            log.warn("Token of {} has no jti and cannot be revoked", username);
+            return;
+        }
+        log.info("Revoking token {} of {}", tokenId, username);
+        revokedTokenRepository.save(RevokedToken.builder()
+                .tokenId(tokenId)
+                .username(username)
+                .revokedAt(LocalDateTime.now())
+                .expiresAt(LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault()))
+                .build());
+        put(tokenId);
+    }
+
+    /**
+     * Adds the tokens revoked since the previous load, by this or any other instance.
+     */
+    @Scheduled(fixedDelayString = "${parameter.value.revocation-sync-interval}",
+            initialDelayString = "${parameter.value.revocation-sync-interval}")
+    public void sync() {
+        LocalDateTime since = loadedAt;
+        if (since == null) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<String> tokenIds = revokedTokenRepository.findTokenIdsRevokedAfter(since.minus(syncOverlap));
+        tokenIds.forEach(this::put);
+        loadedAt = startedAt;
+        log.debug("Revocation filter synced with {} tokens", tokenIds.size());
+    }
+
+    @Scheduled(fixedDelayString = "${parameter.value.revocation-prune-interval}",
+            initialDelayString = "${parameter.value.revocation-prune-interval}")
+    public void prune() {
+        Integer deleted = transactionTemplate.execute(status ->
+                revokedTokenRepository.deleteExpired(LocalDateTime.now()));
+        log.info("Pruned {} expired revoked tokens", deleted);
+        rebuild();
+    }
+
+    /**
+     * Stream the still-valid revoked ids into a fresh filter and swap it in.
+     * Revocations that happen meanwhile are written to both filters.
+     */
+    public void rebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        BloomFilter next = new BloomFilter(expectedInsertions, falsePositiveRate);
+        rebuilding = next;
+        AtomicLong count = new AtomicLong();
+        try {
+            transactionTemplate.execute(status -> {
+                try (Stream<String> tokenIds = revokedTokenRepository.streamActiveTokenIds(LocalDateTime.now())) {
+                    tokenIds.forEach(tokenId -> {
+                        next.put(tokenId);
+                        count.incrementAndGet();
+                    });
+                }
+                return null;
+            });
+            bloomFilter = next;
+            loadedAt = startedAt;
+        } finally {
+            rebuilding = null;
+        }
+        log.info("Revocation filter rebuilt with {} tokens", count.get());
+    }
+
+    private void put(String tokenId) {
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.put(tokenId);
+        }
+        // a rebuild may swap the filter under us, so repeat until the live one has it
+        BloomFilter filter;
+        do {
+            filter = bloomFilter;
+            if (filter != null) {
+                filter.put(tokenId);
+            }
+        } while (filter != bloomFilter);
+    }
+}
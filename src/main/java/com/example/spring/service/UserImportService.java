@@ -0,0 +1,258 @@
+package com.example.spring.service;
+
+import com.example.spring.exception.ApiBadRequestException;
+import com.example.spring.model.domain.AppRole;
+import com.example.spring.model.domain.AppUser;
+import com.example.spring.model.projection.AppUserLogin;
+import com.example.spring.model.requests.RegisterRequest;
+import com.example.spring.model.response.UserImportResponse;
+import com.example.spring.repository.AppRoleRepository;
+import com.example.spring.repository.AppUserRepository;
+import com.example.spring.util.UserImportReader;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.regex.Pattern;
+
+import static com.example.spring.model.domain.Role.ROLE_USER;
+
+/**
+ * Imports users from an upload in batches of {@code user-import-batch-size} rows. Each batch is
+ * validated, checked against existing accounts with at most one query, hashed in parallel on the
+ * import pool and inserted with JDBC batches in its own transaction. Rows that are invalid or
+ * whose username or email is taken are reported and skipped without stopping the import.
+ * <p>
+ * Imported users get {@code ROLE_USER} and are enabled, like users created by an admin.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Service
+@Slf4j
+public class UserImportService {
+
+    private static final Pattern EMAIL = Pattern.compile("^(.+)@(.+)$");
+
+    private final AppUserRepository appUserRepository;
+    private final AppRoleRepository appRoleRepository;
+    private final AccountExistenceService accountExistenceService;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ForkJoinPool hashingPool;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public UserImportService(AppUserRepository appUserRepository,
+                             AppRoleRepository appRoleRepository,
+                             AccountExistenceService accountExistenceService,
+                             PasswordEncoder passwordEncoder,
+                             Validator validator,
+                             @Qualifier("userImportHashingPool") ForkJoinPool hashingPool,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${parameter.value.user-import-batch-size}") int batchSize,
+                             @Value("${parameter.value.user-import-max-reported-errors}") int maxReportedErrors) {
+        this.appUserRepository = appUserRepository;
+        this.appRoleRepository = appRoleRepository;
+        this.accountExistenceService = accountExistenceService;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.hashingPool = hashingPool;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Batches before a malformed row stay imported when the upload cannot be read to the end.
+     */
+    public UserImportResponse importUsers(UserImportReader reader) throws IOException {
+        log.info("Importing users.....");
+        Long roleId = appRoleRepository.findByName(ROLE_USER).map(AppRole::getId).orElse(null);
+        Report report = new Report();
+        List<Row> batch = new ArrayList<>(batchSize);
+        RegisterRequest request;
+        while ((request = read(reader, report.rows + 1)) != null) {
+            batch.add(new Row(++report.rows, request));
+            if (batch.size() == batchSize) {
+                importBatch(batch, roleId, report);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            importBatch(batch, roleId, report);
+        }
+        log.info("success importing users: {} imported, {} failed", report.imported, report.failed);
+        // a batch reports invalid rows before taken ones
+        report.errors.sort(Comparator.comparingLong(UserImportResponse.RowError::getRow));
+        return new UserImportResponse(report.imported, report.failed, report.errors);
+    }
+
+    private static RegisterRequest read(UserImportReader reader, long row) throws IOException {
+        try {
+            return reader.next();
+        } catch (JsonProcessingException e) {
+            throw new ApiBadRequestException(String.format("Malformed upload at row %d, the rows before it were imported: %s",
+                    row, e.getOriginalMessage()));
+        }
+    }
+
+    private void importBatch(List<Row> batch, Long roleId, Report report) {
+        List<Row> rows = dropTaken(validate(batch, report), report, true);
+        hash(rows);
+        try {
+            insert(rows, roleId);
+        } catch (DataIntegrityViolationException e) {
+            // an account with one of the names was created meanwhile, insert the others once more
+            log.warn("Import batch clashed with a new account, retrying without it");
+            rows = dropTaken(rows, report, false);
+            try {
+                insert(rows, roleId);
+            } catch (DataIntegrityViolationException again) {
+                rows.forEach(row -> report.fail(row, "Import failed: " + again.getMostSpecificCause().getMessage()));
+                return;
+            }
+        }
+        report.imported += rows.size();
+    }
+
+    /**
+     * Rows that are complete, have a valid email and whose username and email are not used by
+     * an earlier row of the batch. Earlier batches are already in the database.
+     */
+    private List<Row> validate(List<Row> batch, Report report) {
+        List<Row> valid = new ArrayList<>(batch.size());
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (Row row : batch) {
+            RegisterRequest request = row.request;
+            Set<ConstraintViolation<RegisterRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                ConstraintViolation<RegisterRequest> violation = violations.iterator().next();
+                report.fail(row, String.format("%s %s", violation.getPropertyPath(), violation.getMessage()));
+            } else if (!EMAIL.matcher(request.getEmail()).matches()) {
+                report.fail(row, String.format("Email %s is not valid", request.getEmail()));
+            } else if (usernames.contains(request.getUsername())) {
+                report.fail(row, String.format("Username %s is already exist", request.getUsername()));
+            } else if (emails.contains(request.getEmail())) {
+                report.fail(row, String.format("Email %s is already exist", request.getEmail()));
+            } else {
+                usernames.add(request.getUsername());
+                emails.add(request.getEmail());
+                valid.add(row);
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Rows whose username and email are free, found with one query for the rows the account
+     * filter cannot rule out, or for all rows when {@code useFilter} is {@code false}.
+     */
+    private List<Row> dropTaken(List<Row> rows, Report report, boolean useFilter) {
+        Set<String> logins = new HashSet<>();
+        for (Row row : rows) {
+            if (!useFilter || accountExistenceService.mightExist(row.request.getUsername())) {
+                logins.add(row.request.getUsername());
+            }
+            if (!useFilter || accountExistenceService.mightExist(row.request.getEmail())) {
+                logins.add(row.request.getEmail());
+            }
+        }
+        if (logins.isEmpty()) {
+            return rows;
+        }
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (AppUserLogin login : appUserRepository.findLogins(logins)) {
+            usernames.add(login.getUsername());
+            emails.add(login.getEmail());
+        }
+        List<Row> free = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (usernames.contains(row.request.getUsername())) {
+                report.fail(row, String.format("Username %s is already exist", row.request.getUsername()));
+            } else if (emails.contains(row.request.getEmail())) {
+                report.fail(row, String.format("Email %s is already exist", row.request.getEmail()));
+            } else {
+                free.add(row);
+            }
+        }
+        return free;
+    }
+
+    private void hash(List<Row> rows) {
+        List<ForkJoinTask<String>> hashes = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            String password = row.request.getPassword();
+            hashes.add(hashingPool.submit(() -> passwordEncoder.encode(password)));
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i).hash = hashes.get(i).join();
+        }
+    }
+
+    private void insert(List<Row> rows, Long roleId) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<AppUser> users = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            RegisterRequest request = row.request;
+            users.add(AppUser.builder()
+                    .firstName(request.getFirstName())
+                    .lastName(request.getLastName())
+                    .username(request.getUsername())
+                    .email(request.getEmail())
+                    .password(row.hash)
+                    .isEnabled(true)
+                    .build());
+            accountExistenceService.add(request.getUsername(), request.getEmail());
+        }
+        transactionTemplate.executeWithoutResult(status -> appUserRepository.insertAll(users, roleId));
+    }
+
+    private static final class Row {
+
+        private final long number;
+        private final RegisterRequest request;
+        private String hash;
+
+        private Row(long number, RegisterRequest request) {
+            this.number = number;
+            this.request = request;
+        }
+    }
+
+    private final class Report {
+
+        private long rows;
+        private long imported;
+        private long failed;
+        private final List<UserImportResponse.RowError> errors = new ArrayList<>();
+
+        private void fail(Row row, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new UserImportResponse.RowError(row.number, row.request.getUsername(), message));
+            }
+        }
+    }
+}
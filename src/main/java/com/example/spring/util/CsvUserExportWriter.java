@@ -0,0 +1,70 @@
+package com.example.spring.util;
+
+import com.example.spring.model.projection.AppUserSummary;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RFC 4180 CSV with a header line. Roles are joined with {@code ;} into one column.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+public class CsvUserExportWriter implements UserExportWriter {
+
+    private static final String HEADER = "id,firstName,lastName,username,email,enabled,locked,roles";
+    private static final String LINE_END = "\r\n";
+
+    private final Writer writer;
+
+    public CsvUserExportWriter(OutputStream out) throws IOException {
+        writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(HEADER);
+        writer.write(LINE_END);
+    }
+
+    @Override
+    public void write(AppUserSummary user) throws IOException {
+        writer.write(String.valueOf(user.getId()));
+        field(user.getFirstName());
+        field(user.getLastName());
+        field(user.getUsername());
+        field(user.getEmail());
+        field(String.valueOf(Boolean.TRUE.equals(user.getEnabled())));
+        field(String.valueOf(Boolean.TRUE.equals(user.getLocked())));
+        field(String.join(";", user.getRoles()));
+        writer.write(LINE_END);
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * Quoted only when it holds a separator, a quote or a line break.
+     */
+    private void field(String value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
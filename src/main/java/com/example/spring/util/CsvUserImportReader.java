@@ -0,0 +1,108 @@
+package com.example.spring.util;
+
+import com.example.spring.exception.ApiBadRequestException;
+import com.example.spring.model.requests.RegisterRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV whose header line names the columns, in any order: {@code firstName},
+ * {@code lastName}, {@code username}, {@code email} and {@code password}. Other columns are
+ * ignored and empty fields are read as missing.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+public class CsvUserImportReader implements UserImportReader {
+
+    private static final String[] COLUMNS = {"firstName", "lastName", "username", "email", "password"};
+
+    private final Reader reader;
+    private final int[] columns = new int[COLUMNS.length];
+
+    public CsvUserImportReader(InputStream in) throws IOException {
+        reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<String> header = readRecord();
+        for (int i = 0; i < COLUMNS.length; i++) {
+            columns[i] = header != null ? header.indexOf(COLUMNS[i]) : -1;
+            if (columns[i] < 0) {
+                throw new ApiBadRequestException(String.format("Missing CSV column %s", COLUMNS[i]));
+            }
+        }
+    }
+
+    @Override
+    public RegisterRequest next() throws IOException {
+        List<String> record;
+        do {
+            record = readRecord();
+        } while (record != null && record.size() == 1 && record.get(0).isEmpty());
+        if (record == null) {
+            return null;
+        }
+        return RegisterRequest.builder()
+                .firstName(field(record, 0))
+                .lastName(field(record, 1))
+                .username(field(record, 2))
+                .email(field(record, 3))
+                .password(field(record, 4))
+                .build();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String field(List<String> record, int column) {
+        int index = columns[column];
+        return index < record.size() && !record.get(index).isEmpty() ? record.get(index) : null;
+    }
+
+    /**
+     * The fields of the next line, quoted fields may span lines.
+     *
+     * @return {@code null} at the end of the input
+     */
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (quoted || (c != '\n' && c != -1)) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new ApiBadRequestException("Unterminated quoted CSV field");
+                }
+                if (c == '"') {
+                    c = reader.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
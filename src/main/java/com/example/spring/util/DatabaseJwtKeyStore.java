@@ -0,0 +1,127 @@
+package com.example.spring.util;
+
+import com.example.spring.model.domain.JwtSigningKey;
+import com.example.spring.repository.JwtSigningKeyRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Keys in the {@code jwt_signing_key} table, shared by every instance on the same database and
+ * kept across restarts. Private keys are encrypted with AES-GCM under the SHA-256 of
+ * {@code jwt-secret}, so the secret must be the same on every instance. Selected with
+ * {@code jwt-key-store: database}.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Component
+@ConditionalOnProperty(prefix = "parameter.value", name = "jwt-key-store", havingValue = "database")
+public class DatabaseJwtKeyStore implements JwtKeyStore {
+
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+
+    private final JwtSigningKeyRepository jwtSigningKeyRepository;
+    private final SecretKeySpec encryptionKey;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public DatabaseJwtKeyStore(JwtSigningKeyRepository jwtSigningKeyRepository,
+                               @Value("${parameter.value.jwt-secret}") String secret) {
+        this.jwtSigningKeyRepository = jwtSigningKeyRepository;
+        try {
+            this.encryptionKey = new SecretKeySpec(MessageDigest.getInstance("SHA-256")
+                    .digest(secret.getBytes(StandardCharsets.UTF_8)), "AES");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to derive the JWT key encryption key", e);
+        }
+    }
+
+    @Override
+    public List<StoredKey> load(String algorithm) {
+        List<StoredKey> keys = new ArrayList<>();
+        for (JwtSigningKey key : jwtSigningKeyRepository.findByAlgorithmOrderByGenerationDesc(algorithm)) {
+            keys.add(new StoredKey(key.getKid(), key.getGeneration(),
+                    key.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                    decode(algorithm, key)));
+        }
+        return keys;
+    }
+
+    @Override
+    public boolean add(String algorithm, StoredKey key) {
+        KeyPair keyPair = key.getKeyPair();
+        try {
+            jwtSigningKeyRepository.saveAndFlush(JwtSigningKey.builder()
+                    .kid(key.getKid())
+                    .algorithm(algorithm)
+                    .generation(key.getGeneration())
+                    .createdAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(key.getCreatedAt()), ZoneId.systemDefault()))
+                    .publicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()))
+                    .privateKey(Base64.getEncoder().encodeToString(encrypt(keyPair.getPrivate().getEncoded())))
+                    .build());
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void deleteBefore(String algorithm, long generation) {
+        jwtSigningKeyRepository.deleteBefore(algorithm, generation);
+    }
+
+    private KeyPair decode(String algorithm, JwtSigningKey key) {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(JwtKeyRing.RS256.equals(algorithm) ? "RSA" : "EC");
+            return new KeyPair(
+                    keyFactory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(key.getPublicKey()))),
+                    keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decrypt(Base64.getDecoder().decode(key.getPrivateKey())))));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to read JWT signing key " + key.getKid()
+                    + ", is jwt-secret the one it was stored with?", e);
+        }
+    }
+
+    /**
+     * Random IV followed by the ciphertext and tag.
+     */
+    private byte[] encrypt(byte[] plain) {
+        try {
+            byte[] iv = new byte[IV_LENGTH];
+            secureRandom.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, encryptionKey, new GCMParameterSpec(TAG_BITS, iv));
+            byte[] encrypted = cipher.doFinal(plain);
+            return ByteBuffer.allocate(iv.length + encrypted.length).put(iv).put(encrypted).array();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to encrypt JWT signing key", e);
+        }
+    }
+
+    private byte[] decrypt(byte[] stored) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, encryptionKey, new GCMParameterSpec(TAG_BITS, stored, 0, IV_LENGTH));
+        return cipher.doFinal(stored, IV_LENGTH, stored.length - IV_LENGTH);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.spring.util;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Keys held by this process only, for development: they are lost on restart, which invalidates
+ * every issued token, and each instance of a cluster gets its own. Selected with
+ * {@code jwt-key-store: memory}.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Component
+@ConditionalOnProperty(prefix = "parameter.value", name = "jwt-key-store", havingValue = "memory")
+public class InMemoryJwtKeyStore implements JwtKeyStore {
+
+    private final List<Entry> keys = new ArrayList<>();
+
+    @Override
+    public synchronized List<StoredKey> load(String algorithm) {
+        List<StoredKey> result = new ArrayList<>();
+        for (Entry entry : keys) {
+            if (entry.algorithm.equals(algorithm)) {
+                result.add(entry.key);
+            }
+        }
+        result.sort(Comparator.comparingLong(StoredKey::getGeneration).reversed());
+        return result;
+    }
+
+    @Override
+    public synchronized boolean add(String algorithm, StoredKey key) {
+        for (Entry entry : keys) {
+            if (entry.algorithm.equals(algorithm) && entry.key.getGeneration() == key.getGeneration()) {
+                return false;
+            }
+        }
+        keys.add(new Entry(algorithm, key));
+        return true;
+    }
+
+    @Override
+    public synchronized void deleteBefore(String algorithm, long generation) {
+        keys.removeIf(entry -> entry.algorithm.equals(algorithm) && entry.key.getGeneration() < generation);
+    }
+
+    private static final class Entry {
+        private final String algorithm;
+        private final StoredKey key;
+
+        private Entry(String algorithm, StoredKey key) {
+            this.algorithm = algorithm;
+            this.key = key;
+        }
+    }
+}
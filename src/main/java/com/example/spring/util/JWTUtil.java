@@ -1,6 +1,7 @@
 package com.example.spring.util;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
 import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
@@ -8,15 +9,22 @@ import com.auth0.jwt.exceptions.TokenExpiredException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.example.spring.exception.ApiBadRequestException;
 import com.example.spring.exception.ApiUnauthorizedException;
-import com.example.spring.model.domain.AppUser;
+import com.example.spring.model.domain.JwtPrincipal;
+import com.example.spring.model.response.LoginResponse;
 import com.example.spring.model.response.TokenResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
 import javax.servlet.http.HttpServletRequest;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import static org.springframework.http.HttpHeaders.AUTHORIZATION;
@@ -28,16 +36,36 @@ import static org.springframework.http.HttpHeaders.AUTHORIZATION;
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class JWTUtil {
 
-    @Value("${parameter.value.jwt-secret}")
-    private String SECRET;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final JwtKeyRing jwtKeyRing;
+
     @Value("${parameter.value.jwt-bearer}")
     private String BEARER;
     @Value("${parameter.value.jwt-access-token-expiration-time}")
     private Long ACCESS_TOKEN_EXPIRED;
     @Value("${parameter.value.jwt-refresh-token-expiration-time}")
     private Long REFRESH_TOKEN_EXPIRED;
+    @Value("${parameter.value.jwt-compact-roles}")
+    private boolean COMPACT_ROLES;
+
+    private Algorithm algorithm;
+    private JWTVerifier verifier;
+    private JwtMinter jwtMinter;
+
+    /**
+     * Algorithm and verifier are thread-safe, so build them once instead of on every decode.
+     */
+    @PostConstruct
+    public void init() {
+        this.algorithm = jwtKeyRing.getAlgorithm();
+        this.verifier = JWT.require(algorithm).build();
+        if (!jwtKeyRing.isAsymmetric()) {
+            this.jwtMinter = new JwtMinter(jwtKeyRing.getHmacSecret());
+        }
+    }
 
     public String getTokenFromRequest(HttpServletRequest request) {
         String authorizationHeader = request.getHeader(AUTHORIZATION);
@@ -48,38 +76,131 @@ public class JWTUtil {
         throw new ApiBadRequestException("Invalid token");
     }
 
-    public TokenResponse createAccessToken(AppUser user, HttpServletRequest request) {
-        return TokenResponse.builder()
-                .value(JWT.create()
-                        .withSubject(user.getUsername())
-                        .withExpiresAt(new Date(System.currentTimeMillis() + ACCESS_TOKEN_EXPIRED))
-                        .withIssuer(request.getRequestURI())
-                        .withClaim("roles", user.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.toList()))
-                        .sign(getAlgorithm()))
-                .expiredAt(new Date(System.currentTimeMillis() + ACCESS_TOKEN_EXPIRED))
+    /**
+     * Access and refresh token for one login or refresh, both stamped from the same clock reading.
+     *
+     * @param familyId       refresh token family the pair belongs to, see {@code RefreshTokenService}
+     * @param refreshTokenId {@code jti} of the new refresh token
+     */
+    public LoginResponse createTokens(UserDetails user, HttpServletRequest request, String familyId, String refreshTokenId) {
+        return createTokens(user, request.getRequestURI(), familyId, refreshTokenId);
+    }
+
+    /**
+     * Same as {@link #createTokens(UserDetails, HttpServletRequest, String, String)} for callers
+     * without a servlet request.
+     *
+     * @param issuer request path written to {@code iss}
+     */
+    public LoginResponse createTokens(UserDetails user, String issuer, String familyId, String refreshTokenId) {
+        long now = System.currentTimeMillis();
+        return LoginResponse.builder()
+                .accessToken(createAccessToken(user, issuer, now, familyId))
+                .refreshToken(createRefreshToken(user, issuer, now, familyId, refreshTokenId))
                 .build();
     }
 
-    public TokenResponse createRefreshToken(AppUser user, HttpServletRequest request) throws RuntimeException {
+    public TokenResponse createAccessToken(UserDetails user, HttpServletRequest request) {
+        return createAccessToken(user, request.getRequestURI(), System.currentTimeMillis(), null);
+    }
+
+    private TokenResponse createAccessToken(UserDetails user, String issuer, long now, String familyId) {
+        // exp is whole seconds, so round once and report exactly what was signed
+        long expiresAt = (now + ACCESS_TOKEN_EXPIRED) / 1000;
+        List<String> roles = user.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.toList());
+        // the bitmask only covers Role values, anything else keeps the string array
+        int roleMask = COMPACT_ROLES ? RoleAuthorities.mask(roles) : -1;
+        String tokenId = UUID.randomUUID().toString();
+        String value;
+        if (jwtMinter != null) {
+            value = jwtMinter.mint(user.getUsername(), issuer, expiresAt, roleMask < 0 ? roles : null, roleMask,
+                    JwtClaims.TOKEN_ID, tokenId, JwtClaims.FAMILY_ID, familyId);
+        } else {
+            JWTCreator.Builder builder = JWT.create()
+                    .withJWTId(tokenId)
+                    .withSubject(user.getUsername())
+                    .withExpiresAt(new Date(expiresAt * 1000))
+                    .withIssuer(issuer);
+            if (roleMask < 0) {
+                builder.withClaim(JwtClaims.ROLES, roles);
+            } else {
+                builder.withClaim(JwtClaims.ROLE_MASK, roleMask);
+            }
+            if (familyId != null) {
+                builder.withClaim(JwtClaims.FAMILY_ID, familyId);
+            }
+            value = builder.sign(algorithm);
+        }
         return TokenResponse.builder()
-                .value(JWT.create()
+                .value(value)
+                .expiredAt(new Date(expiresAt * 1000))
+                .build();
+    }
+
+    private TokenResponse createRefreshToken(UserDetails user, String issuer, long now, String familyId, String tokenId) {
+        long expiresAt = (now + REFRESH_TOKEN_EXPIRED) / 1000;
+        String value = jwtMinter != null
+                ? jwtMinter.mint(user.getUsername(), issuer, expiresAt, null, -1,
+                        JwtClaims.TOKEN_ID, tokenId, JwtClaims.TOKEN_TYPE, JwtClaims.REFRESH, JwtClaims.FAMILY_ID, familyId)
+                : JWT.create()
+                        .withJWTId(tokenId)
                         .withSubject(user.getUsername())
-                        .withExpiresAt(new Date(System.currentTimeMillis() + REFRESH_TOKEN_EXPIRED))
-                        .withIssuer(request.getRequestURI())
-                        .sign(getAlgorithm()))
-                .expiredAt(new Date(System.currentTimeMillis() + REFRESH_TOKEN_EXPIRED))
+                        .withExpiresAt(new Date(expiresAt * 1000))
+                        .withIssuer(issuer)
+                        .withClaim(JwtClaims.TOKEN_TYPE, JwtClaims.REFRESH)
+                        .withClaim(JwtClaims.FAMILY_ID, familyId)
+                        .sign(algorithm);
+        return TokenResponse.builder()
+                .value(value)
+                .expiredAt(new Date(expiresAt * 1000))
                 .build();
     }
 
+    /**
+     * Verify the token once and expose its claims as an immutable principal.
+     * Tokens seen before are served from the {@link VerifiedTokenCache} until they expire.
+     */
+    public JwtPrincipal verify(String token) {
+        JwtPrincipal cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        DecodedJWT decodedJWT = getDecodedJWT(token);
+        RoleAuthorities.RoleSet roles = getRoleSet(decodedJWT);
+        JwtPrincipal principal = JwtPrincipal.builder()
+                .tokenId(decodedJWT.getId())
+                .tokenType(decodedJWT.getClaim(JwtClaims.TOKEN_TYPE).asString())
+                .familyId(decodedJWT.getClaim(JwtClaims.FAMILY_ID).asString())
+                .username(decodedJWT.getSubject())
+                .roles(roles.getNames())
+                .authorities(roles.getAuthorities())
+                .expiresAt(decodedJWT.getExpiresAt())
+                .build();
+        verifiedTokenCache.put(token, principal);
+        return principal;
+    }
+
     public String getUsernameByToken(String token) {
         return getDecodedJWT(token)
                 .getSubject();
     }
 
     public String[] getRolesByToken(String token) {
-        return getDecodedJWT(token)
-                .getClaim("roles")
-                .asArray(String.class);
+        return getRoleSet(getDecodedJWT(token))
+                .getNames()
+                .toArray(new String[0]);
+    }
+
+    /**
+     * Roles from the compact {@code rb} bitmask, or from the {@code roles} array of older tokens.
+     */
+    private RoleAuthorities.RoleSet getRoleSet(DecodedJWT decodedJWT) {
+        Integer roleMask = decodedJWT.getClaim(JwtClaims.ROLE_MASK).asInt();
+        if (roleMask != null) {
+            return RoleAuthorities.fromMask(roleMask);
+        }
+        List<String> roles = decodedJWT.getClaim(JwtClaims.ROLES).asList(String.class);
+        return RoleAuthorities.fromNames(roles != null ? roles : Collections.<String>emptyList());
     }
 
     public boolean isTokenExpired(String token) {
@@ -98,8 +219,6 @@ public class JWTUtil {
 
     public DecodedJWT getDecodedJWT(String token) {
         try {
-            Algorithm algorithm = getAlgorithm();
-            JWTVerifier verifier = JWT.require(algorithm).build();
             return verifier.verify(token);
         } catch (TokenExpiredException e) {
             throw new ApiUnauthorizedException("Token expired : " + e.getMessage());
@@ -109,6 +228,6 @@ public class JWTUtil {
     }
 
     public Algorithm getAlgorithm() {
-        return Algorithm.HMAC256(SECRET);
+        return algorithm;
     }
 }
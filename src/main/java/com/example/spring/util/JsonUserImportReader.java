@@ -0,0 +1,58 @@
+package com.example.spring.util;
+
+import com.example.spring.model.requests.RegisterRequest;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A JSON array of users, or one user object after another (NDJSON), read token by token.
+ * Objects have the fields of {@link RegisterRequest}; other fields are ignored.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+public class JsonUserImportReader implements UserImportReader {
+
+    private static final ObjectReader READER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .readerFor(RegisterRequest.class);
+
+    private final JsonParser parser;
+    private boolean started;
+    private boolean array;
+
+    public JsonUserImportReader(InputStream in) throws IOException {
+        parser = READER.getFactory().createParser(in);
+    }
+
+    @Override
+    public RegisterRequest next() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (!started) {
+            started = true;
+            array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+        }
+        if (token == null || (array && token == JsonToken.END_ARRAY)) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a user object but found " + token);
+        }
+        return READER.readValue(parser);
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.spring.util;
+
+/**
+ * Names of the custom claims this service puts in its tokens.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+public final class JwtClaims {
+
+    public static final String TOKEN_ID = "jti";
+    public static final String TOKEN_TYPE = "token_type";
+    public static final String FAMILY_ID = "fam";
+    public static final String REFRESH = "refresh";
+    public static final String ROLES = "roles";
+    public static final String ROLE_MASK = "rb";
+
+    private JwtClaims() {
+    }
+}
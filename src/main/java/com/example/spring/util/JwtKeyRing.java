@@ -0,0 +1,348 @@
+package com.example.spring.util;
+
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.ECDSAKeyProvider;
+import com.auth0.jwt.interfaces.RSAKeyProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Signing keys for access and refresh tokens.
+ * <p>
+ * {@code HS256} keeps the single shared secret. {@code RS256} and {@code ES256} use a ring of
+ * key pairs read from a {@link JwtKeyStore} shared by all instances: index 0 is the next key
+ * (already published so JWKS caches learn it before it signs anything), index 1 signs, and the
+ * rest only verify tokens issued before the last rotations. A key that stopped signing is kept
+ * until the longest-lived token it may have signed has expired. Every signed token carries the
+ * {@code kid} of its key.
+ * <p>
+ * Each instance reloads the ring every {@code jwt-key-refresh-interval} and rotates once the next
+ * key is older than {@code jwt-key-rotation-interval}; concurrent rotations from several
+ * instances store a single key per generation.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Slf4j
+@Component
+public class JwtKeyRing {
+
+    public static final String HS256 = "HS256";
+    public static final String RS256 = "RS256";
+    public static final String ES256 = "ES256";
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final String algorithmName;
+    private final byte[] secret;
+    private final long rotationInterval;
+    private final long maxTokenLifetime;
+    private final JwtKeyStore keyStore;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final Clock clock;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(Collections.emptyList()));
+    private final Algorithm algorithm;
+
+    @Autowired
+    public JwtKeyRing(@Value("${parameter.value.jwt-algorithm}") String algorithmName,
+                      @Value("${parameter.value.jwt-secret}") String secret,
+                      @Value("${parameter.value.jwt-key-rotation-interval}") long rotationInterval,
+                      @Value("${parameter.value.jwt-access-token-expiration-time}") long accessTokenLifetime,
+                      @Value("${parameter.value.jwt-refresh-token-expiration-time}") long refreshTokenLifetime,
+                      ObjectProvider<JwtKeyStore> keyStore,
+                      VerifiedTokenCache verifiedTokenCache) {
+        this(algorithmName, secret, rotationInterval, Math.max(accessTokenLifetime, refreshTokenLifetime),
+                keyStore.getIfAvailable(), verifiedTokenCache, Clock.systemUTC());
+    }
+
+    /**
+     * @param keyStore only needed for {@code RS256} and {@code ES256}
+     */
+    public JwtKeyRing(String algorithmName, String secret, long rotationInterval, long maxTokenLifetime,
+                      JwtKeyStore keyStore, VerifiedTokenCache verifiedTokenCache, Clock clock) {
+        this.algorithmName = algorithmName;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.rotationInterval = rotationInterval;
+        this.maxTokenLifetime = maxTokenLifetime;
+        this.keyStore = keyStore;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.clock = clock;
+        switch (algorithmName) {
+            case HS256:
+                this.algorithm = Algorithm.HMAC256(secret);
+                break;
+            case RS256:
+                requireKeyStore();
+                refresh();
+                this.algorithm = Algorithm.RSA256(new RingRSAKeyProvider());
+                break;
+            case ES256:
+                requireKeyStore();
+                refresh();
+                this.algorithm = Algorithm.ECDSA256(new RingECDSAKeyProvider());
+                break;
+            default:
+                throw new IllegalStateException("Unsupported JWT algorithm: " + algorithmName
+                        + ", expected one of " + HS256 + ", " + RS256 + ", " + ES256);
+        }
+    }
+
+    public String getAlgorithmName() {
+        return algorithmName;
+    }
+
+    public boolean isAsymmetric() {
+        return !HS256.equals(algorithmName);
+    }
+
+    /**
+     * Raw HMAC key, only meaningful for {@code HS256}.
+     */
+    public byte[] getHmacSecret() {
+        return secret.clone();
+    }
+
+    /**
+     * Thread-safe and key-ring aware, so one instance signs and verifies across rotations.
+     */
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Public keys of the ring as a JWK Set, empty for {@code HS256}.
+     */
+    public Map<String, Object> getJwks() {
+        return snapshot.get().jwks;
+    }
+
+    @Scheduled(
+            initialDelayString = "${parameter.value.jwt-key-refresh-interval}",
+            fixedDelayString = "${parameter.value.jwt-key-refresh-interval}")
+    public void scheduledRefresh() {
+        if (isAsymmetric()) {
+            refresh();
+        }
+    }
+
+    /**
+     * Reload the ring from the store, picking up rotations of other instances, and rotate when
+     * the next key has been published for a whole rotation interval.
+     */
+    public synchronized void refresh() {
+        List<JwtKeyStore.StoredKey> keys = keyStore.load(algorithmName);
+        if (keys.size() < 2 || keys.get(0).getCreatedAt() + rotationInterval <= clock.millis()) {
+            rotate();
+        } else {
+            publish(retained(keys));
+        }
+    }
+
+    /**
+     * Promote the published next key to signing key and publish a fresh next key.
+     */
+    public synchronized void rotate() {
+        List<JwtKeyStore.StoredKey> keys = keyStore.load(algorithmName);
+        long generation = keys.isEmpty() ? 1 : keys.get(0).getGeneration() + 1;
+        if (!keyStore.add(algorithmName, generate(generation))) {
+            log.info("JWT key generation {} was stored by another instance", generation);
+        }
+        keys = keyStore.load(algorithmName);
+        if (keys.size() < 2) {
+            // first start: the signing key and the next one
+            rotate();
+            return;
+        }
+        List<JwtKeyStore.StoredKey> retained = retained(keys);
+        if (retained.size() < keys.size()) {
+            keyStore.deleteBefore(algorithmName, retained.get(retained.size() - 1).getGeneration());
+        }
+        publish(retained);
+        log.info("JWT signing key is now {}, next key {}", retained.get(1).getKid(), retained.get(0).getKid());
+    }
+
+    /**
+     * The next and the signing key, then every older key that stopped signing less than the
+     * longest token lifetime ago. Key {@code i} stopped signing when key {@code i - 2} was
+     * created, which made key {@code i - 1} the signing key.
+     */
+    private List<JwtKeyStore.StoredKey> retained(List<JwtKeyStore.StoredKey> keys) {
+        long now = clock.millis();
+        int size = 2;
+        while (size < keys.size() && keys.get(size - 2).getCreatedAt() + maxTokenLifetime > now) {
+            size++;
+        }
+        return keys.subList(0, size);
+    }
+
+    private void publish(List<JwtKeyStore.StoredKey> keys) {
+        Snapshot previous = snapshot.get();
+        Snapshot next = new Snapshot(keys);
+        snapshot.set(next);
+        for (JwtKeyStore.StoredKey key : previous.keys) {
+            if (next.publicKey(key.getKid()) == null) {
+                log.info("Retiring JWT signing key {}", key.getKid());
+                // tokens of the dropped key must not keep verifying from the cache
+                verifiedTokenCache.invalidateAll();
+                break;
+            }
+        }
+    }
+
+    private void requireKeyStore() {
+        if (keyStore == null) {
+            throw new IllegalStateException("jwt-algorithm " + algorithmName + " needs a shared key store, set "
+                    + "jwt-key-store to database (or memory for a single development instance)");
+        }
+    }
+
+    private JwtKeyStore.StoredKey generate(long generation) {
+        try {
+            KeyPairGenerator generator;
+            if (RS256.equals(algorithmName)) {
+                generator = KeyPairGenerator.getInstance("RSA");
+                generator.initialize(2048, secureRandom);
+            } else {
+                generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"), secureRandom);
+            }
+            byte[] id = new byte[12];
+            secureRandom.nextBytes(id);
+            return new JwtKeyStore.StoredKey(BASE64_URL.encodeToString(id), generation, clock.millis(),
+                    generator.generateKeyPair());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to generate " + algorithmName + " key pair", e);
+        }
+    }
+
+    private JwtKeyStore.StoredKey signingKey() {
+        return snapshot.get().keys.get(1);
+    }
+
+    private PublicKey publicKey(String kid) {
+        return snapshot.get().publicKey(kid);
+    }
+
+    private Map<String, Object> toJwk(JwtKeyStore.StoredKey key) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        PublicKey publicKey = key.getKeyPair().getPublic();
+        if (publicKey instanceof RSAPublicKey) {
+            RSAPublicKey rsa = (RSAPublicKey) publicKey;
+            jwk.put("kty", "RSA");
+            jwk.put("use", "sig");
+            jwk.put("alg", RS256);
+            jwk.put("kid", key.getKid());
+            jwk.put("n", BASE64_URL.encodeToString(unsigned(rsa.getModulus(), 0)));
+            jwk.put("e", BASE64_URL.encodeToString(unsigned(rsa.getPublicExponent(), 0)));
+        } else {
+            ECPublicKey ec = (ECPublicKey) publicKey;
+            jwk.put("kty", "EC");
+            jwk.put("use", "sig");
+            jwk.put("alg", ES256);
+            jwk.put("kid", key.getKid());
+            jwk.put("crv", "P-256");
+            jwk.put("x", BASE64_URL.encodeToString(unsigned(ec.getW().getAffineX(), 32)));
+            jwk.put("y", BASE64_URL.encodeToString(unsigned(ec.getW().getAffineY(), 32)));
+        }
+        return jwk;
+    }
+
+    /**
+     * Big-endian magnitude without the sign byte, left padded to {@code length} when given.
+     */
+    private static byte[] unsigned(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        int offset = bytes.length > 1 && bytes[0] == 0 ? 1 : 0;
+        int size = Math.max(length, bytes.length - offset);
+        byte[] result = new byte[size];
+        System.arraycopy(bytes, offset, result, size - (bytes.length - offset), bytes.length - offset);
+        return result;
+    }
+
+    private final class Snapshot {
+        private final List<JwtKeyStore.StoredKey> keys;
+        private final Map<String, Object> jwks;
+
+        private Snapshot(List<JwtKeyStore.StoredKey> keys) {
+            this.keys = Collections.unmodifiableList(new ArrayList<>(keys));
+            List<Map<String, Object>> jwkList = new ArrayList<>();
+            for (JwtKeyStore.StoredKey key : keys) {
+                jwkList.add(Collections.unmodifiableMap(toJwk(key)));
+            }
+            this.jwks = Collections.singletonMap("keys", Collections.unmodifiableList(jwkList));
+        }
+
+        private PublicKey publicKey(String kid) {
+            if (kid == null) {
+                return null;
+            }
+            for (JwtKeyStore.StoredKey key : keys) {
+                if (key.getKid().equals(kid)) {
+                    return key.getKeyPair().getPublic();
+                }
+            }
+            return null;
+        }
+    }
+
+    private final class RingRSAKeyProvider implements RSAKeyProvider {
+
+        @Override
+        public RSAPublicKey getPublicKeyById(String keyId) {
+            return (RSAPublicKey) publicKey(keyId);
+        }
+
+        @Override
+        public RSAPrivateKey getPrivateKey() {
+            return (RSAPrivateKey) signingKey().getKeyPair().getPrivate();
+        }
+
+        @Override
+        public String getPrivateKeyId() {
+            return signingKey().getKid();
+        }
+    }
+
+    private final class RingECDSAKeyProvider implements ECDSAKeyProvider {
+
+        @Override
+        public ECPublicKey getPublicKeyById(String keyId) {
+            return (ECPublicKey) publicKey(keyId);
+        }
+
+        @Override
+        public ECPrivateKey getPrivateKey() {
+            return (ECPrivateKey) signingKey().getKeyPair().getPrivate();
+        }
+
+        @Override
+        public String getPrivateKeyId() {
+            return signingKey().getKid();
+        }
+    }
+}
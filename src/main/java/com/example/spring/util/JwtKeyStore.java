@@ -0,0 +1,44 @@
+package com.example.spring.util;
+
+import lombok.Value;
+
+import java.security.KeyPair;
+import java.util.List;
+
+/**
+ * Where {@link JwtKeyRing} keeps its {@code RS256} / {@code ES256} key pairs. Every instance that
+ * verifies tokens must read the same store, otherwise it rejects tokens signed elsewhere.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+public interface JwtKeyStore {
+
+    /**
+     * Keys of {@code algorithm}, newest generation first.
+     */
+    List<StoredKey> load(String algorithm);
+
+    /**
+     * @return {@code false} when a key of the same generation was stored first, e.g. by another
+     * instance rotating at the same time
+     */
+    boolean add(String algorithm, StoredKey key);
+
+    /**
+     * Deletes the keys of {@code algorithm} older than {@code generation}.
+     */
+    void deleteBefore(String algorithm, long generation);
+
+    @Value
+    class StoredKey {
+
+        String kid;
+        long generation;
+        /**
+         * Epoch millis; the key signs from the next rotation on.
+         */
+        long createdAt;
+        KeyPair keyPair;
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.spring.util;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * HS256 token writer for the login and refresh hot path.
+ * <p>
+ * The header is encoded once, the claims are written as JSON straight into a per-thread byte
+ * buffer, base64url-encoded in place and signed with a per-thread {@link Mac}, so minting a
+ * token allocates little more than the resulting {@link String}. Tokens are plain compact
+ * JWS and verify with the auth0 {@code JWTVerifier} like any other HS256 token.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+public class JwtMinter {
+
+    private static final String HMAC_SHA256 = "HmacSHA256";
+    private static final byte[] HEADER = Base64.getUrlEncoder().withoutPadding()
+            .encode("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.US_ASCII));
+    private static final byte[] BASE64_URL = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+    private final ThreadLocal<Buffers> buffers = ThreadLocal.withInitial(Buffers::new);
+
+    public JwtMinter(byte[] secret) {
+        this.key = new SecretKeySpec(secret, HMAC_SHA256);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        newMac();
+    }
+
+    /**
+     * @param expiresAt expiry in epoch seconds, exactly as it ends up in the {@code exp} claim
+     * @param roles     {@code roles} claim, omitted when {@code null}
+     * @param roleMask  compact {@code rb} role claim, omitted when negative
+     * @param claims    extra string claims as name/value pairs, {@code null} values are skipped
+     */
+    public String mint(String subject, String issuer, long expiresAt, List<String> roles, int roleMask, String... claims) {
+        Buffers buffers = this.buffers.get();
+        ByteBuffer json = buffers.json;
+        json.reset();
+        json.put('{');
+        json.putString("sub").put(':').putString(subject);
+        if (roles != null) {
+            json.put(',').putString("roles").put(':').put('[');
+            for (int i = 0; i < roles.size(); i++) {
+                if (i > 0) {
+                    json.put(',');
+                }
+                json.putString(roles.get(i));
+            }
+            json.put(']');
+        }
+        if (roleMask >= 0) {
+            json.put(',').putString(JwtClaims.ROLE_MASK).put(':').putLong(roleMask);
+        }
+        if (issuer != null) {
+            json.put(',').putString("iss").put(':').putString(issuer);
+        }
+        for (int i = 0; i + 1 < claims.length; i += 2) {
+            if (claims[i + 1] != null) {
+                json.put(',').putString(claims[i]).put(':').putString(claims[i + 1]);
+            }
+        }
+        json.put(',').putString("exp").put(':').putLong(expiresAt);
+        json.put('}');
+
+        ByteBuffer token = buffers.token;
+        token.reset();
+        token.put(HEADER, 0, HEADER.length);
+        token.put('.');
+        token.putBase64Url(json.bytes, 0, json.length);
+
+        Mac mac = macs.get();
+        mac.update(token.bytes, 0, token.length);
+        try {
+            mac.doFinal(buffers.signature, 0);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+        token.put('.');
+        token.putBase64Url(buffers.signature, 0, buffers.signature.length);
+        return new String(token.bytes, 0, token.length, StandardCharsets.ISO_8859_1);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_SHA256);
+            mac.init(key);
+            return mac;
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("Unable to initialise " + HMAC_SHA256, e);
+        }
+    }
+
+    private static final class Buffers {
+        private final ByteBuffer json = new ByteBuffer(256);
+        private final ByteBuffer token = new ByteBuffer(512);
+        private final byte[] signature = new byte[32];
+    }
+
+    /**
+     * Growable byte array with just the writers a JWT needs.
+     */
+    private static final class ByteBuffer {
+        private byte[] bytes;
+        private int length;
+
+        private ByteBuffer(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        private void reset() {
+            length = 0;
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+
+        private ByteBuffer put(char c) {
+            ensure(1);
+            bytes[length++] = (byte) c;
+            return this;
+        }
+
+        private ByteBuffer put(byte[] src, int offset, int len) {
+            ensure(len);
+            System.arraycopy(src, offset, bytes, length, len);
+            length += len;
+            return this;
+        }
+
+        private ByteBuffer putLong(long value) {
+            String digits = Long.toString(value);
+            ensure(digits.length());
+            for (int i = 0; i < digits.length(); i++) {
+                bytes[length++] = (byte) digits.charAt(i);
+            }
+            return this;
+        }
+
+        /**
+         * JSON string literal, UTF-8 encoded, with quotes, backslashes and control characters escaped.
+         */
+        private ByteBuffer putString(String value) {
+            ensure(value.length() * 3 + 2);
+            bytes[length++] = '"';
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    ensure(2);
+                    bytes[length++] = '\\';
+                    bytes[length++] = (byte) c;
+                } else if (c < 0x20) {
+                    ensure(6);
+                    bytes[length++] = '\\';
+                    bytes[length++] = 'u';
+                    bytes[length++] = '0';
+                    bytes[length++] = '0';
+                    bytes[length++] = HEX[c >> 4];
+                    bytes[length++] = HEX[c & 0xF];
+                } else if (c < 0x80) {
+                    bytes[length++] = (byte) c;
+                } else if (c < 0x800) {
+                    bytes[length++] = (byte) (0xC0 | (c >> 6));
+                    bytes[length++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    ensure(4);
+                    bytes[length++] = (byte) (0xF0 | (codePoint >> 18));
+                    bytes[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    bytes[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    bytes[length++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    bytes[length++] = '?';
+                } else {
+                    bytes[length++] = (byte) (0xE0 | (c >> 12));
+                    bytes[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    bytes[length++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            ensure(1);
+            bytes[length++] = '"';
+            return this;
+        }
+
+        private void putBase64Url(byte[] src, int offset, int len) {
+            ensure((len + 2) / 3 * 4);
+            int end = offset + len - len % 3;
+            int i = offset;
+            while (i < end) {
+                int bits = (src[i++] & 0xFF) << 16 | (src[i++] & 0xFF) << 8 | (src[i++] & 0xFF);
+                bytes[length++] = BASE64_URL[(bits >>> 18) & 0x3F];
+                bytes[length++] = BASE64_URL[(bits >>> 12) & 0x3F];
+                bytes[length++] = BASE64_URL[(bits >>> 6) & 0x3F];
+                bytes[length++] = BASE64_URL[bits & 0x3F];
+            }
+            int remaining = offset + len - end;
+            if (remaining == 1) {
+                int bits = (src[i] & 0xFF) << 16;
+                bytes[length++] = BASE64_URL[(bits >>> 18) & 0x3F];
+                bytes[length++] = BASE64_URL[(bits >>> 12) & 0x3F];
+            } else if (remaining == 2) {
+                int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8;
+                bytes[length++] = BASE64_URL[(bits >>> 18) & 0x3F];
+                bytes[length++] = BASE64_URL[(bits >>> 12) & 0x3F];
+                bytes[length++] = BASE64_URL[(bits >>> 6) & 0x3F];
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.spring.util;
+
+import com.example.spring.exception.ApiBadRequestException;
+import com.example.spring.model.requests.UserSort;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque position in the user listing: the sort key, its direction and the key of the last user
+ * returned, base64url encoded. Clients only pass it back; a cursor is rejected when it was issued
+ * for another sort order.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Value
+public class KeysetCursor {
+
+    private static final char SEPARATOR = ':';
+
+    UserSort sort;
+    boolean descending;
+    Object after;
+
+    public String encode() {
+        String plain = sort.getAttribute() + SEPARATOR + (descending ? 'd' : 'a') + SEPARATOR + after;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(plain.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor, UserSort sort, boolean descending) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(String.valueOf(SEPARATOR), 3);
+            if (parts.length == 3 && parts[0].equals(sort.getAttribute())
+                    && parts[1].equals(descending ? "d" : "a")) {
+                return new KeysetCursor(sort, descending, sort.parse(parts[2]));
+            }
+        } catch (IllegalArgumentException e) {
+            // malformed base64 or key, same answer as a cursor of another sort order
+        }
+        throw new ApiBadRequestException("Invalid cursor for this sort order");
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.spring.util;
+
+import com.example.spring.model.projection.AppUserSummary;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * One JSON object per line, with the fields of the user listing.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+public class NdjsonUserExportWriter implements UserExportWriter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonGenerator generator;
+
+    public NdjsonUserExportWriter(OutputStream out) throws IOException {
+        generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                // lines are ended below, not separated by spaces
+                .setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(AppUserSummary user) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", user.getId());
+        generator.writeStringField("firstName", user.getFirstName());
+        generator.writeStringField("lastName", user.getLastName());
+        generator.writeStringField("username", user.getUsername());
+        generator.writeStringField("email", user.getEmail());
+        generator.writeBooleanField("enabled", Boolean.TRUE.equals(user.getEnabled()));
+        generator.writeBooleanField("locked", Boolean.TRUE.equals(user.getLocked()));
+        generator.writeArrayFieldStart("roles");
+        for (String role : user.getRoles()) {
+            generator.writeString(role);
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.spring.util;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Password encoders and the startup calibration of their cost.
+ * <p>
+ * Stored hashes carry an {@code {id}} prefix naming their algorithm, so bcrypt, PBKDF2 and Argon2
+ * hashes verify side by side and only new hashes use the configured algorithm. Hashes written
+ * before the prefix existed are plain bcrypt and still match. A hash whose algorithm or cost is
+ * behind the current settings reports {@link PasswordEncoder#upgradeEncoding}, which is what lets
+ * a successful login store a fresh one.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+public final class PasswordHashing {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String PBKDF2 = "pbkdf2";
+    public static final String ARGON2 = "argon2";
+
+    private static final int MAX_BCRYPT_STRENGTH = 31;
+    private static final int MAX_ARGON2_ITERATIONS = 64;
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "calibration-sample";
+
+    private PasswordHashing() {
+    }
+
+    public static PasswordEncoder delegating(String idForEncode, int bcryptStrength, int pbkdf2Iterations,
+                                             int argon2Iterations, int argon2Memory) {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, bcrypt(bcryptStrength));
+        encoders.put(PBKDF2, pbkdf2(pbkdf2Iterations));
+        encoders.put(ARGON2, argon2(argon2Iterations, argon2Memory));
+        if (!encoders.containsKey(idForEncode)) {
+            throw new IllegalArgumentException("Unknown password encoder: " + idForEncode);
+        }
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(idForEncode, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(encoders.get(BCRYPT));
+        return encoder;
+    }
+
+    public static PasswordEncoder bcrypt(int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    public static PasswordEncoder pbkdf2(int iterations) {
+        Pbkdf2PasswordEncoder encoder = new Pbkdf2PasswordEncoder("", 16, iterations, 256);
+        encoder.setAlgorithm(Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+        return encoder;
+    }
+
+    public static PasswordEncoder argon2(int iterations, int memory) {
+        return new Argon2PasswordEncoder(16, 32, 1, memory, iterations);
+    }
+
+    /**
+     * Highest bcrypt strength whose hash still fits in {@code targetMillis}, never below
+     * {@code minStrength}. Each extra round doubles the cost, so one measurement is enough.
+     */
+    public static int calibrateBcrypt(long targetMillis, int minStrength) {
+        int strength = minStrength;
+        double millis = measure(bcrypt(strength));
+        while (strength < MAX_BCRYPT_STRENGTH && millis * 2 <= targetMillis) {
+            strength++;
+            millis *= 2;
+        }
+        return strength;
+    }
+
+    /**
+     * Highest Argon2 pass count whose hash still fits in {@code targetMillis}, never below
+     * {@code minIterations}. The cost grows linearly with the passes at a fixed memory size.
+     */
+    public static int calibrateArgon2(long targetMillis, int minIterations, int memory) {
+        double millis = measure(argon2(minIterations, memory));
+        long iterations = (long) (minIterations * (targetMillis / millis));
+        return (int) Math.max(minIterations, Math.min(MAX_ARGON2_ITERATIONS, iterations));
+    }
+
+    /**
+     * Fastest of a few hashes after one warm-up, in milliseconds; the minimum is the least
+     * disturbed by whatever else runs during startup.
+     */
+    static double measure(PasswordEncoder encoder) {
+        encoder.encode(SAMPLE_PASSWORD);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000.0;
+    }
+}
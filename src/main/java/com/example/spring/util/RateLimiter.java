@@ -0,0 +1,86 @@
+package com.example.spring.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket per key: {@code requests} tokens that refill evenly over {@code period}.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding the time at which it will be full again
+ * (the generic cell rate algorithm), so a permit is one compare-and-set on the key's own counter
+ * and a rejection is a plain read. Buckets live in a {@link ConcurrentHashMap}, so there is no
+ * lock shared between keys. Full buckets hold no state worth keeping and are dropped by
+ * {@link #evictIdle()}.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+public class RateLimiter {
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final LongAdder rejected = new LongAdder();
+    private final LongSupplier nanoClock;
+    private final long interval;
+    private final long capacity;
+
+    public RateLimiter(int requests, long periodMillis) {
+        this(requests, periodMillis, System::nanoTime);
+    }
+
+    RateLimiter(int requests, long periodMillis, LongSupplier nanoClock) {
+        if (requests < 1 || periodMillis < 1) {
+            throw new IllegalArgumentException("Rate limit needs at least one request per millisecond period");
+        }
+        this.nanoClock = nanoClock;
+        this.interval = TimeUnit.MILLISECONDS.toNanos(periodMillis) / requests;
+        this.capacity = interval * requests;
+    }
+
+    /**
+     * Takes one token from the bucket of {@code key}.
+     *
+     * @return {@code 0} when the request may proceed, otherwise the nanoseconds until a token is free
+     */
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long fullAt = bucket.get();
+            long next = (fullAt - now > 0 ? fullAt : now) + interval;
+            long wait = next - now - capacity;
+            if (wait > 0) {
+                rejected.increment();
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops the buckets that have refilled completely; they behave exactly like a new bucket. A
+     * request racing the removal may still update the dropped bucket, which can let one extra
+     * request through for that key.
+     */
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        return before - buckets.size();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.spring.util;
+
+import com.example.spring.model.domain.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Maps role combinations to a bitmask over {@link Role#ordinal()} and back.
+ * <p>
+ * Every combination of {@link Role} values is precomputed once into shared, immutable name and
+ * authority lists, so decoding the roles of a token is a table lookup instead of building new
+ * {@link SimpleGrantedAuthority} objects per request.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+public final class RoleAuthorities {
+
+    private static final Role[] ROLES = Role.values();
+    private static final RoleSet[] TABLE = new RoleSet[1 << ROLES.length];
+
+    static {
+        for (int mask = 0; mask < TABLE.length; mask++) {
+            List<String> names = new ArrayList<>();
+            List<GrantedAuthority> authorities = new ArrayList<>();
+            for (Role role : ROLES) {
+                if ((mask & bit(role)) != 0) {
+                    names.add(role.name());
+                    authorities.add(new SimpleGrantedAuthority(role.name()));
+                }
+            }
+            TABLE[mask] = new RoleSet(Collections.unmodifiableList(names), Collections.unmodifiableList(authorities));
+        }
+    }
+
+    private RoleAuthorities() {
+    }
+
+    public static int bit(Role role) {
+        return 1 << role.ordinal();
+    }
+
+    /**
+     * Bitmask for the given role names, or {@code -1} when one of them is not a {@link Role}.
+     */
+    public static int mask(Collection<String> roleNames) {
+        int mask = 0;
+        for (String roleName : roleNames) {
+            Role role = find(roleName);
+            if (role == null) {
+                return -1;
+            }
+            mask |= bit(role);
+        }
+        return mask;
+    }
+
+    public static RoleSet fromMask(int mask) {
+        if (mask < 0 || mask >= TABLE.length) {
+            throw new IllegalArgumentException("Unknown role mask: " + mask);
+        }
+        return TABLE[mask];
+    }
+
+    /**
+     * Shared entry for known role names; unknown names still work but get their own lists.
+     */
+    public static RoleSet fromNames(List<String> roleNames) {
+        int mask = mask(roleNames);
+        if (mask >= 0) {
+            return TABLE[mask];
+        }
+        List<GrantedAuthority> authorities = new ArrayList<>(roleNames.size());
+        for (String roleName : roleNames) {
+            authorities.add(new SimpleGrantedAuthority(roleName));
+        }
+        return new RoleSet(Collections.unmodifiableList(new ArrayList<>(roleNames)), Collections.unmodifiableList(authorities));
+    }
+
+    private static Role find(String roleName) {
+        for (Role role : ROLES) {
+            if (role.name().equals(roleName)) {
+                return role;
+            }
+        }
+        return null;
+    }
+
+    public static final class RoleSet {
+        private final List<String> names;
+        private final List<GrantedAuthority> authorities;
+
+        private RoleSet(List<String> names, List<GrantedAuthority> authorities) {
+            this.names = names;
+            this.authorities = authorities;
+        }
+
+        public List<String> getNames() {
+            return names;
+        }
+
+        public List<GrantedAuthority> getAuthorities() {
+            return authorities;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.spring.util;
+
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Access level of every route, compiled once into a segment trie.
+ * <p>
+ * Patterns are absolute paths whose segments are literals, {@code *} (exactly one segment) or a
+ * trailing {@code **} (zero or more segments). A lookup walks the request path once, preferring
+ * literal over {@code *} over {@code **} at every level, so the most specific route wins
+ * regardless of declaration order. Paths no route matches get the default access.
+ * <p>
+ * The result is remembered on the request, so the JWT filter and the Spring Security rules
+ * share a single lookup.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+public final class RouteSecurityTable {
+
+    public enum Access {
+        PUBLIC,
+        AUTHENTICATED,
+        ADMIN
+    }
+
+    private static final String ATTRIBUTE = RouteSecurityTable.class.getName();
+
+    private final Node root;
+    private final Access defaultAccess;
+    private final int routeCount;
+
+    private RouteSecurityTable(Node root, Access defaultAccess, int routeCount) {
+        this.root = root;
+        this.defaultAccess = defaultAccess;
+        this.routeCount = routeCount;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getRouteCount() {
+        return routeCount;
+    }
+
+    public Access lookup(String path) {
+        Access access = match(root, path, skipSlashes(path, 0));
+        return access != null ? access : defaultAccess;
+    }
+
+    /**
+     * Access of the request's path within the application, as Spring Security matches it.
+     */
+    public Access lookup(HttpServletRequest request) {
+        String path = request.getPathInfo() == null
+                ? request.getServletPath()
+                : request.getServletPath() + request.getPathInfo();
+        Object cached = request.getAttribute(ATTRIBUTE);
+        // forwards and error dispatches reuse the request with another path
+        if (cached instanceof Lookup && ((Lookup) cached).path.equals(path)) {
+            return ((Lookup) cached).access;
+        }
+        Access access = lookup(path);
+        request.setAttribute(ATTRIBUTE, new Lookup(path, access));
+        return access;
+    }
+
+    public RequestMatcher matcher(Access access) {
+        return request -> lookup(request) == access;
+    }
+
+    private static Access match(Node node, String path, int start) {
+        if (start == path.length()) {
+            return node.terminal != null ? node.terminal : node.rest;
+        }
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = path.length();
+        }
+        int next = skipSlashes(path, end);
+        Node child = node.child(path, start, end);
+        if (child != null) {
+            Access access = match(child, path, next);
+            if (access != null) {
+                return access;
+            }
+        }
+        if (node.star != null) {
+            Access access = match(node.star, path, next);
+            if (access != null) {
+                return access;
+            }
+        }
+        return node.rest;
+    }
+
+    private static int skipSlashes(String path, int index) {
+        while (index < path.length() && path.charAt(index) == '/') {
+            index++;
+        }
+        return index;
+    }
+
+    private static final class Lookup {
+        private final String path;
+        private final Access access;
+
+        private Lookup(String path, Access access) {
+            this.path = path;
+            this.access = access;
+        }
+    }
+
+    /**
+     * Trie node. Literal children sit in an open-addressing table keyed by
+     * {@link String#hashCode()}, so a lookup hashes the segment in place instead of cutting it out.
+     */
+    private static final class Node {
+        private String[] keys = new String[4];
+        private Node[] nodes = new Node[4];
+        private int size;
+        private Node star;
+        private Access terminal;
+        private Access rest;
+
+        private Node child(String path, int start, int end) {
+            int length = end - start;
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + path.charAt(i);
+            }
+            int mask = keys.length - 1;
+            for (int i = spread(hash) & mask; keys[i] != null; i = (i + 1) & mask) {
+                if (keys[i].length() == length && keys[i].regionMatches(0, path, start, length)) {
+                    return nodes[i];
+                }
+            }
+            return null;
+        }
+
+        private Node childOrCreate(String segment) {
+            Node child = child(segment, 0, segment.length());
+            if (child != null) {
+                return child;
+            }
+            if ((size + 1) * 2 > keys.length) {
+                String[] oldKeys = keys;
+                Node[] oldNodes = nodes;
+                keys = new String[oldKeys.length * 2];
+                nodes = new Node[oldNodes.length * 2];
+                for (int i = 0; i < oldKeys.length; i++) {
+                    if (oldKeys[i] != null) {
+                        insert(oldKeys[i], oldNodes[i]);
+                    }
+                }
+            }
+            child = new Node();
+            insert(segment, child);
+            size++;
+            return child;
+        }
+
+        private void insert(String segment, Node child) {
+            int mask = keys.length - 1;
+            int i = spread(segment.hashCode()) & mask;
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = segment;
+            nodes[i] = child;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+    public static final class Builder {
+        private final List<String> patterns = new ArrayList<>();
+        private final List<Access> accesses = new ArrayList<>();
+        private Access defaultAccess = Access.AUTHENTICATED;
+
+        private Builder() {
+        }
+
+        public Builder permit(String... patterns) {
+            return route(Access.PUBLIC, patterns);
+        }
+
+        public Builder authenticated(String... patterns) {
+            return route(Access.AUTHENTICATED, patterns);
+        }
+
+        public Builder admin(String... patterns) {
+            return route(Access.ADMIN, patterns);
+        }
+
+        public Builder route(Access access, String... patterns) {
+            for (String pattern : patterns) {
+                this.patterns.add(pattern);
+                this.accesses.add(access);
+            }
+            return this;
+        }
+
+        public Builder defaultAccess(Access defaultAccess) {
+            this.defaultAccess = defaultAccess;
+            return this;
+        }
+
+        public RouteSecurityTable build() {
+            Node root = new Node();
+            for (int i = 0; i < patterns.size(); i++) {
+                add(root, patterns.get(i), accesses.get(i));
+            }
+            return new RouteSecurityTable(root, defaultAccess, patterns.size());
+        }
+
+        private static void add(Node root, String pattern, Access access) {
+            if (!pattern.startsWith("/")) {
+                throw new IllegalArgumentException("Route pattern must start with '/': " + pattern);
+            }
+            Node node = root;
+            String[] segments = pattern.substring(1).split("/");
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.isEmpty()) {
+                    continue;
+                }
+                if (segment.equals("**")) {
+                    if (i != segments.length - 1) {
+                        throw new IllegalArgumentException("'**' is only allowed at the end: " + pattern);
+                    }
+                    node.rest = checkConflict(node.rest, access, pattern);
+                    return;
+                }
+                if (segment.equals("*")) {
+                    if (node.star == null) {
+                        node.star = new Node();
+                    }
+                    node = node.star;
+                } else if (segment.indexOf('*') >= 0) {
+                    throw new IllegalArgumentException("Wildcards must span a whole segment: " + pattern);
+                } else {
+                    node = node.childOrCreate(segment);
+                }
+            }
+            node.terminal = checkConflict(node.terminal, access, pattern);
+        }
+
+        private static Access checkConflict(Access existing, Access access, String pattern) {
+            if (existing != null && existing != access) {
+                throw new IllegalStateException("Route " + pattern + " is declared as both " + existing + " and " + access);
+            }
+            return access;
+        }
+    }
+}
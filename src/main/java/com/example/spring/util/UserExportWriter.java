@@ -0,0 +1,18 @@
+package com.example.spring.util;
+
+import com.example.spring.model.projection.AppUserSummary;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes an export one user at a time, keeping no more than a small buffer. Closing flushes the
+ * buffer but leaves the target stream open.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+public interface UserExportWriter extends Closeable {
+
+    void write(AppUserSummary user) throws IOException;
+}
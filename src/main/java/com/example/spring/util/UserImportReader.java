@@ -0,0 +1,20 @@
+package com.example.spring.util;
+
+import com.example.spring.model.requests.RegisterRequest;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads an upload one user at a time, so only the current row is held in memory.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+public interface UserImportReader extends Closeable {
+
+    /**
+     * @return the next user, or {@code null} at the end of the upload
+     */
+    RegisterRequest next() throws IOException;
+}
@@ -0,0 +1,166 @@
+package com.example.spring.util;
+
+import com.example.spring.model.domain.JwtPrincipal;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded cache of already verified tokens, keyed by a 64-bit digest of the raw token.
+ * The raw token is kept in the entry and compared on hit, so a digest collision is a miss
+ * and never returns another token's claims. Entries never outlive the token's {@code exp}.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final int maximumSize;
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public VerifiedTokenCache(@Value("${parameter.value.jwt-token-cache-enabled}") boolean enabled,
+                              @Value("${parameter.value.jwt-token-cache-maximum-size}") int maximumSize) {
+        this.enabled = enabled;
+        this.maximumSize = maximumSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public JwtPrincipal get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        Long key = digest(token);
+        Entry entry = entries.get(key);
+        if (entry == null || !entry.token.equals(token)) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.principal;
+    }
+
+    public void put(String token, JwtPrincipal principal) {
+        if (!enabled || principal.getExpiresAt() == null) {
+            return;
+        }
+        if (entries.size() >= maximumSize) {
+            evict();
+        }
+        entries.put(digest(token), new Entry(token, principal, principal.getExpiresAt().getTime()));
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public long size() {
+        return entries.mappingCount();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("jwt.token.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("jwt.token.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss").register(registry);
+        FunctionCounter.builder("jwt.token.cache.evictions", evictions, LongAdder::sum)
+                .register(registry);
+        Gauge.builder("jwt.token.cache.size", this, VerifiedTokenCache::size)
+                .register(registry);
+    }
+
+    /**
+     * Drop expired entries first, then arbitrary ones until there is room for 1/16 of the capacity.
+     * Only one thread evicts at a time, others simply insert and move on.
+     */
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            int target = maximumSize - Math.max(1, maximumSize / 16);
+            Iterator<Map.Entry<Long, Entry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().getValue().expiresAt <= now) {
+                    iterator.remove();
+                    evictions.increment();
+                }
+            }
+            iterator = entries.entrySet().iterator();
+            while (entries.size() > target && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evictions.increment();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * FNV-1a over the token characters, finished with the murmur3 mixer.
+     */
+    static long digest(String token) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < token.length(); i++) {
+            hash ^= token.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static final class Entry {
+        private final String token;
+        private final JwtPrincipal principal;
+        private final long expiresAt;
+
+        private Entry(String token, JwtPrincipal principal, long expiresAt) {
+            this.token = token;
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
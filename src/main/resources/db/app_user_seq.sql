@@ -0,0 +1,8 @@
+-- Brings app_user_seq in line with an app_user table that already has rows, e.g. ids generated
+-- before the sequence existed. Run once against PostgreSQL before starting the application.
+--
+-- Ids are allocated pooled-lo in blocks of 50 (AppUser.ID_ALLOCATION_SIZE): nextval returns the
+-- first id of a block and the block ends 49 ids later, so the next value must be past max(id).
+create sequence if not exists app_user_seq start with 1 increment by 50;
+alter sequence app_user_seq increment by 50;
+select setval('app_user_seq', (select coalesce(max(id), 0) + 1 from app_user), false);
@@ -0,0 +1,54 @@
+package com.example.spring.benchmark;
+
+import com.example.spring.util.PasswordHashing;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of one password hash per algorithm and cost, to pick {@code password-encoder} and check
+ * what the startup calibration settles on.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    /**
+     * {@code algorithm:cost}: bcrypt strength, PBKDF2 iterations or Argon2 passes at 19 MiB.
+     */
+    @Param({"bcrypt:10", "bcrypt:11", "bcrypt:12",
+            "pbkdf2:310000", "pbkdf2:600000",
+            "argon2:2", "argon2:3", "argon2:4"})
+    public String encoder;
+
+    private PasswordEncoder passwordEncoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        String[] parts = encoder.split(":");
+        int cost = Integer.parseInt(parts[1]);
+        passwordEncoder = PasswordHashing.delegating(parts[0], cost, cost, cost, 19456);
+        hash = passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches(PASSWORD, hash);
+    }
+}
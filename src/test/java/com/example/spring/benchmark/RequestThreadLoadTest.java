@@ -0,0 +1,167 @@
+package com.example.spring.benchmark;
+
+import com.example.spring.Application;
+import com.example.spring.model.domain.AppUser;
+import com.example.spring.service.AppUserService;
+import com.example.spring.util.JWTUtil;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop load test of {@code GET /api/v1/session/user-me} (JWT filter, one JDBC lookup,
+ * JSON) on the platform worker pool vs virtual threads. Not a JUnit test: it boots the whole
+ * application on the test configuration (H2) and a random port.
+ * <pre>
+ * ./mvnw test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath com.example.spring.benchmark.RequestThreadLoadTest virtual 1000 20"
+ * </pre>
+ * Arguments: {@code platform|virtual}, concurrent keep-alive clients, seconds of measurement.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+public class RequestThreadLoadTest {
+
+    private static final long WARMUP_SECONDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        boolean virtual = args.length > 0 && args[0].equals("virtual");
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+        long seconds = args.length > 2 ? Long.parseLong(args[2]) : 20;
+        System.setProperty("http.maxConnections", String.valueOf(clients));
+        // a devtools restart would call main again without the arguments
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        ServletWebServerApplicationContext context = (ServletWebServerApplicationContext) new SpringApplicationBuilder(Application.class)
+                .properties("server.port=0",
+                        "server.tomcat.accept-count=" + clients,
+                        "logging.level.root=WARN",
+                        "parameter.value.virtual-threads-enabled=" + virtual)
+                .run();
+        try {
+            AppUser user = AppUser.builder()
+                    .firstName("Load")
+                    .lastName("Test")
+                    .username("loadtest")
+                    .email("loadtest@example.com")
+                    .password("loadtest")
+                    .isEnabled(true)
+                    .build();
+            context.getBean(AppUserService.class).saveUser(user);
+            String token = context.getBean(JWTUtil.class)
+                    .createAccessToken(user, new MockHttpServletRequest()).getValue();
+            URL url = new URL("http://localhost:" + context.getWebServer().getPort() + "/api/v1/session/user-me");
+
+            run(url, token, clients, WARMUP_SECONDS);
+            Result result = run(url, token, clients, seconds);
+            System.out.printf("%s threads, %d clients, %d s: %.0f req/s, p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, errors %d%n",
+                    virtual ? "virtual" : "platform", clients, seconds, result.count / (double) seconds,
+                    result.percentile(0.50), result.percentile(0.99), result.percentile(0.999), result.errors);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static Result run(URL url, String token, int clients, long seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        Client[] workers = new Client[clients];
+        CountDownLatch done = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            workers[i] = new Client(url, token, deadline, done);
+            workers[i].start();
+        }
+        done.await();
+        Result result = new Result();
+        for (Client client : workers) {
+            result.add(client);
+        }
+        return result;
+    }
+
+    private static final class Client extends Thread {
+        private final URL url;
+        private final String token;
+        private final long deadline;
+        private final CountDownLatch done;
+        private final byte[] buffer = new byte[8192];
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        private Client(URL url, String token, long deadline, CountDownLatch done) {
+            this.url = url;
+            this.token = token;
+            this.deadline = deadline;
+            this.done = done;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try {
+                long start;
+                while ((start = System.nanoTime()) - deadline < 0) {
+                    if (request()) {
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    } else {
+                        errors++;
+                    }
+                }
+            } finally {
+                done.countDown();
+            }
+        }
+
+        private boolean request() {
+            try {
+                HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+                connection.setRequestProperty("Authorization", "Bearer " + token);
+                int status = connection.getResponseCode();
+                InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+                if (body != null) {
+                    // drain fully so the connection goes back to the keep-alive cache
+                    while (body.read(buffer) >= 0) {
+                    }
+                    body.close();
+                }
+                return status == 200;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+    }
+
+    private static final class Result {
+        private long[] latencies = new long[0];
+        private int count;
+        private int errors;
+
+        private void add(Client client) {
+            latencies = Arrays.copyOf(latencies, count + client.count);
+            System.arraycopy(client.latencies, 0, latencies, count, client.count);
+            count += client.count;
+            errors += client.errors;
+        }
+
+        private double percentile(double percentile) {
+            if (count == 0) {
+                return Double.NaN;
+            }
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            return sorted[(int) Math.min(count - 1, (long) Math.ceil(percentile * count) - 1)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.spring.benchmark;
+
+import com.example.spring.util.RouteSecurityTable;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Route lookup over a few hundred routes: {@link RouteSecurityTable} vs the linear
+ * {@code startsWith} scan of the old JWT filter and the {@link AntPathMatcher} scan Spring
+ * Security did on top of it.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteSecurityTableBenchmark {
+
+    @Param({"300"})
+    private int routes;
+
+    private RouteSecurityTable table;
+    private String[] prefixes;
+    private String[] antPatterns;
+    private final AntPathMatcher antPathMatcher = new AntPathMatcher();
+    private String[] paths;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        RouteSecurityTable.Builder builder = RouteSecurityTable.builder();
+        List<String> prefixList = new ArrayList<>();
+        List<String> antList = new ArrayList<>();
+        for (int i = 0; i < routes; i++) {
+            String base = "/api/v1/resource" + i;
+            if (i % 3 == 0) {
+                builder.admin(base + "/**");
+            } else {
+                builder.permit(base + "/*/items");
+            }
+            prefixList.add(base + "/");
+            antList.add(i % 3 == 0 ? base + "/**" : base + "/*/items");
+        }
+        table = builder.build();
+        prefixes = prefixList.toArray(new String[0]);
+        antPatterns = antList.toArray(new String[0]);
+        paths = new String[]{
+                "/api/v1/resource1/42/items",
+                "/api/v1/resource" + (routes / 2) + "/7",
+                "/api/v1/resource" + (routes - 1) + "/9/items",
+                "/api/v1/session/user-me"
+        };
+    }
+
+    private String nextPath() {
+        next = (next + 1) & 3;
+        return paths[next];
+    }
+
+    @Benchmark
+    public RouteSecurityTable.Access trie() {
+        return table.lookup(nextPath());
+    }
+
+    @Benchmark
+    public boolean startsWithScan() {
+        String path = nextPath();
+        for (String prefix : prefixes) {
+            if (path.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean antPathScan() {
+        String path = nextPath();
+        for (String pattern : antPatterns) {
+            if (antPathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
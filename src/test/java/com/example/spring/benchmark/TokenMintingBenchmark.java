@@ -0,0 +1,84 @@
+package com.example.spring.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.example.spring.model.domain.AppRole;
+import com.example.spring.model.domain.AppUser;
+import com.example.spring.model.domain.Role;
+import com.example.spring.model.response.LoginResponse;
+import com.example.spring.model.response.TokenResponse;
+import com.example.spring.util.JWTUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Login token pair: auth0 builder (the previous implementation) vs {@link JWTUtil#createTokens}.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenMintingBenchmark {
+
+    private static final long ACCESS_TOKEN_EXPIRED = 2592000000L;
+    private static final long REFRESH_TOKEN_EXPIRED = 18000000L;
+    private static final String FAMILY_ID = "0f8fad5b-d9cb-469f-a165-70867728950e";
+    private static final String TOKEN_ID = "7c9e6679-7425-40de-944b-e07fc1f90ae7";
+
+    private JWTUtil jwtUtil;
+    private Algorithm algorithm;
+    private AppUser user;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = VerifiedTokenCacheBenchmark.jwtUtil(false);
+        algorithm = Algorithm.HMAC256("secret");
+        user = AppUser.builder()
+                .username("yogi")
+                .appUserRoles(Arrays.asList(
+                        AppRole.builder().name(Role.ROLE_USER).build(),
+                        AppRole.builder().name(Role.ROLE_ADMIN).build()))
+                .build();
+        request = new MockHttpServletRequest("POST", "/api/v1/login");
+    }
+
+    @Benchmark
+    public LoginResponse auth0Builder() {
+        return LoginResponse.builder()
+                .accessToken(TokenResponse.builder()
+                        .value(JWT.create()
+                                .withSubject(user.getUsername())
+                                .withExpiresAt(new Date(System.currentTimeMillis() + ACCESS_TOKEN_EXPIRED))
+                                .withIssuer(request.getRequestURI())
+                                .withClaim("roles", user.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.toList()))
+                                .sign(algorithm))
+                        .expiredAt(new Date(System.currentTimeMillis() + ACCESS_TOKEN_EXPIRED))
+                        .build())
+                .refreshToken(TokenResponse.builder()
+                        .value(JWT.create()
+                                .withSubject(user.getUsername())
+                                .withExpiresAt(new Date(System.currentTimeMillis() + REFRESH_TOKEN_EXPIRED))
+                                .withIssuer(request.getRequestURI())
+                                .sign(algorithm))
+                        .expiredAt(new Date(System.currentTimeMillis() + REFRESH_TOKEN_EXPIRED))
+                        .build())
+                .build();
+    }
+
+    @Benchmark
+    public LoginResponse minter() {
+        return jwtUtil.createTokens(user, request, FAMILY_ID, TOKEN_ID);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.spring.benchmark;
+
+import com.example.spring.model.domain.AppRole;
+import com.example.spring.model.domain.AppUser;
+import com.example.spring.model.domain.JwtPrincipal;
+import com.example.spring.model.domain.Role;
+import com.example.spring.util.JWTUtil;
+import com.example.spring.util.JwtKeyRing;
+import com.example.spring.util.VerifiedTokenCache;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cached vs uncached {@link JWTUtil#verify(String)} at 1, 8 and 32 threads.
+ *
+ * @author Yogi
+ * @since 17/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VerifiedTokenCacheBenchmark {
+
+    private JWTUtil cached;
+    private JWTUtil uncached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cached = jwtUtil(true);
+        uncached = jwtUtil(false);
+        AppUser user = AppUser.builder()
+                .username("yogi")
+                .appUserRoles(Collections.singletonList(AppRole.builder().name(Role.ROLE_USER).build()))
+                .build();
+        token = uncached.createAccessToken(user, new MockHttpServletRequest("POST", "/api/v1/login")).getValue();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public JwtPrincipal uncached01() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public JwtPrincipal cached01() {
+        return cached.verify(token);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public JwtPrincipal uncached08() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public JwtPrincipal cached08() {
+        return cached.verify(token);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public JwtPrincipal uncached32() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public JwtPrincipal cached32() {
+        return cached.verify(token);
+    }
+
+    static JWTUtil jwtUtil(boolean cacheEnabled) {
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(cacheEnabled, 10000);
+        JWTUtil jwtUtil = new JWTUtil(verifiedTokenCache, new JwtKeyRing(JwtKeyRing.HS256, "secret", 0, 0, null, verifiedTokenCache, Clock.systemUTC()));
+        ReflectionTestUtils.setField(jwtUtil, "BEARER", "Bearer ");
+        ReflectionTestUtils.setField(jwtUtil, "ACCESS_TOKEN_EXPIRED", 2592000000L);
+        ReflectionTestUtils.setField(jwtUtil, "REFRESH_TOKEN_EXPIRED", 18000000L);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.spring.controller;
+
+import com.example.spring.model.domain.AppRole;
+import com.example.spring.model.domain.AppUser;
+import com.example.spring.model.domain.Role;
+import com.example.spring.model.projection.AppUserCredentials;
+import com.example.spring.model.response.LoginResponse;
+import com.example.spring.repository.AppRoleRepository;
+import com.example.spring.repository.AppUserRepository;
+import com.example.spring.repository.RefreshTokenFamilyRepository;
+import com.example.spring.repository.RevokedTokenRepository;
+import com.example.spring.service.RefreshTokenService;
+import com.example.spring.util.RoleAuthorities;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statuses of the session endpoints as a client sees them, on their own database.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:session-management;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class SessionManagementTest {
+
+    private static final String REFRESH_TOKEN = "/api/v1/session/refresh-token";
+    private static final String USER_ME = "/api/v1/session/user-me";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private AppUserRepository appUserRepository;
+    @Autowired
+    private AppRoleRepository appRoleRepository;
+    @Autowired
+    private RefreshTokenFamilyRepository refreshTokenFamilyRepository;
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private LoginResponse tokens;
+
+    @BeforeEach
+    void setUp() {
+        AppRole user = appRoleRepository.save(AppRole.builder().name(Role.ROLE_USER).build());
+        appUserRepository.save(AppUser.builder()
+                .firstName("Yogi")
+                .lastName("Pratama")
+                .username("yogi")
+                .email("yogi@example.com")
+                .password("password")
+                .isEnabled(true)
+                .appUserRoles(Collections.singletonList(user))
+                .build());
+        tokens = refreshTokenService.login(new AppUserCredentials(null, "yogi", "password", true, false,
+                        RoleAuthorities.mask(Collections.singletonList(Role.ROLE_USER.name()))),
+                new MockHttpServletRequest());
+    }
+
+    @AfterEach
+    void tearDown() {
+        revokedTokenRepository.deleteAll();
+        refreshTokenFamilyRepository.deleteAll();
+        appUserRepository.deleteAll();
+        appRoleRepository.deleteAll();
+    }
+
+    @Test
+    void testRefreshTokenRetriedWithinGracePeriodIsConflict() throws Exception {
+        //given
+        String refreshToken = tokens.getRefreshToken().getValue();
+        refresh(refreshToken);
+
+        //when
+        //then
+        mockMvc.perform(get(REFRESH_TOKEN).header(AUTHORIZATION, "Bearer " + refreshToken))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Refresh token was already exchanged by a concurrent request"));
+        assertThat(refreshTokenFamilyRepository.findAll()).allMatch(family -> !family.isRevoked());
+    }
+
+    @Test
+    void testReplayedRefreshTokenIsUnauthorizedAndRevokesFamily() throws Exception {
+        //given
+        String replayed = tokens.getRefreshToken().getValue();
+        refresh(refresh(replayed));
+
+        //when
+        //then
+        mockMvc.perform(get(REFRESH_TOKEN).header(AUTHORIZATION, "Bearer " + replayed))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Refresh token reuse detected, please login again"));
+        assertThat(refreshTokenFamilyRepository.findAll()).allMatch(family -> family.isRevoked());
+    }
+
+    @Test
+    void testAccessTokensOfFamilyRevokedForReuseAreRefused() throws Exception {
+        //given
+        String accessToken = tokens.getAccessToken().getValue();
+        String replayed = tokens.getRefreshToken().getValue();
+        mockMvc.perform(get(USER_ME).header(AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isOk());
+        refresh(refresh(replayed));
+        mockMvc.perform(get(REFRESH_TOKEN).header(AUTHORIZATION, "Bearer " + replayed))
+                .andExpect(status().isUnauthorized());
+
+        //when
+        //then
+        mockMvc.perform(get(USER_ME).header(AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Token has been revoked"));
+    }
+
+    @Test
+    void testInvalidRefreshTokenIsBadRequest() throws Exception {
+        //when
+        //then
+        mockMvc.perform(get(REFRESH_TOKEN).header(AUTHORIZATION, "Bearer invalid"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(startsWith("Error while refreshing token : ")));
+    }
+
+    /**
+     * @return the new refresh token
+     */
+    private String refresh(String refreshToken) throws Exception {
+        String body = mockMvc.perform(get(REFRESH_TOKEN).header(AUTHORIZATION, "Bearer " + refreshToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("data").get("refreshToken").get("value").asText();
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.spring.controller;
+
+import com.example.spring.configuration.CacheConfiguration;
+import com.example.spring.model.domain.AppRole;
+import com.example.spring.model.domain.AppUser;
+import com.example.spring.model.domain.Role;
+import com.example.spring.model.projection.AppUserCredentials;
+import com.example.spring.model.requests.UserSort;
+import com.example.spring.model.response.LoginResponse;
+import com.example.spring.repository.AppRoleRepository;
+import com.example.spring.repository.AppUserRepository;
+import com.example.spring.repository.RefreshTokenFamilyRepository;
+import com.example.spring.service.AppUserService;
+import com.example.spring.service.RefreshTokenService;
+import com.example.spring.util.JWTUtil;
+import com.example.spring.util.KeysetCursor;
+import com.example.spring.util.RoleAuthorities;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL statements per request, which must not grow with the number of users or roles involved.
+ * Runs on its own database, the data set is too large to share with other tests.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:statement-count;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class StatementCountTest {
+
+    private static final int USERS = 500;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private AppUserRepository appUserRepository;
+    @Autowired
+    private AppRoleRepository appRoleRepository;
+    @Autowired
+    private RefreshTokenFamilyRepository refreshTokenFamilyRepository;
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    @Autowired
+    private JWTUtil jwtUtil;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private AppUserService appUserService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+        AppRole user = appRoleRepository.save(AppRole.builder().name(Role.ROLE_USER).build());
+        AppRole admin = appRoleRepository.save(AppRole.builder().name(Role.ROLE_ADMIN).build());
+        List<AppUser> users = new ArrayList<>();
+        users.add(appUser("admin", Arrays.asList(user, admin)));
+        for (int i = 0; i < USERS - 1; i++) {
+            users.add(appUser("user" + i, Collections.singletonList(user)));
+        }
+        appUserRepository.saveAll(users);
+        adminToken = jwtUtil.createAccessToken(credentials("admin", Role.ROLE_USER, Role.ROLE_ADMIN),
+                new MockHttpServletRequest()).getValue();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        refreshTokenFamilyRepository.deleteAll();
+        appUserRepository.deleteAll();
+        appRoleRepository.deleteAll();
+    }
+
+    @Test
+    void testUserListingPage() throws Exception {
+        //given
+        statistics.clear();
+
+        //when
+        mockMvc.perform(get("/api/v1/user").param("page", "0").param("size", String.valueOf(USERS))
+                        .header(AUTHORIZATION, "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.users", hasSize(USERS)))
+                .andExpect(jsonPath("$.data.users[0].roles", hasSize(2)))
+                .andExpect(jsonPath("$.data.users[0].password").doesNotExist());
+
+        //then
+        // users with their roles
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(0);
+    }
+
+    @Test
+    void testUserListingAfterCursorWithTotal() throws Exception {
+        //given
+        String cursor = new KeysetCursor(UserSort.USERNAME, false, "user400").encode();
+        statistics.clear();
+
+        //when
+        mockMvc.perform(get("/api/v1/user").param("cursor", cursor).param("sort", "username")
+                        .param("size", "50").param("total", "true")
+                        .header(AUTHORIZATION, "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.users", hasSize(50)))
+                .andExpect(jsonPath("$.data.users[0].username").value("user401"))
+                .andExpect(jsonPath("$.data.nextCursor").isNotEmpty())
+                .andExpect(jsonPath("$.data.total").value(USERS));
+
+        //then
+        // users after the cursor with their roles, count
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testUserMe() throws Exception {
+        //given
+        statistics.clear();
+
+        //when
+        mockMvc.perform(get("/api/v1/session/user-me")
+                        .header(AUTHORIZATION, "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.user.roles", hasSize(2)));
+
+        //then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(0);
+    }
+
+    @Test
+    void testUserMeIsCachedUntilRolesChange() throws Exception {
+        //given
+        String userToken = token("user0");
+        mockMvc.perform(get("/api/v1/session/user-me").header(AUTHORIZATION, "Bearer " + userToken))
+                .andExpect(status().isOk());
+        statistics.clear();
+
+        //when
+        mockMvc.perform(get("/api/v1/session/user-me").header(AUTHORIZATION, "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.user.roles", hasSize(1)));
+        long cached = statistics.getPrepareStatementCount();
+        mockMvc.perform(post("/api/v1/role/add-to-user").header(AUTHORIZATION, "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"user0\",\"roleName\":\"ROLE_ADMIN\"}"))
+                .andExpect(status().isCreated());
+        statistics.clear();
+        mockMvc.perform(get("/api/v1/session/user-me").header(AUTHORIZATION, "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.user.roles", hasSize(2)));
+
+        //then
+        assertThat(cached).isEqualTo(0);
+        // evicted once the role change committed
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CacheConfiguration.USERS).tag("result", "hit")
+                .functionCounter().count()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void testUserMeIsEvictedWhenUserIsEnabled() throws Exception {
+        //given
+        AppUser user = appUserRepository.findByUsername("user1").orElseThrow(AssertionError::new);
+        mockMvc.perform(get("/api/v1/session/user-me").header(AUTHORIZATION, "Bearer " + token("user1")))
+                .andExpect(status().isOk());
+
+        //when
+        appUserService.setUserEnable(user.getId());
+        statistics.clear();
+        mockMvc.perform(get("/api/v1/session/user-me").header(AUTHORIZATION, "Bearer " + token("user1")))
+                .andExpect(status().isOk());
+
+        //then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testRoleLookupIsCached() {
+        //given
+        appRoleRepository.findByName(Role.ROLE_USER);
+        statistics.clear();
+
+        //when
+        AppRole role = appRoleRepository.findByName(Role.ROLE_USER).orElseThrow(AssertionError::new);
+
+        //then
+        assertThat(role.getName()).isEqualTo(Role.ROLE_USER);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(0);
+    }
+
+    @Test
+    void testRefreshToken() throws Exception {
+        //given
+        LoginResponse tokens = refreshTokenService.login(credentials("admin", Role.ROLE_USER, Role.ROLE_ADMIN),
+                new MockHttpServletRequest());
+        statistics.clear();
+
+        //when
+        mockMvc.perform(get("/api/v1/session/refresh-token")
+                        .header(AUTHORIZATION, "Bearer " + tokens.getRefreshToken().getValue()))
+                .andExpect(status().isOk());
+
+        //then
+        // user with roles, conditional rotate
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    private static AppUser appUser(String username, List<AppRole> roles) {
+        return AppUser.builder()
+                .firstName("First")
+                .lastName("Last")
+                .username(username)
+                .email(username + "@example.com")
+                .password("password")
+                .isEnabled(true)
+                .appUserRoles(new ArrayList<>(roles))
+                .build();
+    }
+
+    private String token(String username) {
+        return jwtUtil.createAccessToken(credentials(username, Role.ROLE_USER), new MockHttpServletRequest()).getValue();
+    }
+
+    private static AppUserCredentials credentials(String username, Role... roles) {
+        List<String> names = new ArrayList<>();
+        for (Role role : roles) {
+            names.add(role.name());
+        }
+        return new AppUserCredentials(null, username, "password", true, false, RoleAuthorities.mask(names));
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.spring.controller;
+
+import com.example.spring.model.domain.Role;
+import com.example.spring.model.projection.AppUserCredentials;
+import com.example.spring.util.JWTUtil;
+import com.example.spring.util.RoleAuthorities;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.http.HttpHeaders.CONTENT_DISPOSITION;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+
+/**
+ * Streams a seeded user table through a real server and reads the export line by line, so
+ * neither side holds the whole response. Seeds {@code user.export.rows} users (100 000 by
+ * default) into a file database, which keeps the table itself off the heap; run with e.g.
+ * {@code -DargLine="-Xmx128m -Duser.export.rows=2000000"} to check a large table.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:file:./target/h2/user-export-${random.uuid};DB_CLOSE_DELAY=-1")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserExportTest {
+
+    private static final int USERS = Integer.getInteger("user.export.rows", 100_000);
+    private static final int SEED_BATCH = 100_000;
+    private static final String EXPORT = "/api/v1/user/export?format={format}";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private JWTUtil jwtUtil;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String adminToken;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("insert into app_role (id, name) values (1, " + Role.ROLE_USER.ordinal() + "), "
+                + "(2, " + Role.ROLE_ADMIN.ordinal() + ")");
+        // committed in batches, H2 keeps uncommitted rows on the heap
+        for (int from = 1; from <= USERS; from += SEED_BATCH) {
+            int to = Math.min(from + SEED_BATCH - 1, USERS);
+            jdbcTemplate.update("insert into app_user (id, first_name, last_name, username, email, password, is_enabled, is_locked) "
+                    + "select x, 'First', 'Last', 'user' || x, 'user' || x || '@example.com', 'password', true, false "
+                    + "from system_range(?, ?)", from, to);
+            // every user has ROLE_USER, every tenth is also an admin
+            jdbcTemplate.update("insert into app_user_role (app_user, app_role) select x, 1 from system_range(?, ?)", from, to);
+            jdbcTemplate.update("insert into app_user_role (app_user, app_role) select x, 2 from system_range(?, ?) "
+                    + "where mod(x, 10) = 0", from, to);
+        }
+        adminToken = jwtUtil.createAccessToken(new AppUserCredentials(null, "admin", "password", true, false,
+                        RoleAuthorities.mask(Arrays.asList(Role.ROLE_USER.name(), Role.ROLE_ADMIN.name()))),
+                new MockHttpServletRequest()).getValue();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterAll
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        jdbcTemplate.execute("drop all objects delete files");
+    }
+
+    @BeforeEach
+    void setUp() {
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    void testExportNdjson() {
+        //when
+        Export export = export("ndjson");
+
+        //then
+        assertThat(export.status).isEqualTo(HttpStatus.OK);
+        assertThat(export.contentType).isEqualTo("application/x-ndjson");
+        assertThat(export.disposition).isEqualTo("attachment; filename=\"users.ndjson\"");
+        assertThat(export.lines).isEqualTo(USERS);
+        assertThat(export.first).isEqualTo("{\"id\":1,\"firstName\":\"First\",\"lastName\":\"Last\","
+                + "\"username\":\"user1\",\"email\":\"user1@example.com\",\"enabled\":true,\"locked\":false,"
+                + "\"roles\":[\"ROLE_USER\"]}");
+        assertThat(export.last).contains("\"id\":" + USERS + ",").endsWith("\"roles\":[\"ROLE_USER\",\"ROLE_ADMIN\"]}");
+        // one cursor, no entities
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(0);
+    }
+
+    @Test
+    void testExportCsv() {
+        //when
+        Export export = export("csv");
+
+        //then
+        assertThat(export.status).isEqualTo(HttpStatus.OK);
+        assertThat(export.contentType).isEqualTo("text/csv;charset=UTF-8");
+        assertThat(export.lines).isEqualTo(USERS + 1);
+        assertThat(export.first).isEqualTo("id,firstName,lastName,username,email,enabled,locked,roles");
+        assertThat(export.last).isEqualTo(USERS + ",First,Last,user" + USERS + ",user" + USERS
+                + "@example.com,true,false,ROLE_USER;ROLE_ADMIN");
+    }
+
+    @Test
+    void testExportRejectsUnknownFormat() {
+        //when
+        Export export = export("xml");
+
+        //then
+        assertThat(export.status).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(0);
+    }
+
+    private Export export(String format) {
+        return restTemplate.execute(EXPORT, HttpMethod.GET,
+                request -> request.getHeaders().set(AUTHORIZATION, "Bearer " + adminToken),
+                response -> {
+                    Export export = new Export();
+                    export.status = response.getStatusCode();
+                    export.contentType = response.getHeaders().getFirst(CONTENT_TYPE);
+                    export.disposition = response.getHeaders().getFirst(CONTENT_DISPOSITION);
+                    try (BufferedReader reader = new BufferedReader(
+                            new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))) {
+                        String line;
+                        while ((line = reader.readLine()) != null) {
+                            if (export.first == null) {
+                                export.first = line;
+                            }
+                            export.last = line;
+                            export.lines++;
+                        }
+                    }
+                    return export;
+                }, format);
+    }
+
+    private static class Export {
+        HttpStatus status;
+        String contentType;
+        String disposition;
+        String first;
+        String last;
+        long lines;
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.spring.controller;
+
+import com.example.spring.model.domain.AppRole;
+import com.example.spring.model.domain.AppUser;
+import com.example.spring.model.domain.Role;
+import com.example.spring.model.projection.AppUserCredentials;
+import com.example.spring.repository.AppRoleRepository;
+import com.example.spring.repository.AppUserRepository;
+import com.example.spring.service.AccountExistenceService;
+import com.example.spring.util.JWTUtil;
+import com.example.spring.util.RoleAuthorities;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Imports through the endpoint into a real database, checking the inserted rows, their role and
+ * their password hash.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:user-import;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class UserImportTest {
+
+    private static final String IMPORT = "/api/v1/user/import";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private AppUserRepository appUserRepository;
+    @Autowired
+    private AppRoleRepository appRoleRepository;
+    @Autowired
+    private AccountExistenceService accountExistenceService;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private JWTUtil jwtUtil;
+
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+        AppRole user = appRoleRepository.save(AppRole.builder().name(Role.ROLE_USER).build());
+        appRoleRepository.save(AppRole.builder().name(Role.ROLE_ADMIN).build());
+        appUserRepository.save(AppUser.builder()
+                .firstName("Admin")
+                .lastName("Admin")
+                .username("admin")
+                .email("admin@example.com")
+                .password("password")
+                .isEnabled(true)
+                .appUserRoles(Collections.singletonList(user))
+                .build());
+        accountExistenceService.rebuild();
+        adminToken = jwtUtil.createAccessToken(new AppUserCredentials(null, "admin", "password", true, false,
+                        RoleAuthorities.mask(Arrays.asList(Role.ROLE_USER.name(), Role.ROLE_ADMIN.name()))),
+                new MockHttpServletRequest()).getValue();
+    }
+
+    @AfterEach
+    void tearDown() {
+        appUserRepository.deleteAll();
+        appRoleRepository.deleteAll();
+    }
+
+    @Test
+    void testImportCsv() throws Exception {
+        //given
+        String csv = "username,email,password,firstName,lastName\r\n"
+                + "yogi,yogi@example.com,\"pass,word\",Yogi,Gan\r\n"
+                + "admin,other@example.com,password,Taken,User\r\n"
+                + "john,john@example.com,password,John,Doe\r\n";
+
+        //when
+        mockMvc.perform(post(IMPORT).contentType("text/csv").content(csv)
+                        .header(AUTHORIZATION, "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.imported").value(2))
+                .andExpect(jsonPath("$.data.failed").value(1))
+                .andExpect(jsonPath("$.data.errors", hasSize(1)))
+                .andExpect(jsonPath("$.data.errors[0].row").value(2))
+                .andExpect(jsonPath("$.data.errors[0].message").value("Username admin is already exist"));
+
+        //then
+        AppUser yogi = appUserRepository.findByUsername("yogi").orElseThrow(AssertionError::new);
+        assertThat(yogi.getFirstName()).isEqualTo("Yogi");
+        assertThat(yogi.getIsEnabled()).isTrue();
+        assertThat(passwordEncoder.matches("pass,word", yogi.getPassword())).isTrue();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from app_user_role ur join app_role r on r.id = ur.app_role "
+                + "where r.name = ?", Integer.class, Role.ROLE_USER.ordinal())).isEqualTo(3);
+        assertThat(appUserRepository.count()).isEqualTo(3);
+        assertThat(accountExistenceService.mightExist("john@example.com")).isTrue();
+    }
+
+    @Test
+    void testImportJsonReportsInvalidRows() throws Exception {
+        //given
+        String json = "[{\"firstName\":\"Yogi\",\"lastName\":\"Gan\",\"username\":\"yogi\","
+                + "\"email\":\"yogi@example.com\",\"password\":\"password\"},"
+                + "{\"firstName\":\"John\",\"lastName\":\"Doe\",\"username\":\"john\","
+                + "\"email\":\"admin@example.com\",\"password\":\"password\"},"
+                + "{\"firstName\":\"James\",\"username\":\"james\","
+                + "\"email\":\"james@example.com\",\"password\":\"password\"}]";
+
+        //when
+        mockMvc.perform(post(IMPORT).contentType("application/json").content(json)
+                        .header(AUTHORIZATION, "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.imported").value(1))
+                .andExpect(jsonPath("$.data.failed").value(2))
+                .andExpect(jsonPath("$.data.errors[0].row").value(2))
+                .andExpect(jsonPath("$.data.errors[0].message").value("Email admin@example.com is already exist"))
+                .andExpect(jsonPath("$.data.errors[1].row").value(3))
+                .andExpect(jsonPath("$.data.errors[1].message").value("lastName must not be null"));
+
+        //then
+        assertThat(appUserRepository.count()).isEqualTo(2);
+        assertThat(appUserRepository.findByUsername("yogi")).isPresent();
+    }
+
+    @Test
+    void testImportRejectsUnsupportedContentType() throws Exception {
+        //when
+        mockMvc.perform(post(IMPORT).contentType("application/xml").content("<users/>")
+                        .header(AUTHORIZATION, "Bearer " + adminToken))
+                .andExpect(status().isBadRequest());
+
+        //then
+        assertThat(appUserRepository.count()).isEqualTo(1);
+    }
+}
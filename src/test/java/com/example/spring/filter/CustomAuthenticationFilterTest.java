@@ -0,0 +1,212 @@
+package com.example.spring.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomAuthenticationFilterTest {
+
+    @Test
+    void testConcurrentLoginsNeverMixCredentials() throws Exception {
+        //given
+        AtomicInteger mismatches = new AtomicInteger();
+        AuthenticationManager authenticationManager = authentication -> {
+            // every user's password is derived from the username, so any cross-talk shows up here
+            if (!("pw-" + authentication.getName()).equals(authentication.getCredentials())) {
+                mismatches.incrementAndGet();
+            }
+            return new UsernamePasswordAuthenticationToken(authentication.getName(), null, Collections.emptyList());
+        };
+        CustomAuthenticationFilter filter = new CustomAuthenticationFilter(authenticationManager);
+        filter.setLoginRequestParser(new LoginRequestParser(new ObjectMapper(), 4096));
+        int logins = 5000;
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < logins; i++) {
+            String username = "user" + i;
+            results.add(executor.submit(() -> {
+                MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/login");
+                request.setContentType("application/json");
+                request.setContent(("{\"username\":\"" + username + "\",\"password\":\"pw-" + username + "\"}")
+                        .getBytes(StandardCharsets.UTF_8));
+                start.await();
+                Authentication authentication = filter.attemptAuthentication(request, new MockHttpServletResponse());
+                return authentication.getName();
+            }));
+        }
+        start.countDown();
+
+        //then
+        for (int i = 0; i < logins; i++) {
+            assertThat(results.get(i).get(30, TimeUnit.SECONDS)).isEqualTo("user" + i);
+        }
+        executor.shutdown();
+        assertThat(mismatches.get()).isZero();
+    }
+
+    @Test
+    void testAsyncLoginRunsOnLoginExecutor() throws Exception {
+        //given
+        AtomicReference<String> thread = new AtomicReference<>();
+        CustomAuthenticationFilter filter = filter(authentication -> {
+            thread.set(Thread.currentThread().getName());
+            throw new BadCredentialsException("Bad credentials");
+        }, new LoginExecutor(1, 1));
+        MockHttpServletRequest request = loginRequest();
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        filter.doFilter(request, response, new MockFilterChain());
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+        awaitCompletion(request);
+
+        //then
+        assertThat(asyncContext).isNotNull();
+        assertThat(thread.get()).startsWith("login-");
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(response.getContentAsString()).contains("Login Failed, Bad credentials");
+    }
+
+    @Test
+    void testFullLoginQueueFailsFastWithRetryAfter() throws Exception {
+        //given
+        CountDownLatch release = new CountDownLatch(1);
+        LoginExecutor loginExecutor = new LoginExecutor(1, 1);
+        CustomAuthenticationFilter filter = filter(authentication -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new BadCredentialsException("Bad credentials");
+        }, loginExecutor);
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest busy = loginRequest();
+            busy.setAsyncSupported(true);
+            filter.doFilter(busy, new MockHttpServletResponse(), new MockFilterChain());
+        }
+        MockHttpServletRequest request = loginRequest();
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        filter.doFilter(request, response, new MockFilterChain());
+
+        //then
+        release.countDown();
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(loginExecutor.getRejectedCount()).isEqualTo(1);
+        loginExecutor.shutdown();
+    }
+
+    @Test
+    void testSyncFallbackWhenAsyncIsNotSupported() throws Exception {
+        //given
+        CustomAuthenticationFilter filter = filter(authentication -> {
+            throw new BadCredentialsException("Bad credentials");
+        }, new LoginExecutor(1, 1));
+        MockHttpServletRequest request = loginRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        filter.doFilter(request, response, new MockFilterChain());
+
+        //then
+        assertThat(request.isAsyncStarted()).isFalse();
+        assertThat(response.getStatus()).isEqualTo(400);
+    }
+
+    @Test
+    void testAccountRateLimitRejectsBeforePasswordCheck() throws Exception {
+        //given
+        AtomicInteger attempts = new AtomicInteger();
+        CustomAuthenticationFilter filter = filter(authentication -> {
+            attempts.incrementAndGet();
+            throw new BadCredentialsException("Bad credentials");
+        }, new LoginExecutor(1, 1));
+        filter.setRateLimitFilter(rateLimitFilter(1));
+        filter.doFilter(loginRequest(), new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        filter.doFilter(loginRequest(), response, new MockFilterChain());
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("60");
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testOtherPathsPassThrough() throws Exception {
+        //given
+        CustomAuthenticationFilter filter = filter(authentication -> authentication, new LoginExecutor(1, 1));
+        MockFilterChain chain = new MockFilterChain();
+
+        //when
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/session/user-me"), new MockHttpServletResponse(), chain);
+
+        //then
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    private static CustomAuthenticationFilter filter(AuthenticationManager authenticationManager, LoginExecutor loginExecutor) {
+        CustomAuthenticationFilter filter = new CustomAuthenticationFilter(authenticationManager);
+        filter.setFilterProcessesUrl("/api/v1/login");
+        filter.setLoginRequestParser(new LoginRequestParser(new ObjectMapper(), 4096));
+        filter.setSecurityResponseWriter(new SecurityResponseWriter(new ObjectMapper()));
+        filter.setLoginExecutor(loginExecutor);
+        filter.setRateLimitFilter(rateLimitFilter(1000));
+        ReflectionTestUtils.setField(filter, "asyncTimeout", 10000L);
+        ReflectionTestUtils.setField(filter, "retryAfter", "1");
+        return filter;
+    }
+
+    private static RateLimitFilter rateLimitFilter(int loginsPerAccountPerMinute) {
+        RateLimitFilter rateLimitFilter = new RateLimitFilter(1000, 1000, loginsPerAccountPerMinute, 60000, 1000, 1000);
+        rateLimitFilter.setSecurityResponseWriter(new SecurityResponseWriter(new ObjectMapper()));
+        return rateLimitFilter;
+    }
+
+    private static MockHttpServletRequest loginRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/login");
+        request.setServletPath("/api/v1/login");
+        request.setContentType("application/json");
+        request.setContent("{\"username\":\"yogi\",\"password\":\"wrong\"}".getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static void awaitCompletion(MockHttpServletRequest request) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (request.isAsyncStarted() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.spring.filter;
+
+import com.example.spring.model.requests.LoginRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginRequestParserTest {
+
+    private final LoginRequestParser loginRequestParser = new LoginRequestParser(new ObjectMapper(), 64);
+
+    @Test
+    void testParseLoginRequest() {
+        //given
+        MockHttpServletRequest request = request("application/json;charset=UTF-8",
+                "{\"extra\":{\"a\":[1]},\"username\":\"yogi\",\"password\":\"to\\\"or\"}");
+
+        //when
+        LoginRequest expected = loginRequestParser.parse(request);
+
+        //then
+        assertThat(expected.getUsername()).isEqualTo("yogi");
+        assertThat(expected.getPassword()).isEqualTo("to\"or");
+    }
+
+    @Test
+    void testParseRejectsOversizeDeclaredBody() {
+        //given
+        MockHttpServletRequest request = request("application/json", "{\"username\":\"" + repeat(100) + "\"}");
+
+        //when & then
+        assertThatThrownBy(() -> loginRequestParser.parse(request))
+                .isInstanceOf(AuthenticationServiceException.class)
+                .hasMessageContaining("too large");
+    }
+
+    @Test
+    void testParseRejectsOversizeChunkedBody() {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/login") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+
+            @Override
+            public int getContentLength() {
+                return -1;
+            }
+        };
+        request.setContentType("application/json");
+        request.setContent(("{\"username\":\"" + repeat(100) + "\",\"password\":\"x\"}").getBytes(StandardCharsets.UTF_8));
+
+        //when & then
+        assertThatThrownBy(() -> loginRequestParser.parse(request))
+                .isInstanceOf(AuthenticationServiceException.class)
+                .hasMessageContaining("too large");
+    }
+
+    @Test
+    void testParseRejectsMalformedBody() {
+        //when & then
+        assertThatThrownBy(() -> loginRequestParser.parse(request("application/json", "{\"username\":")))
+                .isInstanceOf(AuthenticationServiceException.class)
+                .hasMessageContaining("Malformed");
+        assertThatThrownBy(() -> loginRequestParser.parse(request("application/json", "[\"yogi\"]")))
+                .isInstanceOf(AuthenticationServiceException.class)
+                .hasMessageContaining("Malformed");
+        assertThatThrownBy(() -> loginRequestParser.parse(request("application/json", "{\"username\":1,\"password\":\"x\"}")))
+                .isInstanceOf(AuthenticationServiceException.class)
+                .hasMessageContaining("Malformed");
+        assertThatThrownBy(() -> loginRequestParser.parse(request("application/json", "{\"username\":\"yogi\"}")))
+                .isInstanceOf(AuthenticationServiceException.class)
+                .hasMessageContaining("required");
+    }
+
+    @Test
+    void testParseRejectsOtherContentType() {
+        //when & then
+        assertThatThrownBy(() -> loginRequestParser.parse(request("text/plain", "{}")))
+                .isInstanceOf(AuthenticationServiceException.class);
+        assertThatThrownBy(() -> loginRequestParser.parse(request(null, "{}")))
+                .isInstanceOf(AuthenticationServiceException.class);
+    }
+
+    private static MockHttpServletRequest request(String contentType, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/login");
+        request.setContentType(contentType);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static String repeat(int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append('a');
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.spring.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private RateLimitFilter rateLimitFilter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimitFilter = new RateLimitFilter(2, 60000, 1, 60000, 1, 60000);
+        rateLimitFilter.setSecurityResponseWriter(new SecurityResponseWriter(new ObjectMapper()));
+    }
+
+    @Test
+    void testLoginLimitedPerIp() throws Exception {
+        //given
+        for (int i = 0; i < 2; i++) {
+            MockFilterChain chain = new MockFilterChain();
+            rateLimitFilter.doFilter(post(RateLimitFilter.LOGIN_PATH, "10.0.0.1"), new MockHttpServletResponse(), chain);
+            assertThat(chain.getRequest()).isNotNull();
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        //when
+        rateLimitFilter.doFilter(post(RateLimitFilter.LOGIN_PATH, "10.0.0.1"), response, chain);
+
+        //then
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("30");
+        assertThat(response.getContentAsString()).contains("Too many requests");
+    }
+
+    @Test
+    void testOtherIpsAndRoutesAreNotAffected() throws Exception {
+        //given
+        for (int i = 0; i < 3; i++) {
+            rateLimitFilter.doFilter(post(RateLimitFilter.LOGIN_PATH, "10.0.0.1"), new MockHttpServletResponse(), new MockFilterChain());
+        }
+        MockFilterChain otherIp = new MockFilterChain();
+        MockFilterChain registration = new MockFilterChain();
+        MockFilterChain userMe = new MockFilterChain();
+
+        //when
+        rateLimitFilter.doFilter(post(RateLimitFilter.LOGIN_PATH, "10.0.0.2"), new MockHttpServletResponse(), otherIp);
+        rateLimitFilter.doFilter(post(RateLimitFilter.REGISTRATION_PATH, "10.0.0.1"), new MockHttpServletResponse(), registration);
+        MockHttpServletRequest get = new MockHttpServletRequest("GET", "/api/v1/session/user-me");
+        get.setServletPath("/api/v1/session/user-me");
+        rateLimitFilter.doFilter(get, new MockHttpServletResponse(), userMe);
+
+        //then
+        assertThat(otherIp.getRequest()).isNotNull();
+        assertThat(registration.getRequest()).isNotNull();
+        assertThat(userMe.getRequest()).isNotNull();
+    }
+
+    @Test
+    void testTrailingAndRepeatedSlashesShareTheRouteLimit() throws Exception {
+        //given
+        rateLimitFilter.doFilter(post(RateLimitFilter.REGISTRATION_PATH, "10.0.0.1"), new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletResponse trailing = new MockHttpServletResponse();
+        MockHttpServletResponse repeated = new MockHttpServletResponse();
+        MockFilterChain trailingChain = new MockFilterChain();
+        MockFilterChain repeatedChain = new MockFilterChain();
+
+        //when
+        rateLimitFilter.doFilter(post(RateLimitFilter.REGISTRATION_PATH + "/", "10.0.0.1"), trailing, trailingChain);
+        rateLimitFilter.doFilter(post("/api//v1/registration//", "10.0.0.1"), repeated, repeatedChain);
+
+        //then
+        assertThat(trailingChain.getRequest()).isNull();
+        assertThat(trailing.getStatus()).isEqualTo(429);
+        assertThat(repeatedChain.getRequest()).isNull();
+        assertThat(repeated.getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void testAccountLimitIgnoresCaseAndCountsRejections() throws Exception {
+        //given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        rateLimitFilter.bindTo(registry);
+        assertThat(rateLimitFilter.rejectAccount("yogi", new MockHttpServletResponse())).isFalse();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        boolean rejected = rateLimitFilter.rejectAccount(" Yogi", response);
+
+        //then
+        assertThat(rejected).isTrue();
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(registry.get("rate.limit.rejected").tags("key", "account", "route", "login")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("rate.limit.rejected").tags("key", "ip", "route", "login")
+                .functionCounter().count()).isEqualTo(0.0);
+    }
+
+    private static MockHttpServletRequest post(String path, String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setServletPath(path);
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.spring.filter;
+
+import com.example.spring.model.response.ApiResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SecurityResponseWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SecurityResponseWriter securityResponseWriter = new SecurityResponseWriter(objectMapper);
+
+    @Test
+    void testWriteErrorMatchesApiResponse() throws Exception {
+        //given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        String message = "Token \"expired\" é\n";
+
+        //when
+        securityResponseWriter.writeError(response, HttpStatus.UNAUTHORIZED, message);
+
+        //then
+        String expected = objectMapper.writeValueAsString(ApiResponse.unauthorized(message));
+        String actual = response.getContentAsString();
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(response.getContentType()).startsWith("application/json");
+        assertThat(response.getContentLength()).isEqualTo(response.getContentAsByteArray().length);
+        assertThat(withoutTimestamp(actual)).isEqualTo(withoutTimestamp(expected));
+        assertThat(objectMapper.readTree(actual).get("timestamp").asText()).matches("\\d{2}-\\d{2}-\\d{4} \\d{2}:\\d{2}:\\d{2}");
+        assertThat(objectMapper.readTree(actual).get("message").asText()).isEqualTo(message);
+    }
+
+    @Test
+    void testWriteErrorWithoutMessage() throws Exception {
+        //given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        securityResponseWriter.writeError(response, HttpStatus.BAD_REQUEST, null);
+
+        //then
+        JsonNode body = objectMapper.readTree(response.getContentAsString());
+        assertThat(body.get("code").asInt()).isEqualTo(400);
+        assertThat(body.get("status").asText()).isEqualTo("Bad Request");
+        assertThat(body.has("message")).isFalse();
+    }
+
+    @Test
+    void testWriteWithData() throws Exception {
+        //given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        securityResponseWriter.write(response, HttpStatus.OK, ApiResponse.ok("Login Successful", Collections.singletonMap("a", "b")));
+
+        //then
+        JsonNode body = objectMapper.readTree(response.getContentAsString());
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(body.get("message").asText()).isEqualTo("Login Successful");
+        assertThat(body.get("data").get("a").asText()).isEqualTo("b");
+    }
+
+    @Test
+    void testMessageCacheStaysBoundedWithDynamicMessages() throws Exception {
+        //given
+        for (int i = 0; i < 10; i++) {
+            securityResponseWriter.writeError(new MockHttpServletResponse(), HttpStatus.UNAUTHORIZED, "Token expired");
+        }
+
+        //when
+        for (int i = 0; i < 1000; i++) {
+            securityResponseWriter.writeError(new MockHttpServletResponse(), HttpStatus.BAD_REQUEST,
+                    "Login Failed, user" + i + " not found");
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        securityResponseWriter.writeError(response, HttpStatus.UNAUTHORIZED, "Token expired");
+
+        //then
+        assertThat(securityResponseWriter.cachedMessages()).isLessThanOrEqualTo(256);
+        assertThat(objectMapper.readTree(response.getContentAsString()).get("message").asText()).isEqualTo("Token expired");
+    }
+
+    private static String withoutTimestamp(String json) {
+        return json.replaceFirst("\"timestamp\":\"[^\"]*\"", "\"timestamp\":\"\"");
+    }
+}
@@ -1,12 +1,28 @@
 package com.example.spring.repository;
 
+import com.example.spring.model.domain.AppRole;
 import com.example.spring.model.domain.AppUser;
+import com.example.spring.model.domain.Role;
+import com.example.spring.model.projection.AppUserCredentialRow;
+import com.example.spring.model.projection.AppUserLogin;
+import com.example.spring.model.projection.AppUserSummary;
+import com.example.spring.model.requests.UserSort;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
@@ -15,6 +31,10 @@ class AppUserRepositoryTest {
 
     @Autowired
     private AppUserRepository appUserRepository;
+    @Autowired
+    private AppRoleRepository appRoleRepository;
+    @Autowired
+    private TestEntityManager testEntityManager;
 
     @BeforeEach
     void setUp() {
@@ -91,4 +111,282 @@ class AppUserRepositoryTest {
         assertThat(expected.isPresent()).isFalse();
         assertThat(expected).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    void testUpdatePassword() {
+        //given
+        AppUser appUser = appUserRepository.save(AppUser.builder()
+                .firstName("Yogi")
+                .lastName("Pratama")
+                .email("mail@gmail.com")
+                .username("yogi")
+                .password("$2a$04$legacy")
+                .build());
+
+        //when
+        int updated = appUserRepository.updatePassword("yogi", "{bcrypt}$2a$10$upgraded");
+
+        //then
+        assertThat(updated).isEqualTo(1);
+        assertThat(appUserRepository.findById(appUser.getId()).get().getPassword())
+                .isEqualTo("{bcrypt}$2a$10$upgraded");
+    }
+
+    @Test
+    void testFindCredentialRowsByUsernameOrEmail() {
+        //given
+        AppRole user = appRoleRepository.save(AppRole.builder().name(Role.ROLE_USER).build());
+        AppRole admin = appRoleRepository.save(AppRole.builder().name(Role.ROLE_ADMIN).build());
+        AppUser appUser = appUserRepository.save(AppUser.builder()
+                .firstName("Yogi")
+                .lastName("Pratama")
+                .email("mail@gmail.com")
+                .username("yogi")
+                .password("toor")
+                .isEnabled(true)
+                .appUserRoles(Arrays.asList(user, admin))
+                .build());
+
+        //when
+        List<AppUserCredentialRow> byUsername = appUserRepository.findCredentialRows("yogi");
+        List<AppUserCredentialRow> byEmail = appUserRepository.findCredentialRows("mail@gmail.com");
+
+        //then
+        assertThat(byUsername.size()).isEqualTo(2);
+        assertThat(byEmail.size()).isEqualTo(2);
+        AppUserCredentialRow row = byUsername.get(0);
+        assertThat(row.getId()).isEqualTo(appUser.getId());
+        assertThat(row.getPassword()).isEqualTo("toor");
+        assertThat(row.getIsEnabled()).isTrue();
+        assertThat(row.getIsLocked()).isFalse();
+        assertThat(byUsername.stream().map(AppUserCredentialRow::getRole).collect(Collectors.toSet()))
+                .isEqualTo(new HashSet<>(Arrays.asList(Role.ROLE_USER, Role.ROLE_ADMIN)));
+    }
+
+    @Test
+    void testFindCredentialRowsWithoutRoles() {
+        //given
+        appUserRepository.save(AppUser.builder()
+                .firstName("Yogi")
+                .lastName("Pratama")
+                .email("mail@gmail.com")
+                .username("yogi")
+                .password("toor")
+                .build());
+
+        //when
+        List<AppUserCredentialRow> rows = appUserRepository.findCredentialRows("yogi");
+
+        //then
+        assertThat(rows.size()).isEqualTo(1);
+        assertThat(rows.get(0).getRole()).isNull();
+        assertThat(appUserRepository.findCredentialRows("unknown").isEmpty()).isTrue();
+    }
+
+    @Test
+    void testStreamLogins() {
+        //given
+        appUserRepository.save(AppUser.builder()
+                .firstName("Yogi")
+                .lastName("Pratama")
+                .email("mail@gmail.com")
+                .username("yogi")
+                .password("toor")
+                .build());
+
+        //when
+        List<AppUserLogin> logins;
+        try (Stream<AppUserLogin> stream = appUserRepository.streamLogins()) {
+            logins = stream.collect(Collectors.toList());
+        }
+
+        //then
+        assertThat(logins.size()).isEqualTo(1);
+        assertThat(logins.get(0)).isEqualTo(new AppUserLogin("yogi", "mail@gmail.com"));
+    }
+
+    @Test
+    void testFindLoginsCreatedAfter() {
+        //given
+        LocalDateTime before = LocalDateTime.now().minusSeconds(1);
+        appUserRepository.save(AppUser.builder()
+                .firstName("Yogi")
+                .lastName("Pratama")
+                .email("mail@gmail.com")
+                .username("yogi")
+                .password("toor")
+                .build());
+
+        //when
+        List<AppUserLogin> created = appUserRepository.findLoginsCreatedAfter(before);
+        List<AppUserLogin> later = appUserRepository.findLoginsCreatedAfter(LocalDateTime.now().plusMinutes(1));
+
+        //then
+        assertThat(created.size()).isEqualTo(1);
+        assertThat(created.get(0)).isEqualTo(new AppUserLogin("yogi", "mail@gmail.com"));
+        assertThat(later.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testFindWithRolesByUsernameFetchesRoles() {
+        //given
+        AppRole user = appRoleRepository.save(AppRole.builder().name(Role.ROLE_USER).build());
+        AppRole admin = appRoleRepository.save(AppRole.builder().name(Role.ROLE_ADMIN).build());
+        appUserRepository.save(AppUser.builder()
+                .firstName("Yogi")
+                .lastName("Pratama")
+                .email("mail@gmail.com")
+                .username("yogi")
+                .password("toor")
+                .appUserRoles(Arrays.asList(user, admin))
+                .build());
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        //when
+        AppUser expected = appUserRepository.findWithRolesByUsername("yogi").get();
+        AppUser withoutRoles = appUserRepository.findById(expected.getId()).get();
+
+        //then
+        assertThat(Hibernate.isInitialized(expected.getAppUserRoles())).isTrue();
+        assertThat(expected.getAppUserRoles().size()).isEqualTo(2);
+        testEntityManager.clear();
+        assertThat(Hibernate.isInitialized(appUserRepository.findById(withoutRoles.getId()).get().getAppUserRoles()))
+                .isFalse();
+    }
+
+    @Test
+    void testExistsByEmailAndUsername() {
+        //given
+        appUserRepository.save(AppUser.builder()
+                .firstName("Yogi")
+                .lastName("Pratama")
+                .email("mail@gmail.com")
+                .username("yogi")
+                .password("toor")
+                .build());
+
+        //when
+        //then
+        assertThat(appUserRepository.existsByEmail("mail@gmail.com")).isTrue();
+        assertThat(appUserRepository.existsByUsername("yogi")).isTrue();
+        assertThat(appUserRepository.existsByEmail("other@gmail.com")).isFalse();
+        assertThat(appUserRepository.existsByUsername("other")).isFalse();
+    }
+
+    @Test
+    void testFindSummariesWithRoles() {
+        //given
+        saveUsers(5);
+
+        //when
+        List<AppUserSummary> users = appUserRepository.findSummaries(UserSort.ID, false, null, 0, 2);
+
+        //then
+        assertThat(usernames(users)).isEqualTo(Arrays.asList("yogi0", "yogi1"));
+        assertThat(users.get(0).getRoles()).isEqualTo(Arrays.asList("ROLE_USER", "ROLE_ADMIN"));
+        assertThat(users.get(1).getRoles()).isEqualTo(Collections.singletonList("ROLE_USER"));
+        assertThat(users.get(1).getEmail()).isEqualTo("mail1@gmail.com");
+        assertThat(users.get(1).getEnabled()).isFalse();
+    }
+
+    @Test
+    void testFindSummariesWithOffset() {
+        //given
+        saveUsers(5);
+
+        //when
+        List<AppUserSummary> users = appUserRepository.findSummaries(UserSort.EMAIL, true, null, 2, 2);
+
+        //then
+        assertThat(usernames(users)).isEqualTo(Arrays.asList("yogi2", "yogi1"));
+    }
+
+    @Test
+    void testFindSummariesAfterKey() {
+        //given
+        saveUsers(5);
+
+        //when
+        List<AppUserSummary> ascending = appUserRepository.findSummaries(UserSort.USERNAME, false, "yogi1", 0, 2);
+        List<AppUserSummary> descending = appUserRepository.findSummaries(UserSort.USERNAME, true, "yogi3", 0, 10);
+
+        //then
+        assertThat(usernames(ascending)).isEqualTo(Arrays.asList("yogi2", "yogi3"));
+        assertThat(usernames(descending)).isEqualTo(Arrays.asList("yogi2", "yogi1", "yogi0"));
+    }
+
+    @Test
+    void testFindSummaryByUsername() {
+        //given
+        saveUsers(2);
+        appUserRepository.save(AppUser.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john@gmail.com")
+                .username("john")
+                .password("toor")
+                .build());
+
+        //when
+        Optional<AppUserSummary> admin = appUserRepository.findSummaryByUsername("yogi0");
+        Optional<AppUserSummary> withoutRoles = appUserRepository.findSummaryByUsername("john");
+
+        //then
+        assertThat(admin.get().getFirstName()).isEqualTo("Yogi");
+        assertThat(admin.get().getRoles()).isEqualTo(Arrays.asList("ROLE_USER", "ROLE_ADMIN"));
+        assertThat(withoutRoles.get().getRoles()).isEqualTo(Collections.emptyList());
+        assertThat(appUserRepository.findSummaryByUsername("other")).isEmpty();
+    }
+
+    @Test
+    void testStreamSummariesMergesRolesPerUser() {
+        //given
+        saveUsers(3);
+        appUserRepository.save(AppUser.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john@gmail.com")
+                .username("john")
+                .password("toor")
+                .build());
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        //when
+        List<AppUserSummary> users;
+        try (Stream<AppUserSummary> stream = appUserRepository.streamSummaries()) {
+            users = stream.collect(Collectors.toList());
+        }
+
+        //then
+        assertThat(usernames(users)).isEqualTo(Arrays.asList("yogi0", "yogi1", "yogi2", "john"));
+        assertThat(users.get(0).getRoles()).isEqualTo(Arrays.asList("ROLE_USER", "ROLE_ADMIN"));
+        assertThat(users.get(1).getRoles()).isEqualTo(Collections.singletonList("ROLE_USER"));
+        assertThat(users.get(3).getRoles()).isEqualTo(Collections.emptyList());
+    }
+
+    /**
+     * yogi0 to yogi{count - 1}, yogi0 is also an admin.
+     */
+    private void saveUsers(int count) {
+        AppRole user = appRoleRepository.save(AppRole.builder().name(Role.ROLE_USER).build());
+        AppRole admin = appRoleRepository.save(AppRole.builder().name(Role.ROLE_ADMIN).build());
+        for (int i = 0; i < count; i++) {
+            appUserRepository.save(AppUser.builder()
+                    .firstName("Yogi")
+                    .lastName("Pratama")
+                    .email("mail" + i + "@gmail.com")
+                    .username("yogi" + i)
+                    .password("toor")
+                    .appUserRoles(new ArrayList<>(i == 0 ? Arrays.asList(user, admin) : Collections.singletonList(user)))
+                    .build());
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    private static List<String> usernames(List<AppUserSummary> users) {
+        return users.stream().map(AppUserSummary::getUsername).collect(Collectors.toList());
+    }
+}
@@ -6,12 +6,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
 class ConfirmationTokenRepositoryTest {
@@ -70,4 +75,62 @@ class ConfirmationTokenRepositoryTest {
         assertThat(expected.isPresent()).isFalse();
         assertThat(expected).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    void testTokenIsUnique() {
+        //given
+        AppUser appUser = appUserRepository.save(appUser());
+        confirmationTokenRepository.saveAndFlush(token(appUser, "token", LocalDateTime.now().plusMinutes(20), null));
+
+        //when & then
+        assertThatThrownBy(() -> confirmationTokenRepository.saveAndFlush(
+                token(appUser, "token", LocalDateTime.now().plusMinutes(20), null)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void testFindReclaimableIdsAndDelete() {
+        //given
+        AppUser appUser = appUserRepository.save(appUser());
+        LocalDateTime now = LocalDateTime.now();
+        ConfirmationToken pending = token(appUser, "pending", now.plusMinutes(20), null);
+        ConfirmationToken expired = token(appUser, "expired", now.minusMinutes(1), null);
+        ConfirmationToken confirmed = token(appUser, "confirmed", now.plusMinutes(20), now.minusMinutes(5));
+        ConfirmationToken expiredToo = token(appUser, "expired-too", now.minusDays(1), null);
+        confirmationTokenRepository.saveAll(Arrays.asList(pending, expired, confirmed, expiredToo));
+
+        //when
+        List<Long> first = confirmationTokenRepository.findReclaimableIds(0, now, PageRequest.of(0, 2));
+        List<Long> second = confirmationTokenRepository.findReclaimableIds(first.get(1), now, PageRequest.of(0, 2));
+        int deleted = confirmationTokenRepository.deleteByIds(first);
+
+        //then
+        assertThat(first).containsExactly(expired.getId(), confirmed.getId());
+        assertThat(second).containsExactly(expiredToo.getId());
+        assertThat(deleted).isEqualTo(2);
+        assertThat(confirmationTokenRepository.findByToken("pending")).isPresent();
+        assertThat(confirmationTokenRepository.findByToken("expired")).isEmpty();
+        assertThat(confirmationTokenRepository.findByToken("expired-too")).isPresent();
+    }
+
+    private static AppUser appUser() {
+        return AppUser.builder()
+                .firstName("yogi")
+                .lastName("pratama")
+                .email("mail@gmail.com")
+                .username("yogi")
+                .password("toor")
+                .build();
+    }
+
+    private static ConfirmationToken token(AppUser appUser, String token, LocalDateTime expiresAt,
+                                           LocalDateTime confirmedAt) {
+        return ConfirmationToken.builder()
+                .appUser(appUser)
+                .token(token)
+                .createdAt(LocalDateTime.now())
+                .expiresAt(expiresAt)
+                .confirmedAt(confirmedAt)
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.spring.repository;
+
+import com.auth0.jwt.JWT;
+import com.example.spring.model.domain.JwtSigningKey;
+import com.example.spring.util.DatabaseJwtKeyStore;
+import com.example.spring.util.JwtKeyRing;
+import com.example.spring.util.JwtKeyStore;
+import com.example.spring.util.VerifiedTokenCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Without the test transaction, so a failed insert does not roll back the rest of the test.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JwtSigningKeyRepositoryTest {
+
+    @Autowired
+    private JwtSigningKeyRepository jwtSigningKeyRepository;
+
+    private DatabaseJwtKeyStore keyStore;
+
+    @BeforeEach
+    void setUp() {
+        jwtSigningKeyRepository.deleteAll();
+        keyStore = new DatabaseJwtKeyStore(jwtSigningKeyRepository, "secret");
+    }
+
+    @Test
+    void testRingSurvivesRestartAndIsSharedByInstances() {
+        //given
+        JwtKeyRing first = keyRing(keyStore);
+        String token = JWT.create().withSubject("yogi").sign(first.getAlgorithm());
+
+        //when
+        // another instance, or the same one after a restart
+        JwtKeyRing second = keyRing(new DatabaseJwtKeyStore(jwtSigningKeyRepository, "secret"));
+
+        //then
+        assertThat(JWT.require(second.getAlgorithm()).build().verify(token).getSubject()).isEqualTo("yogi");
+        assertThat(second.getJwks()).isEqualTo(first.getJwks());
+        assertThat(jwtSigningKeyRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void testPrivateKeyIsEncryptedWithSecret() {
+        //given
+        keyRing(keyStore);
+        JwtSigningKey stored = jwtSigningKeyRepository.findByAlgorithmOrderByGenerationDesc(JwtKeyRing.ES256).get(0);
+
+        //when & then
+        assertThat(stored.getPrivateKey()).isNotEmpty();
+        assertThatThrownBy(() -> new DatabaseJwtKeyStore(jwtSigningKeyRepository, "other").load(JwtKeyRing.ES256))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("jwt-secret");
+    }
+
+    @Test
+    void testOneKeyPerGeneration() {
+        //given
+        keyRing(keyStore);
+        List<JwtKeyStore.StoredKey> keys = keyStore.load(JwtKeyRing.ES256);
+        JwtKeyStore.StoredKey newest = keys.get(0);
+
+        //when
+        boolean added = keyStore.add(JwtKeyRing.ES256, new JwtKeyStore.StoredKey("other", newest.getGeneration(),
+                newest.getCreatedAt(), newest.getKeyPair()));
+
+        //then
+        assertThat(added).isFalse();
+        assertThat(keyStore.load(JwtKeyRing.ES256)).hasSize(2);
+    }
+
+    private static JwtKeyRing keyRing(JwtKeyStore keyStore) {
+        return new JwtKeyRing(JwtKeyRing.ES256, "secret", TimeUnit.DAYS.toMillis(7), TimeUnit.DAYS.toMillis(30),
+                keyStore, new VerifiedTokenCache(true, 100), Clock.systemUTC());
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.spring.repository;
+
+import com.example.spring.model.domain.RefreshTokenFamily;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@DataJpaTest
+class RefreshTokenFamilyRepositoryTest {
+
+    @Autowired
+    private RefreshTokenFamilyRepository refreshTokenFamilyRepository;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenFamilyRepository.deleteAll();
+        refreshTokenFamilyRepository.save(RefreshTokenFamily.builder()
+                .familyId("family")
+                .username("yogi")
+                .currentTokenId("first")
+                .expiresAt(LocalDateTime.now().plusMinutes(30))
+                .build());
+    }
+
+    @Test
+    void testRotateOnlyFromCurrentToken() {
+        //given
+        LocalDateTime now = LocalDateTime.now();
+
+        //when
+        int rotated = refreshTokenFamilyRepository.rotate("family", "first", "second", now, now.plusMinutes(30));
+        int reused = refreshTokenFamilyRepository.rotate("family", "first", "third", now, now.plusMinutes(30));
+
+        //then
+        assertThat(rotated).isEqualTo(1);
+        assertThat(reused).isEqualTo(0);
+        RefreshTokenFamily family = refreshTokenFamilyRepository.findById("family").orElseThrow(IllegalStateException::new);
+        assertThat(family.getCurrentTokenId()).isEqualTo("second");
+        assertThat(family.getPreviousTokenId()).isEqualTo("first");
+    }
+
+    @Test
+    void testRotateRevokedFamily() {
+        //given
+        refreshTokenFamilyRepository.revoke("family");
+
+        //when
+        LocalDateTime now = LocalDateTime.now();
+        int rotated = refreshTokenFamilyRepository.rotate("family", "first", "second", now, now.plusMinutes(30));
+
+        //then
+        assertThat(rotated).isEqualTo(0);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.spring.repository;
+
+import com.example.spring.model.domain.RevokedToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class RevokedTokenRepositoryTest {
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @BeforeEach
+    void setUp() {
+        revokedTokenRepository.deleteAll();
+        revokedTokenRepository.save(revokedToken("active", LocalDateTime.now().plusMinutes(10)));
+        revokedTokenRepository.save(revokedToken("expired", LocalDateTime.now().minusMinutes(10)));
+    }
+
+    @Test
+    void testStreamActiveTokenIds() {
+        //given
+        //when
+        List<String> tokenIds;
+        try (Stream<String> stream = revokedTokenRepository.streamActiveTokenIds(LocalDateTime.now())) {
+            tokenIds = stream.collect(Collectors.toList());
+        }
+
+        //then
+        assertThat(tokenIds).containsExactly("active");
+    }
+
+    @Test
+    void testDeleteExpired() {
+        //given
+        //when
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+
+        //then
+        assertThat(deleted).isEqualTo(1);
+        assertThat(revokedTokenRepository.existsById("active")).isTrue();
+        assertThat(revokedTokenRepository.existsById("expired")).isFalse();
+    }
+
+    @Test
+    void testFindTokenIdsRevokedAfter() {
+        //given
+        RevokedToken earlier = revokedToken("earlier", LocalDateTime.now().plusMinutes(10));
+        earlier.setRevokedAt(LocalDateTime.now().minusMinutes(10));
+        revokedTokenRepository.save(earlier);
+
+        //when
+        List<String> tokenIds = revokedTokenRepository.findTokenIdsRevokedAfter(LocalDateTime.now().minusMinutes(5));
+
+        //then
+        assertThat(tokenIds).containsExactlyInAnyOrder("active", "expired");
+    }
+
+    private static RevokedToken revokedToken(String tokenId, LocalDateTime expiresAt) {
+        return RevokedToken.builder()
+                .tokenId(tokenId)
+                .username("yogi")
+                .revokedAt(LocalDateTime.now())
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.spring.service;
+
+import com.example.spring.model.projection.AppUserLogin;
+import com.example.spring.repository.AppUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class AccountExistenceServiceTest {
+
+    @Mock
+    private AppUserRepository appUserRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private AccountExistenceService accountExistenceService;
+
+    @BeforeEach
+    void setUp() {
+        accountExistenceService = new AccountExistenceService(appUserRepository, transactionManager, 1000, 0.001, 60_000);
+    }
+
+    @Test
+    void testRebuildLoadsUsernamesAndEmails() {
+        //given
+        given(appUserRepository.streamLogins()).willReturn(Stream.of(new AppUserLogin("yogi", "Mail@Gmail.com")));
+
+        //when
+        accountExistenceService.init();
+
+        //then
+        assertThat(accountExistenceService.mightExist("yogi")).isTrue();
+        assertThat(accountExistenceService.mightExist(" mail@gmail.com")).isTrue();
+        assertThat(accountExistenceService.mightExist("YOGI")).isTrue();
+        assertThat(accountExistenceService.mightExist("john")).isFalse();
+        assertThat(accountExistenceService.mightExist(null)).isFalse();
+    }
+
+    @Test
+    void testAddMakesNewAccountVisible() {
+        //given
+        given(appUserRepository.streamLogins()).willReturn(Stream.empty());
+        accountExistenceService.init();
+
+        //when
+        accountExistenceService.add("john", "john@gmail.com");
+
+        //then
+        assertThat(accountExistenceService.mightExist("john")).isTrue();
+        assertThat(accountExistenceService.mightExist("john@gmail.com")).isTrue();
+    }
+
+    @Test
+    void testEverythingMightExistBeforeFirstBuild() {
+        //when
+        //then
+        assertThat(accountExistenceService.mightExist("anyone")).isTrue();
+    }
+
+    @Test
+    void testSyncPicksUpAccountsCreatedByOtherInstances() {
+        //given
+        given(appUserRepository.streamLogins()).willReturn(Stream.empty());
+        LocalDateTime before = LocalDateTime.now();
+        accountExistenceService.init();
+        given(appUserRepository.findLoginsCreatedAfter(any()))
+                .willReturn(Collections.singletonList(new AppUserLogin("john", "john@gmail.com")));
+
+        //when
+        accountExistenceService.sync();
+
+        //then
+        assertThat(accountExistenceService.mightExist("john")).isTrue();
+        assertThat(accountExistenceService.mightExist("john@gmail.com")).isTrue();
+        ArgumentCaptor<LocalDateTime> after = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(appUserRepository).findLoginsCreatedAfter(after.capture());
+        assertThat(after.getValue()).isBetween(before.minusMinutes(1), LocalDateTime.now().minusMinutes(1));
+    }
+
+    @Test
+    void testSyncWaitsForFirstLoad() {
+        //when
+        accountExistenceService.sync();
+
+        //then
+        verifyNoInteractions(appUserRepository);
+    }
+
+    @Test
+    void testRebuildPicksUpAccountsSavedElsewhereAndDropsDeletedOnes() {
+        //given
+        given(appUserRepository.streamLogins())
+                .willReturn(Stream.of(new AppUserLogin("yogi", "mail@gmail.com")))
+                .willReturn(Stream.of(new AppUserLogin("john", "john@gmail.com")));
+        accountExistenceService.init();
+
+        //when
+        accountExistenceService.rebuild();
+
+        //then
+        assertThat(accountExistenceService.mightExist("john")).isTrue();
+        assertThat(accountExistenceService.mightExist("john@gmail.com")).isTrue();
+        assertThat(accountExistenceService.mightExist("yogi")).isFalse();
+    }
+}
@@ -1,112 +1,155 @@
 package com.example.spring.service;
 
+import com.example.spring.exception.ApiBadRequestException;
 import com.example.spring.exception.ApiConflictException;
 import com.example.spring.exception.ApiNotFoundException;
-import com.example.spring.model.domain.AppRole;
 import com.example.spring.model.domain.AppUser;
 import com.example.spring.model.domain.Role;
+import com.example.spring.model.projection.AppUserCredentialRow;
+import com.example.spring.model.projection.AppUserCredentials;
+import com.example.spring.model.projection.AppUserSummary;
+import com.example.spring.model.requests.UserExportFormat;
+import com.example.spring.model.requests.UserSort;
 import com.example.spring.model.response.UserInfoResponse;
+import com.example.spring.model.response.UserPageResponse;
 import com.example.spring.repository.AppRoleRepository;
 import com.example.spring.repository.AppUserRepository;
+import com.example.spring.util.KeysetCursor;
+import com.example.spring.util.RoleAuthorities;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class AppUserServiceTest {
 
     @Mock
-    private BCryptPasswordEncoder bCryptPasswordEncoder;
+    private PasswordEncoder passwordEncoder;
     @Mock
     private AppUserRepository appUserRepository;
     @Mock
     private AppRoleRepository appRoleRepository;
+    @Mock
+    private AccountExistenceService accountExistenceService;
     @InjectMocks
     private AppUserService appUserService;
 
     @Test
     void testLoadUserByUsernameSuccessFoundEmail() {
         //given
+        given(accountExistenceService.mightExist(anyString())).willReturn(true);
         String email = "mail@gmail.com";
-        AppUser appUser = AppUser.builder()
-                .id(1L)
-                .firstName("Yogi")
-                .lastName("Pratama")
-                .email("mail@gmail.com")
-                .username("yogi")
-                .password("toor")
-                .build();
-        given(appUserRepository.findByEmail(email)).willReturn(Optional.of(appUser));
+        given(appUserRepository.findCredentialRows(email)).willReturn(Arrays.asList(
+                new AppUserCredentialRow(1L, "yogi", email, "toor", true, false, Role.ROLE_USER),
+                new AppUserCredentialRow(1L, "yogi", email, "toor", true, false, Role.ROLE_ADMIN)));
 
         //when
         UserDetails expected = appUserService.loadUserByUsername(email);
 
         //then
-        verify(appUserRepository, times(1)).findByEmail(email);
+        verify(appUserRepository, times(1)).findCredentialRows(email);
+        verify(appUserRepository, never()).findByEmail(email);
         verify(appUserRepository, never()).findByUsername(email);
-        assertEquals(expected, appUser);
+        assertThat(expected.getUsername()).isEqualTo("yogi");
+        assertThat(expected.getPassword()).isEqualTo("toor");
+        assertThat(expected.isEnabled()).isTrue();
+        assertThat(expected.isAccountNonLocked()).isTrue();
+        assertThat(expected.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.toList()))
+                .isEqualTo(Arrays.asList("ROLE_USER", "ROLE_ADMIN"));
     }
 
     @Test
     void testLoadUserByUsernameSuccessFoundUsername() {
         //given
-        String email = "mail@gmail.com";
-        AppUser appUser = AppUser.builder()
-                .id(1L)
-                .firstName("Yogi")
-                .lastName("Pratama")
-                .email("mail@gmail.com")
-                .username("yogi")
-                .password("toor")
-                .build();
-        given(appUserRepository.findByEmail(email)).willReturn(Optional.empty());
-        given(appUserRepository.findByUsername(email)).willReturn(Optional.of(appUser));
+        given(accountExistenceService.mightExist(anyString())).willReturn(true);
+        String username = "yogi";
+        given(appUserRepository.findCredentialRows(username)).willReturn(Collections.singletonList(
+                new AppUserCredentialRow(1L, username, "mail@gmail.com", "toor", false, true, null)));
 
         //when
-        UserDetails expected = appUserService.loadUserByUsername(email);
+        UserDetails expected = appUserService.loadUserByUsername(username);
 
         //then
-        verify(appUserRepository, times(1)).findByEmail(email);
-        verify(appUserRepository, times(1)).findByUsername(email);
-        assertEquals(expected, appUser);
+        verify(appUserRepository, times(1)).findCredentialRows(username);
+        assertThat(expected.getUsername()).isEqualTo(username);
+        assertThat(expected.isEnabled()).isFalse();
+        assertThat(expected.isAccountNonLocked()).isFalse();
+        assertThat(expected.getAuthorities().isEmpty()).isTrue();
+    }
+
+    @Test
+    void testLoadUserByUsernamePrefersEmailMatch() {
+        //given
+        given(accountExistenceService.mightExist(anyString())).willReturn(true);
+        String login = "mail@gmail.com";
+        given(appUserRepository.findCredentialRows(login)).willReturn(Arrays.asList(
+                new AppUserCredentialRow(1L, login, "other@gmail.com", "first", true, false, Role.ROLE_USER),
+                new AppUserCredentialRow(2L, "yogi", login, "second", true, false, Role.ROLE_ADMIN)));
+
+        //when
+        UserDetails expected = appUserService.loadUserByUsername(login);
+
+        //then
+        assertThat(expected.getUsername()).isEqualTo("yogi");
+        assertThat(expected.getPassword()).isEqualTo("second");
+        assertThat(expected.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.toList()))
+                .isEqualTo(Collections.singletonList("ROLE_ADMIN"));
     }
 
     @Test
     void testLoadUserByUsernameNotExists() {
         //given
+        given(accountExistenceService.mightExist(anyString())).willReturn(true);
         String email = "mail@gmail.com";
-        given(appUserRepository.findByEmail(email)).willReturn(Optional.empty());
-        given(appUserRepository.findByUsername(email)).willReturn(Optional.empty());
+        given(appUserRepository.findCredentialRows(email)).willReturn(Collections.emptyList());
 
         //when & then
         assertThatThrownBy(() -> appUserService.loadUserByUsername(email))
                 .hasMessage("User with username or email %s not found", email)
                 .isInstanceOf(AuthenticationCredentialsNotFoundException.class);
-        verify(appUserRepository, times(1)).findByEmail(email);
-        verify(appUserRepository, times(1)).findByUsername(email);
+        verify(appUserRepository, times(1)).findCredentialRows(email);
 
     }
 
+    @Test
+    void testLoadUserByUsernameUnknownSkipsQuery() {
+        //given
+        String email = "unknown@gmail.com";
+        given(accountExistenceService.mightExist(email)).willReturn(false);
+
+        //when & then
+        assertThatThrownBy(() -> appUserService.loadUserByUsername(email))
+                .hasMessage("User with username or email %s not found", email)
+                .isInstanceOf(AuthenticationCredentialsNotFoundException.class);
+        verifyNoInteractions(appUserRepository);
+    }
+
     @Test
     void testSetUserEnable() {
         //given
@@ -169,9 +212,25 @@ class AppUserServiceTest {
 
     }
 
+    @Test
+    void testUpdatePasswordStoresUpgradedHash() {
+        //given
+        AppUserCredentials credentials = new AppUserCredentials(1L, "yogi", "$2a$04$legacy", true, false, 0);
+        String upgradedPassword = "{bcrypt}$2a$10$upgraded";
+
+        //when
+        UserDetails expected = appUserService.updatePassword(credentials, upgradedPassword);
+
+        //then
+        verify(appUserRepository, times(1)).updatePassword("yogi", upgradedPassword);
+        assertThat(expected.getPassword()).isEqualTo(upgradedPassword);
+        assertThat(expected.getUsername()).isEqualTo("yogi");
+    }
+
     @Test
     void testSaveUserSuccess() {
         //given
+        given(accountExistenceService.mightExist(anyString())).willReturn(true);
         String bcryptedPassword = "$2a$10$LU6VqxccBFMpCu9WTE7tAOWIwRBN9Uu9J0iqMMhSCI1SXVclFA2UW";
         AppUser appUser = AppUser.builder()
                 .id(1L)
@@ -181,17 +240,18 @@ class AppUserServiceTest {
                 .username("yogi")
                 .password("toor")
                 .build();
-        given(bCryptPasswordEncoder.encode(appUser.getPassword()))
+        given(passwordEncoder.encode(appUser.getPassword()))
                 .willReturn(bcryptedPassword);
 
         //when
         appUserService.saveUser(appUser);
 
         // then
-        verify(appUserRepository, times(1)).findByEmail(appUser.getEmail());
-        verify(appUserRepository, times(1)).findByUsername(appUser.getUsername());
+        verify(appUserRepository, times(1)).existsByEmail(appUser.getEmail());
+        verify(appUserRepository, times(1)).existsByUsername(appUser.getUsername());
         verify(appRoleRepository, times(1)).findByName(Role.ROLE_USER);
-        verify(bCryptPasswordEncoder, times(1)).encode(isA(String.class));
+        verify(passwordEncoder, times(1)).encode(isA(String.class));
+        verify(accountExistenceService, times(1)).add(appUser.getUsername(), appUser.getEmail());
         ArgumentCaptor<AppUser> argumentCaptor = ArgumentCaptor.forClass(AppUser.class);
         verify(appUserRepository, times(1)).save(argumentCaptor.capture());
         AppUser value = argumentCaptor.getValue();
@@ -199,9 +259,51 @@ class AppUserServiceTest {
         assertThat(value.getPassword()).isEqualTo(bcryptedPassword);
     }
 
+    @Test
+    void testSaveUserAccountUnknownToFilterButTakenIsConflict() {
+        //given
+        given(accountExistenceService.mightExist(anyString())).willReturn(false);
+        willThrow(new DataIntegrityViolationException("uk_app_user_username")).given(appUserRepository).flush();
+        AppUser appUser = AppUser.builder()
+                .firstName("Yogi")
+                .lastName("Pratama")
+                .email("mail@gmail.com")
+                .username("yogi")
+                .password("toor")
+                .build();
+
+        //when & then
+        assertThatThrownBy(() -> appUserService.saveUser(appUser))
+                .isInstanceOf(ApiConflictException.class)
+                .hasMessage("Username yogi or email mail@gmail.com is already exist");
+        verify(appUserRepository, times(1)).save(appUser);
+    }
+
+    @Test
+    void testSaveUserUnknownAccountSkipsQueries() {
+        //given
+        given(accountExistenceService.mightExist(anyString())).willReturn(false);
+        AppUser appUser = AppUser.builder()
+                .firstName("Yogi")
+                .lastName("Pratama")
+                .email("mail@gmail.com")
+                .username("yogi")
+                .password("toor")
+                .build();
+
+        //when
+        appUserService.saveUser(appUser);
+
+        //then
+        verify(appUserRepository, never()).existsByEmail(anyString());
+        verify(appUserRepository, never()).existsByUsername(anyString());
+        verify(appUserRepository, times(1)).save(appUser);
+    }
+
     @Test
     void testSaveUserEmailAlreadyExists() {
         //given
+        given(accountExistenceService.mightExist(anyString())).willReturn(true);
         AppUser appUser = AppUser.builder()
                 .id(1L)
                 .firstName("Yogi")
@@ -210,22 +312,22 @@ class AppUserServiceTest {
                 .username("yogi")
                 .password("toor")
                 .build();
-        given(appUserRepository.findByEmail(appUser.getEmail())).willReturn(Optional.of(appUser));
+        given(appUserRepository.existsByEmail(appUser.getEmail())).willReturn(true);
 
         //when & then
         assertThatThrownBy(() -> appUserService.saveUser(appUser))
                 .hasMessage("Email %s is already exist", appUser.getEmail())
                 .isInstanceOf(ApiConflictException.class);
-        verify(appUserRepository, times(1)).findByEmail(appUser.getEmail());
-        verify(appUserRepository, never()).findByUsername(appUser.getUsername());
-        verify(appUserRepository, never()).findByUsername(appUser.getUsername());
-        verify(bCryptPasswordEncoder, never()).encode(isA(String.class));
+        verify(appUserRepository, times(1)).existsByEmail(appUser.getEmail());
+        verify(appUserRepository, never()).existsByUsername(appUser.getUsername());
+        verify(passwordEncoder, never()).encode(isA(String.class));
         verify(appUserRepository, never()).save(appUser);
     }
 
     @Test
     void testSaveUserUsernameAlreadyExists() {
         //given
+        given(accountExistenceService.mightExist(anyString())).willReturn(true);
         AppUser appUser = AppUser.builder()
                 .id(1L)
                 .firstName("Yogi")
@@ -234,17 +336,16 @@ class AppUserServiceTest {
                 .username("yogi")
                 .password("toor")
                 .build();
-        given(appUserRepository.findByUsername(appUser.getUsername()))
-                .willReturn(Optional.of(appUser));
+        given(appUserRepository.existsByUsername(appUser.getUsername())).willReturn(true);
 
         //when & then
         assertThatThrownBy(() -> appUserService.saveUser(appUser))
                 .hasMessage("Username %s is already exist", appUser.getUsername())
                 .isInstanceOf(ApiConflictException.class);
-        verify(appUserRepository, times(1)).findByEmail(appUser.getEmail());
-        verify(appUserRepository, times(1)).findByUsername(appUser.getUsername());
+        verify(appUserRepository, times(1)).existsByEmail(appUser.getEmail());
+        verify(appUserRepository, times(1)).existsByUsername(appUser.getUsername());
         verify(appRoleRepository, never()).findByName(Role.ROLE_USER);
-        verify(bCryptPasswordEncoder, never()).encode(isA(String.class));
+        verify(passwordEncoder, never()).encode(isA(String.class));
         verify(appUserRepository, never()).save(appUser);
     }
 
@@ -260,14 +361,14 @@ class AppUserServiceTest {
                 .username(username)
                 .password("toor")
                 .build();
-        given(appUserRepository.findByUsername(username))
+        given(appUserRepository.findWithRolesByUsername(username))
                 .willReturn(Optional.of(appUser));
 
         //when
         AppUser expected = appUserService.findByUsername(username);
 
         //then
-        verify(appUserRepository, times(1)).findByUsername(username);
+        verify(appUserRepository, times(1)).findWithRolesByUsername(username);
         assertThat(expected).isEqualTo(appUser);
     }
 
@@ -275,7 +376,7 @@ class AppUserServiceTest {
     void testFindByUsernameNotExists() {
         //given
         String username = "yogi";
-        given(appUserRepository.findByUsername(username))
+        given(appUserRepository.findWithRolesByUsername(username))
                 .willReturn(Optional.empty());
 
         //when & then
@@ -288,73 +389,105 @@ class AppUserServiceTest {
     void testGetUserInfoByUsernameExists() {
         //given
         String username = "yogi";
-        AppUser appUser = AppUser.builder()
-                .id(1L)
-                .firstName("Yogi")
-                .lastName("Pratama")
-                .email("mail@gmail.com")
-                .username(username)
-                .password("toor")
-                .build();
-        given(appUserRepository.findByUsername(username))
-                .willReturn(Optional.of(appUser));
+        AppUserSummary summary = summary(1L, username, Role.ROLE_USER, Role.ROLE_ADMIN);
+        given(appUserRepository.findSummaryByUsername(username))
+                .willReturn(Optional.of(summary));
         UserInfoResponse userInfoResponse = UserInfoResponse.builder()
-                .firstName(appUser.getFirstName())
-                .lastName(appUser.getLastName())
-                .userName(appUser.getUsername())
-                .email(appUser.getEmail())
-                .roles(appUser.getAppUserRoles().stream().map(AppRole::getName).collect(Collectors.toList()))
+                .firstName(summary.getFirstName())
+                .lastName(summary.getLastName())
+                .userName(username)
+                .email(summary.getEmail())
+                .roles(Arrays.asList(Role.ROLE_USER, Role.ROLE_ADMIN))
                 .build();
 
         //when
         UserInfoResponse expected = appUserService.getUserInfoByUsername(username);
 
         //then
-        verify(appUserRepository, times(1)).findByUsername(username);
+        verify(appUserRepository, times(1)).findSummaryByUsername(username);
+        verify(appUserRepository, never()).findWithRolesByUsername(username);
         assertThat(expected).isEqualTo(userInfoResponse);
     }
 
+    @Test
+    void testGetUserInfoByUsernameNotExists() {
+        //given
+        String username = "yogi";
+        given(appUserRepository.findSummaryByUsername(username))
+                .willReturn(Optional.empty());
+
+        //when & then
+        assertThatThrownBy(() -> appUserService.getUserInfoByUsername(username))
+                .hasMessage("User with username %s not found", username)
+                .isInstanceOf(ApiNotFoundException.class);
+    }
+
     @Test
     void testFindAllExist() {
         //given
-        List<AppUser> appUsers = Arrays.asList(
-                AppUser.builder()
-                        .id(1L)
-                        .firstName("Yogi")
-                        .lastName("Pratama")
-                        .email("yogi@gmail.com")
-                        .username("yogi")
-                        .password("toor")
-                        .build(),
-                AppUser.builder()
-                        .id(2L)
-                        .firstName("John")
-                        .lastName("Doe")
-                        .email("john@gmail.com")
-                        .username("john")
-                        .password("toor")
-                        .build(),
-                AppUser.builder()
-                        .id(3L)
-                        .firstName("James")
-                        .lastName("Smith")
-                        .email("james@gmail.com")
-                        .username("jamessmith")
-                        .password("toor")
-                        .build()
-        );
+        List<AppUserSummary> summaries = Arrays.asList(
+                summary(1L, "yogi", Role.ROLE_USER),
+                summary(2L, "john", Role.ROLE_USER),
+                summary(3L, "jamessmith", Role.ROLE_USER, Role.ROLE_ADMIN));
         int page = 0;
         int size = 3;
-        given(appUserRepository.findAll(PageRequest.of(page, size)))
-                .willReturn(new PageImpl<>(appUsers));
+        given(appUserRepository.findSummaries(UserSort.ID, false, null, 0, size + 1))
+                .willReturn(summaries);
+
+        //when
+        UserPageResponse expected = appUserService.findPage(null, page, size, UserSort.ID, Sort.Direction.ASC, false);
+
+        //then
+        verify(appUserRepository, times(1)).findSummaries(UserSort.ID, false, null, 0, size + 1);
+        verify(appUserRepository, never()).count();
+        assertThat(expected.getUsers()).isEqualTo(summaries);
+        assertThat(expected.getNextCursor()).isNull();
+        assertThat(expected.getTotal()).isNull();
+    }
+
+    @Test
+    void testFindPageReturnsCursorOfLastUser() {
+        //given
+        List<AppUserSummary> summaries = Arrays.asList(
+                summary(1L, "carol"), summary(2L, "bob"), summary(3L, "alice"));
+        given(appUserRepository.findSummaries(UserSort.USERNAME, true, null, 0, 3))
+                .willReturn(summaries);
+        given(appUserRepository.count()).willReturn(3L);
+
+        //when
+        UserPageResponse expected = appUserService.findPage(null, 0, 2, UserSort.USERNAME, Sort.Direction.DESC, true);
+
+        //then
+        assertThat(expected.getUsers()).isEqualTo(summaries.subList(0, 2));
+        assertThat(expected.getTotal()).isEqualTo(3L);
+        KeysetCursor cursor = KeysetCursor.decode(expected.getNextCursor(), UserSort.USERNAME, true);
+        assertThat(cursor.getAfter()).isEqualTo("bob");
+    }
+
+    @Test
+    void testFindPageContinuesAfterCursor() {
+        //given
+        String cursor = new KeysetCursor(UserSort.ID, false, 42L).encode();
+        given(appUserRepository.findSummaries(UserSort.ID, false, 42L, 0, 3))
+                .willReturn(Collections.singletonList(summary(43L, "yogi")));
 
         //when
-        List<AppUser> expected = appUserService.findAll(page, size);
+        UserPageResponse expected = appUserService.findPage(cursor, 5, 2, UserSort.ID, Sort.Direction.ASC, false);
 
         //then
-        verify(appUserRepository, times(1)).findAll(PageRequest.of(page, size));
-        assertThat(expected).isEqualTo(appUsers);
-        assertThat(expected.size()).isEqualTo(size);
+        assertThat(expected.getUsers().size()).isEqualTo(1);
+        assertThat(expected.getNextCursor()).isNull();
+    }
+
+    @Test
+    void testFindPageRejectsCursorOfOtherSort() {
+        //given
+        String cursor = new KeysetCursor(UserSort.ID, false, 42L).encode();
+
+        //when & then
+        assertThatThrownBy(() -> appUserService.findPage(cursor, 0, 2, UserSort.EMAIL, Sort.Direction.ASC, false))
+                .isInstanceOf(ApiBadRequestException.class);
+        verify(appUserRepository, never()).findSummaries(any(), anyBoolean(), any(), anyInt(), anyInt());
     }
 
     @Test
@@ -362,14 +495,33 @@ class AppUserServiceTest {
         //given
         int page = 0;
         int size = 3;
-        given(appUserRepository.findAll(PageRequest.of(page, size)))
-                .willReturn(Page.empty());
+        given(appUserRepository.findSummaries(UserSort.ID, false, null, 0, size + 1))
+                .willReturn(Collections.emptyList());
 
         //when & then
-        assertThatThrownBy(() -> appUserService.findAll(page, size))
+        assertThatThrownBy(() -> appUserService.findPage(null, page, size, UserSort.ID, Sort.Direction.ASC, false))
                 .hasMessage("No user found")
                 .isInstanceOf(ApiNotFoundException.class);
-        verify(appUserRepository, times(1)).findAll(PageRequest.of(page, size));
+        verify(appUserRepository, never()).count();
+    }
+
+    @Test
+    void testExportUsers() throws IOException {
+        //given
+        given(appUserRepository.streamSummaries()).willReturn(Stream.of(
+                summary(1L, "yogi", Role.ROLE_USER, Role.ROLE_ADMIN),
+                summary(2L, "john", Role.ROLE_USER)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        long expected = appUserService.exportUsers(UserExportFormat.CSV, out);
+
+        //then
+        assertThat(expected).isEqualTo(2L);
+        assertThat(out.toString(StandardCharsets.UTF_8.name())).isEqualTo(
+                "id,firstName,lastName,username,email,enabled,locked,roles\r\n"
+                        + "1,First,Last,yogi,yogi@gmail.com,true,false,ROLE_USER;ROLE_ADMIN\r\n"
+                        + "2,First,Last,john,john@gmail.com,true,false,ROLE_USER\r\n");
     }
 
     @Test
@@ -410,5 +562,12 @@ class AppUserServiceTest {
         ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
         verify(appUserRepository, times(1)).saveAll(captor.capture());
         assertThat(captor.getValue()).isEqualTo(appUsers);
+        verify(accountExistenceService, times(1)).add("john", "john@gmail.com");
+    }
+
+    private static AppUserSummary summary(Long id, String username, Role... roles) {
+        List<String> names = Arrays.stream(roles).map(Role::name).collect(Collectors.toList());
+        return new AppUserSummary(id, "First", "Last", username, username + "@gmail.com", true, false,
+                (long) RoleAuthorities.mask(names));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,94 @@
+package com.example.spring.service;
+
+import com.example.spring.repository.ConfirmationTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ConfirmationTokenReaperTest {
+
+    @Mock
+    private ConfirmationTokenRepository confirmationTokenRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private ConfirmationTokenReaper confirmationTokenReaper;
+
+    @BeforeEach
+    void setUp() {
+        confirmationTokenReaper = new ConfirmationTokenReaper(confirmationTokenRepository, transactionManager, 2, 2);
+    }
+
+    @Test
+    void testReapStopsAfterMaxBatchesAndContinuesNextRun() {
+        //given
+        List<Long> first = Arrays.asList(1L, 3L);
+        List<Long> second = Arrays.asList(4L, 7L);
+        List<Long> third = Collections.singletonList(9L);
+        given(confirmationTokenRepository.findReclaimableIds(eq(0L), any(), eq(PageRequest.of(0, 2)))).willReturn(first);
+        given(confirmationTokenRepository.findReclaimableIds(eq(3L), any(), any())).willReturn(second);
+        given(confirmationTokenRepository.findReclaimableIds(eq(7L), any(), any())).willReturn(third);
+        given(confirmationTokenRepository.deleteByIds(any())).willAnswer(invocation ->
+                invocation.<List<Long>>getArgument(0).size());
+
+        //when
+        long firstRun = confirmationTokenReaper.reap();
+        long secondRun = confirmationTokenReaper.reap();
+
+        //then
+        assertThat(firstRun).isEqualTo(4);
+        assertThat(secondRun).isEqualTo(1);
+        verify(confirmationTokenRepository, times(1)).deleteByIds(third);
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void testReapStartsOverAfterReachingTheEnd() {
+        //given
+        given(confirmationTokenRepository.findReclaimableIds(anyLong(), any(), any())).willReturn(Collections.emptyList());
+
+        //when
+        long deleted = confirmationTokenReaper.reap();
+        confirmationTokenReaper.reap();
+
+        //then
+        assertThat(deleted).isEqualTo(0);
+        verify(confirmationTokenRepository, times(2)).findReclaimableIds(eq(0L), any(), any());
+        verify(confirmationTokenRepository, never()).deleteByIds(any());
+    }
+
+    @Test
+    void testReapPublishesMetrics() {
+        //given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        confirmationTokenReaper.bindTo(registry);
+        given(confirmationTokenRepository.findReclaimableIds(anyLong(), any(), any()))
+                .willReturn(Collections.singletonList(5L));
+        given(confirmationTokenRepository.deleteByIds(any())).willReturn(1);
+
+        //when
+        confirmationTokenReaper.reap();
+
+        //then
+        assertThat(registry.get("confirmation.token.reaper.reclaimed").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("confirmation.token.reaper.batch").functionTimer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.spring.service;
+
+import com.example.spring.exception.ApiBadRequestException;
+import com.example.spring.exception.ApiConflictException;
+import com.example.spring.exception.ApiUnauthorizedException;
+import com.example.spring.model.domain.JwtPrincipal;
+import com.example.spring.model.domain.RefreshTokenFamily;
+import com.example.spring.model.projection.AppUserCredentials;
+import com.example.spring.model.projection.AppUserSummary;
+import com.example.spring.model.response.LoginResponse;
+import com.example.spring.model.response.TokenResponse;
+import com.example.spring.repository.RefreshTokenFamilyRepository;
+import com.example.spring.util.JWTUtil;
+import com.example.spring.util.JwtClaims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenFamilyRepository refreshTokenFamilyRepository;
+    @Mock
+    private AppUserService userService;
+    @Mock
+    private JWTUtil jwtUtil;
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+    private RefreshTokenService refreshTokenService;
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/session/refresh-token");
+    private final AppUserSummary summary = new AppUserSummary(1L, "Yogi", "Gan", "yogi", "yogi@gmail.com",
+            true, false, 1L);
+    private final AppUserCredentials appUser = AppUserCredentials.withoutPassword(summary);
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(refreshTokenFamilyRepository, userService, jwtUtil,
+                tokenRevocationService, 10000);
+    }
+
+    @Test
+    void testLoginStartsFamily() {
+        //given
+        given(jwtUtil.createTokens(eq(appUser), eq(request), anyString(), anyString())).willReturn(loginResponse());
+
+        //when
+        refreshTokenService.login(appUser, request);
+
+        //then
+        ArgumentCaptor<RefreshTokenFamily> captor = ArgumentCaptor.forClass(RefreshTokenFamily.class);
+        verify(refreshTokenFamilyRepository, times(1)).save(captor.capture());
+        assertThat(captor.getValue().getUsername()).isEqualTo("yogi");
+        assertThat(captor.getValue().isRevoked()).isFalse();
+    }
+
+    @Test
+    void testRotateRetiresPresentedToken() {
+        //given
+        ArgumentCaptor<String> tokenId = ArgumentCaptor.forClass(String.class);
+        given(jwtUtil.createTokens(eq(appUser), eq(request), anyString(), tokenId.capture())).willReturn(loginResponse());
+        given(userService.findSummaryByUsername("yogi")).willReturn(summary);
+        given(refreshTokenFamilyRepository.rotate(anyString(), anyString(), anyString(), any(), any())).willReturn(1);
+        refreshTokenService.login(appUser, request);
+        String familyId = familyId();
+        String first = tokenId.getAllValues().get(0);
+
+        //when
+        refreshTokenService.rotate(refreshToken(familyId, first), request);
+
+        //then
+        String second = tokenId.getAllValues().get(1);
+        verify(refreshTokenFamilyRepository, times(1)).rotate(eq(familyId), eq(first), eq(second), any(), any());
+        verify(refreshTokenFamilyRepository, never()).findById(any());
+    }
+
+    @Test
+    void testRotateRejectsRecentlyRotatedTokenWithoutRevoking() {
+        //given
+        ArgumentCaptor<String> tokenId = ArgumentCaptor.forClass(String.class);
+        given(jwtUtil.createTokens(eq(appUser), eq(request), anyString(), tokenId.capture())).willReturn(loginResponse());
+        given(userService.findSummaryByUsername("yogi")).willReturn(summary);
+        given(refreshTokenFamilyRepository.rotate(anyString(), anyString(), anyString(), any(), any())).willReturn(1);
+        refreshTokenService.login(appUser, request);
+        String familyId = familyId();
+        String first = tokenId.getAllValues().get(0);
+        refreshTokenService.rotate(refreshToken(familyId, first), request);
+        given(refreshTokenFamilyRepository.findById(familyId)).willReturn(Optional.of(RefreshTokenFamily.builder()
+                .familyId(familyId)
+                .username("yogi")
+                .currentTokenId(tokenId.getAllValues().get(1))
+                .previousTokenId(first)
+                .rotatedAt(LocalDateTime.now())
+                .expiresAt(LocalDateTime.now().plusMinutes(30))
+                .build()));
+
+        //when & then
+        assertThatThrownBy(() -> refreshTokenService.rotate(refreshToken(familyId, first), request))
+                .isInstanceOf(ApiConflictException.class);
+        verify(refreshTokenFamilyRepository, never()).revoke(any());
+    }
+
+    @Test
+    void testRotateReuseRevokesFamily() {
+        //given
+        given(refreshTokenFamilyRepository.findById("family")).willReturn(Optional.of(RefreshTokenFamily.builder()
+                .familyId("family")
+                .username("yogi")
+                .currentTokenId("third")
+                .previousTokenId("second")
+                .rotatedAt(LocalDateTime.now().minusMinutes(5))
+                .expiresAt(LocalDateTime.now().plusMinutes(30))
+                .build()));
+
+        //when & then
+        assertThatThrownBy(() -> refreshTokenService.rotate(refreshToken("family", "first"), request))
+                .isInstanceOf(ApiUnauthorizedException.class)
+                .hasMessageContaining("reuse");
+        verify(refreshTokenFamilyRepository, times(1)).revoke("family");
+        verify(tokenRevocationService, times(1)).revokeFamily("family", "yogi");
+        verify(jwtUtil, never()).createTokens(any(), any(HttpServletRequest.class), any(), any());
+    }
+
+    @Test
+    void testRotateRejectsAccessToken() {
+        //given
+        JwtPrincipal accessToken = JwtPrincipal.builder()
+                .tokenId("access")
+                .familyId("family")
+                .username("yogi")
+                .build();
+
+        //when & then
+        assertThatThrownBy(() -> refreshTokenService.rotate(accessToken, request))
+                .isInstanceOf(ApiBadRequestException.class);
+        verifyNoInteractions(refreshTokenFamilyRepository);
+    }
+
+    @Test
+    void testRotateUnknownFamily() {
+        //given
+        given(refreshTokenFamilyRepository.findById("family")).willReturn(Optional.empty());
+
+        //when & then
+        assertThatThrownBy(() -> refreshTokenService.rotate(refreshToken("family", "first"), request))
+                .isInstanceOf(ApiUnauthorizedException.class);
+    }
+
+    private String familyId() {
+        ArgumentCaptor<RefreshTokenFamily> captor = ArgumentCaptor.forClass(RefreshTokenFamily.class);
+        verify(refreshTokenFamilyRepository).save(captor.capture());
+        return captor.getValue().getFamilyId();
+    }
+
+    private static JwtPrincipal refreshToken(String familyId, String tokenId) {
+        return JwtPrincipal.builder()
+                .tokenId(tokenId)
+                .tokenType(JwtClaims.REFRESH)
+                .familyId(familyId)
+                .username("yogi")
+                .build();
+    }
+
+    private static LoginResponse loginResponse() {
+        return LoginResponse.builder()
+                .accessToken(TokenResponse.builder().value("access").expiredAt(new Date()).build())
+                .refreshToken(TokenResponse.builder().value("refresh")
+                        .expiredAt(new Date(System.currentTimeMillis() + 1800000)).build())
+                .build();
+    }
+}
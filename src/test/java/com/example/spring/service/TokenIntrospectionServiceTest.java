@@ -0,0 +1,128 @@
+package com.example.spring.service;
+
+import com.example.spring.exception.ApiBadRequestException;
+import com.example.spring.model.domain.AppRole;
+import com.example.spring.model.domain.AppUser;
+import com.example.spring.model.domain.JwtPrincipal;
+import com.example.spring.model.domain.Role;
+import com.example.spring.model.response.IntrospectionResponse;
+import com.example.spring.model.response.LoginResponse;
+import com.example.spring.util.JWTUtil;
+import com.example.spring.util.JwtKeyRing;
+import com.example.spring.util.VerifiedTokenCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class TokenIntrospectionServiceTest {
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+    private ThreadPoolTaskExecutor executor;
+    private VerifiedTokenCache verifiedTokenCache;
+    private JWTUtil jwtUtil;
+    private TokenIntrospectionService tokenIntrospectionService;
+    private LoginResponse loginResponse;
+
+    @BeforeEach
+    void setUp() {
+        verifiedTokenCache = new VerifiedTokenCache(true, 100);
+        jwtUtil = new JWTUtil(verifiedTokenCache, new JwtKeyRing(JwtKeyRing.HS256, "secret", 0, 0, null, verifiedTokenCache, Clock.systemUTC()));
+        ReflectionTestUtils.setField(jwtUtil, "BEARER", "Bearer ");
+        ReflectionTestUtils.setField(jwtUtil, "ACCESS_TOKEN_EXPIRED", 60000L);
+        ReflectionTestUtils.setField(jwtUtil, "REFRESH_TOKEN_EXPIRED", 30000L);
+        jwtUtil.init();
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setQueueCapacity(10);
+        executor.initialize();
+        tokenIntrospectionService = new TokenIntrospectionService(jwtUtil, verifiedTokenCache, tokenRevocationService, executor, 3);
+        AppUser appUser = AppUser.builder()
+                .id(1L)
+                .username("yogi")
+                .appUserRoles(Collections.singletonList(AppRole.builder().id(1L).name(Role.ROLE_USER).build()))
+                .build();
+        loginResponse = jwtUtil.createTokens(appUser, new MockHttpServletRequest("POST", "/api/v1/login"), "family", "refresh-id");
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void testIntrospectBatchKeepsOrder() {
+        //given
+        given(tokenRevocationService.isRevoked(any(JwtPrincipal.class))).willReturn(false);
+        List<String> tokens = Arrays.asList(
+                loginResponse.getAccessToken().getValue(), "invalid.token.value", loginResponse.getRefreshToken().getValue());
+
+        //when
+        List<IntrospectionResponse> expected = tokenIntrospectionService.introspect(tokens);
+
+        //then
+        assertThat(expected).hasSize(3);
+        assertThat(expected.get(0).isActive()).isTrue();
+        assertThat(expected.get(0).getSub()).isEqualTo("yogi");
+        assertThat(expected.get(0).getRoles()).containsExactly("ROLE_USER");
+        assertThat(expected.get(0).getTokenType()).isEqualTo("access");
+        assertThat(expected.get(1).isActive()).isFalse();
+        assertThat(expected.get(1).getSub()).isNull();
+        assertThat(expected.get(2).isActive()).isTrue();
+        assertThat(expected.get(2).getTokenType()).isEqualTo("refresh");
+        assertThat(expected.get(2).getJti()).isEqualTo("refresh-id");
+    }
+
+    @Test
+    void testIntrospectServesCachedTokens() {
+        //given
+        given(tokenRevocationService.isRevoked(any(JwtPrincipal.class))).willReturn(false);
+        String token = loginResponse.getAccessToken().getValue();
+        jwtUtil.verify(token);
+        long hits = verifiedTokenCache.hitCount();
+
+        //when
+        List<IntrospectionResponse> expected = tokenIntrospectionService.introspect(Collections.singletonList(token));
+
+        //then
+        assertThat(expected.get(0).isActive()).isTrue();
+        assertThat(verifiedTokenCache.hitCount()).isEqualTo(hits + 1);
+    }
+
+    @Test
+    void testIntrospectRevokedToken() {
+        //given
+        given(tokenRevocationService.isRevoked(any(JwtPrincipal.class))).willReturn(true);
+
+        //when
+        List<IntrospectionResponse> expected = tokenIntrospectionService.introspect(
+                Collections.singletonList(loginResponse.getAccessToken().getValue()));
+
+        //then
+        assertThat(expected.get(0).isActive()).isFalse();
+    }
+
+    @Test
+    void testIntrospectBatchTooLarge() {
+        //when & then
+        assertThatThrownBy(() -> tokenIntrospectionService.introspect(Arrays.asList("a", "b", "c", "d")))
+                .isInstanceOf(ApiBadRequestException.class);
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.spring.service;
+
+import com.example.spring.model.domain.JwtPrincipal;
+import com.example.spring.model.domain.RevokedToken;
+import com.example.spring.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.Date;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationService = new TokenRevocationService(revokedTokenRepository, transactionManager, 1000, 0.001, 60_000,
+                3_600_000);
+    }
+
+    @Test
+    void testRebuildLoadsActiveTokenIds() {
+        //given
+        given(revokedTokenRepository.streamActiveTokenIds(any())).willReturn(Stream.of("revoked"));
+        given(revokedTokenRepository.existsById("revoked")).willReturn(true);
+        tokenRevocationService.init();
+
+        //when
+        boolean revoked = tokenRevocationService.isRevoked("revoked");
+
+        //then
+        assertThat(revoked).isTrue();
+        verify(revokedTokenRepository, times(1)).existsById("revoked");
+    }
+
+    @Test
+    void testIsRevokedSkipsDatabaseOnBloomMiss() {
+        //given
+        given(revokedTokenRepository.streamActiveTokenIds(any())).willReturn(Stream.empty());
+        tokenRevocationService.init();
+
+        //when
+        boolean revoked = tokenRevocationService.isRevoked("active");
+
+        //then
+        assertThat(revoked).isFalse();
+        verify(revokedTokenRepository, never()).existsById(any());
+    }
+
+    @Test
+    void testRevokeSavesTokenAndUpdatesFilter() {
+        //given
+        given(revokedTokenRepository.streamActiveTokenIds(any())).willReturn(Stream.empty());
+        given(revokedTokenRepository.existsById("jti")).willReturn(true);
+        tokenRevocationService.init();
+        Date expiresAt = new Date(System.currentTimeMillis() + 60_000);
+
+        //when
+        tokenRevocationService.revoke("jti", "yogi", expiresAt);
+
+        //then
+        ArgumentCaptor<RevokedToken> captor = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository, times(1)).save(captor.capture());
+        assertThat(captor.getValue().getTokenId()).isEqualTo("jti");
+        assertThat(captor.getValue().getUsername()).isEqualTo("yogi");
+        assertThat(tokenRevocationService.isRevoked("jti")).isTrue();
+    }
+
+    @Test
+    void testRevokedFamilyRefusesItsAccessTokens() {
+        //given
+        given(revokedTokenRepository.streamActiveTokenIds(any())).willReturn(Stream.empty());
+        given(revokedTokenRepository.existsById("fam:family")).willReturn(true);
+        tokenRevocationService.init();
+        JwtPrincipal accessToken = JwtPrincipal.builder().tokenId("access").familyId("family").build();
+        JwtPrincipal otherFamily = JwtPrincipal.builder().tokenId("other").familyId("other").build();
+        long before = System.currentTimeMillis();
+
+        //when
+        tokenRevocationService.revokeFamily("family", "yogi");
+
+        //then
+        ArgumentCaptor<RevokedToken> captor = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository, times(1)).save(captor.capture());
+        assertThat(captor.getValue().getTokenId()).isEqualTo("fam:family");
+        // kept until every access token of the family has expired
+        assertThat(captor.getValue().getExpiresAt()).isAfterOrEqualTo(
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(before + 3_600_000), ZoneId.systemDefault()).withNano(0));
+        assertThat(tokenRevocationService.isRevoked(accessToken)).isTrue();
+        assertThat(tokenRevocationService.isRevoked(otherFamily)).isFalse();
+    }
+
+    @Test
+    void testTokenWithoutIdIsNeverRevoked() {
+        //given
+        //when
+        tokenRevocationService.revoke(null, "yogi", new Date());
+
+        //then
+        assertThat(tokenRevocationService.isRevoked((String) null)).isFalse();
+        verifyNoInteractions(revokedTokenRepository);
+    }
+
+    @Test
+    void testPruneDeletesExpiredAndRebuilds() {
+        //given
+        given(revokedTokenRepository.deleteExpired(any())).willReturn(3);
+        given(revokedTokenRepository.streamActiveTokenIds(any())).willReturn(Stream.empty());
+
+        //when
+        tokenRevocationService.prune();
+
+        //then
+        verify(revokedTokenRepository, times(1)).deleteExpired(any());
+        verify(revokedTokenRepository, times(1)).streamActiveTokenIds(any());
+    }
+
+    @Test
+    void testSyncPicksUpTokensRevokedByOtherInstances() {
+        //given
+        given(revokedTokenRepository.streamActiveTokenIds(any())).willReturn(Stream.empty());
+        tokenRevocationService.init();
+        given(revokedTokenRepository.findTokenIdsRevokedAfter(any())).willReturn(Collections.singletonList("elsewhere"));
+        given(revokedTokenRepository.existsById("elsewhere")).willReturn(true);
+
+        //when
+        tokenRevocationService.sync();
+
+        //then
+        assertThat(tokenRevocationService.isRevoked("elsewhere")).isTrue();
+    }
+
+    @Test
+    void testSyncReadsFromPreviousLoadMinusOverlap() {
+        //given
+        given(revokedTokenRepository.streamActiveTokenIds(any())).willReturn(Stream.empty());
+        LocalDateTime before = LocalDateTime.now();
+        tokenRevocationService.init();
+        given(revokedTokenRepository.findTokenIdsRevokedAfter(any())).willReturn(Collections.emptyList());
+
+        //when
+        tokenRevocationService.sync();
+        LocalDateTime afterFirstSync = LocalDateTime.now();
+        tokenRevocationService.sync();
+
+        //then
+        ArgumentCaptor<LocalDateTime> captor = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(revokedTokenRepository, times(2)).findTokenIdsRevokedAfter(captor.capture());
+        assertThat(captor.getAllValues().get(0)).isBetween(before.minusMinutes(1), before.minusMinutes(1).plusSeconds(5));
+        assertThat(captor.getAllValues().get(1)).isBetween(before.minusMinutes(1), afterFirstSync.minusMinutes(1));
+    }
+
+    @Test
+    void testSyncWaitsForFirstLoad() {
+        //given
+        //when
+        tokenRevocationService.sync();
+
+        //then
+        verifyNoInteractions(revokedTokenRepository);
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.spring.service;
+
+import com.example.spring.model.domain.AppRole;
+import com.example.spring.model.domain.AppUser;
+import com.example.spring.model.domain.Role;
+import com.example.spring.model.projection.AppUserLogin;
+import com.example.spring.model.requests.RegisterRequest;
+import com.example.spring.model.response.UserImportResponse;
+import com.example.spring.repository.AppRoleRepository;
+import com.example.spring.repository.AppUserRepository;
+import com.example.spring.util.UserImportReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.validation.Validation;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceTest {
+
+    @Mock
+    private AppUserRepository appUserRepository;
+    @Mock
+    private AppRoleRepository appRoleRepository;
+    @Mock
+    private AccountExistenceService accountExistenceService;
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ForkJoinPool hashingPool = new ForkJoinPool(2);
+    private UserImportService userImportService;
+
+    @BeforeEach
+    void setUp() {
+        userImportService = new UserImportService(appUserRepository, appRoleRepository, accountExistenceService,
+                passwordEncoder, Validation.buildDefaultValidatorFactory().getValidator(), hashingPool,
+                transactionManager, 2, 10);
+        given(appRoleRepository.findByName(Role.ROLE_USER))
+                .willReturn(Optional.of(AppRole.builder().id(7L).name(Role.ROLE_USER).build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashingPool.shutdown();
+    }
+
+    @Test
+    void testImportInBatchesWithHashedPasswords() throws IOException {
+        //given
+        given(passwordEncoder.encode(anyString())).willAnswer(invocation -> "{hash}" + invocation.getArgument(0));
+        List<List<AppUser>> batches = captureBatches();
+
+        //when
+        UserImportResponse expected = userImportService.importUsers(reader(
+                user("yogi", "yogi@gmail.com"), user("john", "john@gmail.com"), user("james", "james@gmail.com")));
+
+        //then
+        assertThat(expected.getImported()).isEqualTo(3);
+        assertThat(expected.getFailed()).isEqualTo(0);
+        assertThat(batches).hasSize(2);
+        AppUser yogi = batches.get(0).get(0);
+        assertThat(yogi.getUsername()).isEqualTo("yogi");
+        assertThat(yogi.getPassword()).isEqualTo("{hash}password-yogi");
+        assertThat(yogi.getIsEnabled()).isTrue();
+        assertThat(batches.get(1)).extracting(AppUser::getUsername).containsExactly("james");
+        verify(accountExistenceService, times(1)).add("james", "james@gmail.com");
+        // the account filter ruled every name out
+        verify(appUserRepository, never()).findLogins(any());
+    }
+
+    @Test
+    void testReportsInvalidDuplicateAndTakenRows() throws IOException {
+        //given
+        given(passwordEncoder.encode(anyString())).willReturn("hash");
+        given(accountExistenceService.mightExist(anyString())).willAnswer(invocation -> invocation.getArgument(0).equals("taken"));
+        given(appUserRepository.findLogins(Collections.singleton("taken")))
+                .willReturn(Collections.singletonList(new AppUserLogin("taken", "other@gmail.com")));
+        List<List<AppUser>> batches = captureBatches();
+
+        //when
+        UserImportResponse expected = userImportService.importUsers(reader(
+                user("yogi", "not-an-email"),
+                RegisterRequest.builder().lastName("Last").username("john").email("john@gmail.com").password("toor").build(),
+                user("james", "james@gmail.com"),
+                user("james", "james2@gmail.com"),
+                user("taken", "taken@gmail.com"),
+                user("smith", "smith@gmail.com")));
+
+        //then
+        assertThat(expected.getImported()).isEqualTo(2);
+        assertThat(expected.getFailed()).isEqualTo(4);
+        assertThat(expected.getErrors()).extracting(UserImportResponse.RowError::getRow).containsExactly(1L, 2L, 4L, 5L);
+        assertThat(expected.getErrors()).extracting(UserImportResponse.RowError::getMessage).containsExactly(
+                "Email not-an-email is not valid",
+                "firstName must not be null",
+                "Username james is already exist",
+                "Username taken is already exist");
+        assertThat(batches.stream().flatMap(List::stream).map(AppUser::getUsername).collect(Collectors.toList()))
+                .containsExactly("james", "smith");
+        verify(passwordEncoder, times(2)).encode(anyString());
+    }
+
+    @Test
+    void testRetriesBatchThatClashedWithNewAccount() throws IOException {
+        //given
+        given(passwordEncoder.encode(anyString())).willReturn("hash");
+        given(appUserRepository.findLogins(any()))
+                .willReturn(Collections.singletonList(new AppUserLogin("john", "john@gmail.com")));
+        List<List<AppUser>> batches = new ArrayList<>();
+        willThrow(new DataIntegrityViolationException("duplicate key"))
+                .willAnswer(invocation -> batches.add(new ArrayList<>(invocation.getArgument(0))))
+                .given(appUserRepository).insertAll(anyList(), eq(7L));
+
+        //when
+        UserImportResponse expected = userImportService.importUsers(reader(
+                user("yogi", "yogi@gmail.com"), user("john", "john@gmail.com")));
+
+        //then
+        assertThat(expected.getImported()).isEqualTo(1);
+        assertThat(expected.getErrors()).extracting(UserImportResponse.RowError::getUsername).containsExactly("john");
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).extracting(AppUser::getUsername).containsExactly("yogi");
+    }
+
+    private List<List<AppUser>> captureBatches() {
+        List<List<AppUser>> batches = new ArrayList<>();
+        willAnswer(invocation -> batches.add(new ArrayList<>(invocation.getArgument(0))))
+                .given(appUserRepository).insertAll(anyList(), eq(7L));
+        return batches;
+    }
+
+    private static RegisterRequest user(String username, String email) {
+        return new RegisterRequest("First", "Last", username, email, "password-" + username);
+    }
+
+    private static UserImportReader reader(RegisterRequest... requests) {
+        Iterator<RegisterRequest> iterator = Arrays.asList(requests).iterator();
+        return new UserImportReader() {
+            @Override
+            public RegisterRequest next() {
+                return iterator.hasNext() ? iterator.next() : null;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.spring.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void testMightContainEveryPutValue() {
+        //given
+        BloomFilter bloomFilter = new BloomFilter(1000, 0.01);
+        String[] values = new String[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = UUID.randomUUID().toString();
+            bloomFilter.put(values[i]);
+        }
+
+        //when
+        //then
+        for (String value : values) {
+            assertThat(bloomFilter.mightContain(value)).isTrue();
+        }
+    }
+
+    @Test
+    void testFalsePositiveRateStaysNearTarget() {
+        //given
+        BloomFilter bloomFilter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            bloomFilter.put(UUID.randomUUID().toString());
+        }
+
+        //when
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (bloomFilter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        //then
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    void testEmptyFilterContainsNothing() {
+        //given
+        BloomFilter bloomFilter = new BloomFilter(100, 0.001);
+
+        //when
+        //then
+        assertThat(bloomFilter.mightContain("jti")).isFalse();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.spring.util;
+
+import com.auth0.jwt.JWT;
+import com.example.spring.exception.ApiBadRequestException;
+import com.example.spring.model.domain.AppRole;
+import com.example.spring.model.domain.AppUser;
+import com.example.spring.model.domain.JwtPrincipal;
+import com.example.spring.model.domain.Role;
+import com.example.spring.model.response.LoginResponse;
+import com.example.spring.model.response.TokenResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JWTUtilTest {
+
+    private JWTUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(true, 100);
+        jwtUtil = new JWTUtil(verifiedTokenCache, new JwtKeyRing(JwtKeyRing.HS256, "secret", 0, 0, null, verifiedTokenCache, Clock.systemUTC()));
+        ReflectionTestUtils.setField(jwtUtil, "BEARER", "Bearer ");
+        ReflectionTestUtils.setField(jwtUtil, "ACCESS_TOKEN_EXPIRED", 60000L);
+        ReflectionTestUtils.setField(jwtUtil, "REFRESH_TOKEN_EXPIRED", 30000L);
+        jwtUtil.init();
+    }
+
+    @Test
+    void testVerifyAccessToken() {
+        //given
+        AppUser appUser = AppUser.builder()
+                .id(1L)
+                .firstName("Yogi")
+                .lastName("Pratama")
+                .email("mail@gmail.com")
+                .username("yogi")
+                .password("toor")
+                .appUserRoles(Collections.singletonList(AppRole.builder().id(1L).name(Role.ROLE_ADMIN).build()))
+                .build();
+        TokenResponse accessToken = jwtUtil.createAccessToken(appUser, new MockHttpServletRequest("POST", "/api/v1/login"));
+
+        //when
+        JwtPrincipal expected = jwtUtil.verify(accessToken.getValue());
+
+        //then
+        assertThat(expected.getUsername()).isEqualTo("yogi");
+        assertThat(expected.getName()).isEqualTo("yogi");
+        assertThat(expected.getRoles()).containsExactly("ROLE_ADMIN");
+        assertThat(expected.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.toList()))
+                .containsExactly("ROLE_ADMIN");
+        assertThat(expected.getExpiresAt()).isNotNull();
+        assertThat(expected.getTokenId()).isNotBlank();
+    }
+
+    @Test
+    void testVerifyCompactRolesSharesAuthorities() {
+        //given
+        ReflectionTestUtils.setField(jwtUtil, "COMPACT_ROLES", true);
+        AppUser appUser = AppUser.builder()
+                .id(1L)
+                .username("yogi")
+                .appUserRoles(Arrays.asList(
+                        AppRole.builder().id(1L).name(Role.ROLE_USER).build(),
+                        AppRole.builder().id(2L).name(Role.ROLE_ADMIN).build()))
+                .build();
+        TokenResponse accessToken = jwtUtil.createAccessToken(appUser, new MockHttpServletRequest("POST", "/api/v1/login"));
+
+        //when
+        JwtPrincipal expected = jwtUtil.verify(accessToken.getValue());
+
+        //then
+        assertThat(JWT.decode(accessToken.getValue()).getClaim("roles").isNull()).isTrue();
+        assertThat(expected.getRoles()).containsExactly("ROLE_USER", "ROLE_ADMIN");
+        assertThat(expected.getAuthorities()).isSameAs(RoleAuthorities.fromMask(3).getAuthorities());
+    }
+
+    @Test
+    void testCreateTokensBindsRefreshTokenToFamily() {
+        //given
+        AppUser appUser = AppUser.builder()
+                .id(1L)
+                .username("yogi")
+                .appUserRoles(Collections.singletonList(AppRole.builder().id(1L).name(Role.ROLE_USER).build()))
+                .build();
+        LoginResponse loginResponse = jwtUtil.createTokens(appUser, new MockHttpServletRequest("POST", "/api/v1/login"),
+                "family", "refresh-id");
+
+        //when
+        JwtPrincipal accessToken = jwtUtil.verify(loginResponse.getAccessToken().getValue());
+        JwtPrincipal refreshToken = jwtUtil.verify(loginResponse.getRefreshToken().getValue());
+
+        //then
+        assertThat(accessToken.isRefreshToken()).isFalse();
+        assertThat(accessToken.getFamilyId()).isEqualTo("family");
+        assertThat(refreshToken.isRefreshToken()).isTrue();
+        assertThat(refreshToken.getFamilyId()).isEqualTo("family");
+        assertThat(refreshToken.getTokenId()).isEqualTo("refresh-id");
+        assertThat(refreshToken.getRoles()).isEmpty();
+    }
+
+    @Test
+    void testVerifyInvalidToken() {
+        //when & then
+        assertThatThrownBy(() -> jwtUtil.verify("invalid.token.value"))
+                .isInstanceOf(ApiBadRequestException.class);
+    }
+}
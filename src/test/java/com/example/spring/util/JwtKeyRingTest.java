@@ -0,0 +1,178 @@
+package com.example.spring.util;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.SignatureVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtKeyRingTest {
+
+    private static final long ROTATION_INTERVAL = TimeUnit.DAYS.toMillis(7);
+    private static final long TOKEN_LIFETIME = TimeUnit.DAYS.toMillis(30);
+
+    private final VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(true, 100);
+    private final MutableClock clock = new MutableClock();
+    private final InMemoryJwtKeyStore keyStore = new InMemoryJwtKeyStore();
+
+    @Test
+    void testRS256TokenCarriesKidAndVerifies() {
+        //given
+        JwtKeyRing keyRing = keyRing(JwtKeyRing.RS256);
+        Algorithm algorithm = keyRing.getAlgorithm();
+
+        //when
+        String token = JWT.create().withSubject("yogi").sign(algorithm);
+        DecodedJWT expected = JWT.require(algorithm).build().verify(token);
+
+        //then
+        assertThat(expected.getKeyId()).isNotNull();
+        assertThat(expected.getAlgorithm()).isEqualTo("RS256");
+        assertThat(jwkIds(keyRing)).contains(expected.getKeyId());
+    }
+
+    @Test
+    void testES256TokenStillVerifiesAfterRotation() {
+        //given
+        JwtKeyRing keyRing = keyRing(JwtKeyRing.ES256);
+        Algorithm algorithm = keyRing.getAlgorithm();
+        String token = JWT.create().withSubject("yogi").sign(algorithm);
+
+        //when
+        keyRing.rotate();
+        String rotated = JWT.create().withSubject("yogi").sign(algorithm);
+
+        //then
+        assertThat(JWT.decode(rotated).getKeyId()).isNotEqualTo(JWT.decode(token).getKeyId());
+        assertThat(JWT.require(algorithm).build().verify(token).getSubject()).isEqualTo("yogi");
+        assertThat(JWT.require(algorithm).build().verify(rotated).getSubject()).isEqualTo("yogi");
+    }
+
+    @Test
+    void testTokenSignedJustBeforeRotationVerifiesUntilItExpires() {
+        //given
+        JwtKeyRing keyRing = keyRing(JwtKeyRing.ES256);
+        Algorithm algorithm = keyRing.getAlgorithm();
+        clock.advance(ROTATION_INTERVAL - 1);
+        keyRing.refresh();
+        String token = JWT.create().withSubject("yogi").sign(algorithm);
+        long expiresAt = clock.millis() + TOKEN_LIFETIME;
+
+        //when & then
+        // the ring rotates on every refresh once a rotation is due, several times over the token's life
+        while (clock.millis() < expiresAt - 1) {
+            clock.advance(Math.min(TimeUnit.HOURS.toMillis(12), expiresAt - 1 - clock.millis()));
+            keyRing.refresh();
+            assertThat(JWT.require(algorithm).build().verify(token).getSubject()).isEqualTo("yogi");
+        }
+        assertThat(JWT.decode(JWT.create().sign(algorithm)).getKeyId()).isNotEqualTo(JWT.decode(token).getKeyId());
+    }
+
+    @Test
+    void testTokenRejectedOnceItsKeyIsRetired() {
+        //given
+        JwtKeyRing keyRing = keyRing(JwtKeyRing.RS256);
+        Algorithm algorithm = keyRing.getAlgorithm();
+        String token = JWT.create().withSubject("yogi").sign(algorithm);
+
+        //when
+        for (int week = 0; week < 6; week++) {
+            clock.advance(ROTATION_INTERVAL);
+            keyRing.refresh();
+        }
+
+        //then
+        assertThatThrownBy(() -> JWT.require(algorithm).build().verify(token))
+                .isInstanceOf(SignatureVerificationException.class);
+        assertThat(keyStore.load(JwtKeyRing.RS256)).hasSize(jwkIds(keyRing).size());
+    }
+
+    @Test
+    void testInstancesOnOneStoreShareTheRing() {
+        //given
+        JwtKeyRing first = keyRing(JwtKeyRing.ES256);
+        JwtKeyRing second = keyRing(JwtKeyRing.ES256);
+        String token = JWT.create().withSubject("yogi").sign(first.getAlgorithm());
+
+        //when
+        first.rotate();
+        second.refresh();
+        String rotated = JWT.create().withSubject("yogi").sign(first.getAlgorithm());
+
+        //then
+        assertThat(JWT.require(second.getAlgorithm()).build().verify(token).getSubject()).isEqualTo("yogi");
+        assertThat(JWT.require(second.getAlgorithm()).build().verify(rotated).getSubject()).isEqualTo("yogi");
+        assertThat(jwkIds(second)).isEqualTo(jwkIds(first));
+    }
+
+    @Test
+    void testAsymmetricAlgorithmNeedsKeyStore() {
+        //when & then
+        assertThatThrownBy(() -> new JwtKeyRing(JwtKeyRing.RS256, "secret", ROTATION_INTERVAL, TOKEN_LIFETIME,
+                null, verifiedTokenCache, clock))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("jwt-key-store");
+    }
+
+    @Test
+    void testHS256PublishesNoKeys() {
+        //given
+        JwtKeyRing keyRing = new JwtKeyRing(JwtKeyRing.HS256, "secret", ROTATION_INTERVAL, TOKEN_LIFETIME,
+                null, verifiedTokenCache, clock);
+
+        //then
+        assertThat(keyRing.isAsymmetric()).isFalse();
+        assertThat(jwkIds(keyRing)).isEmpty();
+    }
+
+    private JwtKeyRing keyRing(String algorithm) {
+        return new JwtKeyRing(algorithm, "secret", ROTATION_INTERVAL, TOKEN_LIFETIME, keyStore, verifiedTokenCache, clock);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> jwkIds(JwtKeyRing keyRing) {
+        List<Map<String, Object>> keys = (List<Map<String, Object>>) keyRing.getJwks().get("keys");
+        return keys.stream().map(key -> (String) key.get("kid")).collect(Collectors.toList());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private long millis = 1_000_000_000_000L;
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
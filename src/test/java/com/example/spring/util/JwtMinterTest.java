@@ -0,0 +1,71 @@
+package com.example.spring.util;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtMinterTest {
+
+    private final JwtMinter jwtMinter = new JwtMinter("secret".getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    void testMintVerifiesWithAuth0() {
+        //given
+        long expiresAt = System.currentTimeMillis() / 1000 + 60;
+
+        //when
+        String token = jwtMinter.mint("yogi", "/api/v1/login", expiresAt, Arrays.asList("ROLE_USER", "ROLE_ADMIN"), -1);
+        DecodedJWT expected = JWT.require(Algorithm.HMAC256("secret")).build().verify(token);
+
+        //then
+        assertThat(expected.getAlgorithm()).isEqualTo("HS256");
+        assertThat(expected.getType()).isEqualTo("JWT");
+        assertThat(expected.getSubject()).isEqualTo("yogi");
+        assertThat(expected.getIssuer()).isEqualTo("/api/v1/login");
+        assertThat(expected.getExpiresAt().getTime()).isEqualTo(expiresAt * 1000);
+        assertThat(expected.getClaim("roles").asList(String.class)).containsExactly("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    void testMintEscapesClaims() {
+        //given
+        String subject = "yo\"gi\\\né中😀";
+        long expiresAt = System.currentTimeMillis() / 1000 + 60;
+
+        //when
+        String token = jwtMinter.mint(subject, null, expiresAt, null, 3, "jti", "id-1", "skipped", null);
+        DecodedJWT expected = JWT.require(Algorithm.HMAC256("secret")).build().verify(token);
+
+        //then
+        assertThat(expected.getSubject()).isEqualTo(subject);
+        assertThat(expected.getIssuer()).isNull();
+        assertThat(expected.getId()).isEqualTo("id-1");
+        assertThat(expected.getClaim("roles").isNull()).isTrue();
+        assertThat(expected.getClaim("rb").asInt()).isEqualTo(3);
+        assertThat(expected.getClaim("skipped").isNull()).isTrue();
+    }
+
+    @Test
+    void testMintReusesBuffersAcrossCalls() {
+        //given
+        long expiresAt = System.currentTimeMillis() / 1000 + 60;
+        StringBuilder longSubject = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            longSubject.append('x');
+        }
+
+        //when
+        String first = jwtMinter.mint(longSubject.toString(), "/api/v1/login", expiresAt, null, -1);
+        String second = jwtMinter.mint("yogi", "/api/v1/login", expiresAt, null, -1);
+
+        //then
+        assertThat(JWT.require(Algorithm.HMAC256("secret")).build().verify(first).getSubject()).hasSize(500);
+        assertThat(JWT.require(Algorithm.HMAC256("secret")).build().verify(second).getSubject()).isEqualTo("yogi");
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.spring.util;
+
+import com.example.spring.exception.ApiBadRequestException;
+import com.example.spring.model.requests.UserSort;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void testRoundTrip() {
+        //given
+        String cursor = new KeysetCursor(UserSort.EMAIL, true, "a:b@example.com").encode();
+
+        //when
+        KeysetCursor expected = KeysetCursor.decode(cursor, UserSort.EMAIL, true);
+
+        //then
+        assertThat(cursor).doesNotContain("example");
+        assertThat(expected.getAfter()).isEqualTo("a:b@example.com");
+    }
+
+    @Test
+    void testIdKeyIsParsedAsLong() {
+        //given
+        String cursor = new KeysetCursor(UserSort.ID, false, 42L).encode();
+
+        //when
+        KeysetCursor expected = KeysetCursor.decode(cursor, UserSort.ID, false);
+
+        //then
+        assertThat(expected.getAfter()).isEqualTo(42L);
+    }
+
+    @Test
+    void testRejectsCursorOfOtherSortOrder() {
+        //given
+        String cursor = new KeysetCursor(UserSort.USERNAME, false, "yogi").encode();
+
+        //when
+        //then
+        assertThatThrownBy(() -> KeysetCursor.decode(cursor, UserSort.USERNAME, true))
+                .isInstanceOf(ApiBadRequestException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(cursor, UserSort.EMAIL, false))
+                .isInstanceOf(ApiBadRequestException.class);
+    }
+
+    @Test
+    void testRejectsMalformedCursor() {
+        //when
+        //then
+        assertThatThrownBy(() -> KeysetCursor.decode("not base64!", UserSort.ID, false))
+                .isInstanceOf(ApiBadRequestException.class);
+        String notANumber = Base64.getUrlEncoder().encodeToString("id:a:yogi".getBytes(StandardCharsets.UTF_8));
+        assertThatThrownBy(() -> KeysetCursor.decode(notANumber, UserSort.ID, false))
+                .isInstanceOf(ApiBadRequestException.class);
+    }
+}
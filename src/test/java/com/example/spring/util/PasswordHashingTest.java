@@ -0,0 +1,101 @@
+package com.example.spring.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingTest {
+
+    @Test
+    void testEncodeUsesConfiguredAlgorithm() {
+        //given
+        PasswordEncoder encoder = PasswordHashing.delegating(PasswordHashing.ARGON2, 4, 1000, 1, 1024);
+
+        //when
+        String hash = encoder.encode("toor");
+
+        //then
+        assertThat(hash).startsWith("{argon2}$argon2id$");
+        assertThat(encoder.matches("toor", hash)).isTrue();
+        assertThat(encoder.matches("root", hash)).isFalse();
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+    }
+
+    @Test
+    void testLegacyBcryptHashMatchesAndNeedsUpgrade() {
+        //given
+        PasswordEncoder encoder = PasswordHashing.delegating(PasswordHashing.BCRYPT, 4, 1000, 1, 1024);
+        String legacyHash = new BCryptPasswordEncoder(4).encode("toor");
+
+        //when
+        //then
+        assertThat(encoder.matches("toor", legacyHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(legacyHash)).isTrue();
+    }
+
+    @Test
+    void testOtherAlgorithmsStillMatchAndNeedUpgrade() {
+        //given
+        PasswordEncoder pbkdf2 = PasswordHashing.delegating(PasswordHashing.PBKDF2, 4, 1000, 1, 1024);
+        PasswordEncoder bcrypt = PasswordHashing.delegating(PasswordHashing.BCRYPT, 4, 1000, 1, 1024);
+        String hash = pbkdf2.encode("toor");
+
+        //when
+        //then
+        assertThat(hash).startsWith("{pbkdf2}");
+        assertThat(bcrypt.matches("toor", hash)).isTrue();
+        assertThat(bcrypt.upgradeEncoding(hash)).isTrue();
+    }
+
+    @Test
+    void testLowerCostNeedsUpgrade() {
+        //given
+        PasswordEncoder weak = PasswordHashing.delegating(PasswordHashing.BCRYPT, 4, 1000, 1, 1024);
+        PasswordEncoder strong = PasswordHashing.delegating(PasswordHashing.BCRYPT, 5, 1000, 1, 1024);
+        String hash = weak.encode("toor");
+
+        //when
+        //then
+        assertThat(strong.matches("toor", hash)).isTrue();
+        assertThat(strong.upgradeEncoding(hash)).isTrue();
+        assertThat(weak.upgradeEncoding(hash)).isFalse();
+    }
+
+    @Test
+    void testUnknownEncoderIsRejected() {
+        //when
+        //then
+        assertThatThrownBy(() -> PasswordHashing.delegating("md5", 4, 1000, 1, 1024))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("md5");
+    }
+
+    @Test
+    void testCalibrationNeverGoesBelowConfiguredCost() {
+        //when
+        int strength = PasswordHashing.calibrateBcrypt(1, 5);
+        int iterations = PasswordHashing.calibrateArgon2(1, 2, 1024);
+
+        //then
+        assertThat(strength).isEqualTo(5);
+        assertThat(iterations).isEqualTo(2);
+    }
+
+    @Test
+    void testCalibrationRaisesCostTowardsTarget() {
+        //given
+        long targetMillis = 200;
+
+        //when
+        int strength = PasswordHashing.calibrateBcrypt(targetMillis, 4);
+        int iterations = PasswordHashing.calibrateArgon2(targetMillis, 1, 1024);
+
+        //then
+        assertThat(strength).isGreaterThan(4);
+        assertThat(iterations).isGreaterThan(1);
+        assertThat(PasswordHashing.measure(PasswordHashing.bcrypt(strength))).isLessThan(targetMillis * 2.0);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.spring.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    @Test
+    void testBurstUpToCapacityThenReject() {
+        //given
+        AtomicLong clock = new AtomicLong();
+        RateLimiter rateLimiter = new RateLimiter(3, 3000, clock::get);
+
+        //when
+        //then
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.tryAcquire("10.0.0.1")).isZero();
+        }
+        assertThat(rateLimiter.tryAcquire("10.0.0.1")).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+        assertThat(rateLimiter.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testTokensRefillOverThePeriod() {
+        //given
+        AtomicLong clock = new AtomicLong();
+        RateLimiter rateLimiter = new RateLimiter(3, 3000, clock::get);
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("10.0.0.1");
+        }
+
+        //when
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        //then
+        assertThat(rateLimiter.tryAcquire("10.0.0.1")).isZero();
+        assertThat(rateLimiter.tryAcquire("10.0.0.1")).isPositive();
+    }
+
+    @Test
+    void testKeysHaveSeparateBuckets() {
+        //given
+        AtomicLong clock = new AtomicLong();
+        RateLimiter rateLimiter = new RateLimiter(1, 1000, clock::get);
+        rateLimiter.tryAcquire("10.0.0.1");
+
+        //when
+        //then
+        assertThat(rateLimiter.tryAcquire("10.0.0.1")).isPositive();
+        assertThat(rateLimiter.tryAcquire("10.0.0.2")).isZero();
+    }
+
+    @Test
+    void testEvictIdleDropsOnlyFullBuckets() {
+        //given
+        AtomicLong clock = new AtomicLong();
+        RateLimiter rateLimiter = new RateLimiter(2, 2000, clock::get);
+        rateLimiter.tryAcquire("idle");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        rateLimiter.tryAcquire("busy");
+        rateLimiter.tryAcquire("busy");
+
+        //when
+        int evicted = rateLimiter.evictIdle();
+
+        //then
+        assertThat(evicted).isEqualTo(1);
+        assertThat(rateLimiter.size()).isEqualTo(1);
+        assertThat(rateLimiter.tryAcquire("busy")).isPositive();
+    }
+
+    @Test
+    void testConcurrentAcquiresNeverExceedCapacity() throws Exception {
+        //given
+        RateLimiter rateLimiter = new RateLimiter(100, 3_600_000);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allowed = new AtomicInteger();
+
+        //when
+        for (int i = 0; i < 16; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int j = 0; j < 1000; j++) {
+                    if (rateLimiter.tryAcquire("10.0.0.1") == 0) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+
+        //then
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(allowed.get()).isEqualTo(100);
+        assertThat(rateLimiter.getRejectedCount()).isEqualTo(16 * 1000 - 100);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.spring.util;
+
+import com.example.spring.model.domain.Role;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RoleAuthoritiesTest {
+
+    @Test
+    void testMaskRoundTrip() {
+        //given
+        int mask = RoleAuthorities.mask(Arrays.asList("ROLE_ADMIN", "ROLE_USER"));
+
+        //when
+        RoleAuthorities.RoleSet expected = RoleAuthorities.fromMask(mask);
+
+        //then
+        assertThat(mask).isEqualTo(RoleAuthorities.bit(Role.ROLE_USER) | RoleAuthorities.bit(Role.ROLE_ADMIN));
+        assertThat(expected.getNames()).containsExactly("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    void testFromNamesSharesKnownCombination() {
+        //when
+        RoleAuthorities.RoleSet first = RoleAuthorities.fromNames(Collections.singletonList("ROLE_USER"));
+        RoleAuthorities.RoleSet second = RoleAuthorities.fromNames(Collections.singletonList("ROLE_USER"));
+
+        //then
+        assertThat(first).isSameAs(second);
+        assertThat(first.getAuthorities()).hasSize(1);
+    }
+
+    @Test
+    void testFromNamesKeepsUnknownRole() {
+        //when
+        RoleAuthorities.RoleSet expected = RoleAuthorities.fromNames(Arrays.asList("ROLE_USER", "ROLE_AUDITOR"));
+
+        //then
+        assertThat(RoleAuthorities.mask(Arrays.asList("ROLE_USER", "ROLE_AUDITOR"))).isEqualTo(-1);
+        assertThat(expected.getNames()).containsExactly("ROLE_USER", "ROLE_AUDITOR");
+        assertThat(expected.getAuthorities()).hasSize(2);
+    }
+
+    @Test
+    void testFromMaskRejectsUnknownBits() {
+        //when & then
+        assertThatThrownBy(() -> RoleAuthorities.fromMask(1 << 20))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
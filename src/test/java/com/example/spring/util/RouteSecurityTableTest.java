@@ -0,0 +1,92 @@
+package com.example.spring.util;
+
+import com.example.spring.configuration.RouteSecurityConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static com.example.spring.util.RouteSecurityTable.Access.ADMIN;
+import static com.example.spring.util.RouteSecurityTable.Access.AUTHENTICATED;
+import static com.example.spring.util.RouteSecurityTable.Access.PUBLIC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RouteSecurityTableTest {
+
+    private final RouteSecurityTable routeSecurityTable = new RouteSecurityConfiguration().routeSecurityTable();
+
+    @Test
+    void testLookupApplicationRoutes() {
+        //when & then
+        assertThat(routeSecurityTable.lookup("/api/v1/login")).isEqualTo(PUBLIC);
+        assertThat(routeSecurityTable.lookup("/api/v1/registration")).isEqualTo(PUBLIC);
+        assertThat(routeSecurityTable.lookup("/api/v1/registration/confirm")).isEqualTo(PUBLIC);
+        assertThat(routeSecurityTable.lookup("/v3/api-docs/swagger-config")).isEqualTo(PUBLIC);
+        assertThat(routeSecurityTable.lookup("/api/v1/user")).isEqualTo(ADMIN);
+        assertThat(routeSecurityTable.lookup("/api/v1/user/1/")).isEqualTo(ADMIN);
+        assertThat(routeSecurityTable.lookup("/api/v1/session/user-me")).isEqualTo(AUTHENTICATED);
+        assertThat(routeSecurityTable.lookup("/api/v1/login/other")).isEqualTo(AUTHENTICATED);
+        assertThat(routeSecurityTable.lookup("/api/v1/registration-other")).isEqualTo(AUTHENTICATED);
+        assertThat(routeSecurityTable.lookup("/")).isEqualTo(AUTHENTICATED);
+    }
+
+    @Test
+    void testMostSpecificRouteWins() {
+        //given
+        RouteSecurityTable table = RouteSecurityTable.builder()
+                .admin("/api/**")
+                .authenticated("/api/*/items")
+                .permit("/api/public/items")
+                .build();
+
+        //when & then
+        assertThat(table.lookup("/api/public/items")).isEqualTo(PUBLIC);
+        assertThat(table.lookup("/api/private/items")).isEqualTo(AUTHENTICATED);
+        assertThat(table.lookup("/api/private/items/1")).isEqualTo(ADMIN);
+        assertThat(table.lookup("/api")).isEqualTo(ADMIN);
+    }
+
+    @Test
+    void testManyRoutesResizeChildTable() {
+        //given
+        RouteSecurityTable.Builder builder = RouteSecurityTable.builder();
+        for (int i = 0; i < 300; i++) {
+            builder.admin("/api/v1/resource" + i + "/**");
+        }
+        RouteSecurityTable table = builder.build();
+
+        //when & then
+        assertThat(table.getRouteCount()).isEqualTo(300);
+        for (int i = 0; i < 300; i++) {
+            assertThat(table.lookup("/api/v1/resource" + i + "/1")).isEqualTo(ADMIN);
+        }
+        assertThat(table.lookup("/api/v1/resource300")).isEqualTo(AUTHENTICATED);
+    }
+
+    @Test
+    void testLookupRequestIsRememberedPerPath() {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/user");
+        request.setServletPath("/api/v1/user");
+
+        //when
+        RouteSecurityTable.Access first = routeSecurityTable.lookup(request);
+        request.setServletPath("/api/v1/login");
+        RouteSecurityTable.Access second = routeSecurityTable.lookup(request);
+
+        //then
+        assertThat(first).isEqualTo(ADMIN);
+        assertThat(second).isEqualTo(PUBLIC);
+        assertThat(routeSecurityTable.matcher(PUBLIC).matches(request)).isTrue();
+    }
+
+    @Test
+    void testConflictingRoutesAreRejected() {
+        //when & then
+        assertThatThrownBy(() -> RouteSecurityTable.builder().permit("/a/**").admin("/a/**").build())
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> RouteSecurityTable.builder().permit("/v*/api-docs").build())
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RouteSecurityTable.builder().permit("/a/**/b").build())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
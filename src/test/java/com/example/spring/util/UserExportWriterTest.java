@@ -0,0 +1,71 @@
+package com.example.spring.util;
+
+import com.example.spring.model.projection.AppUserSummary;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserExportWriterTest {
+
+    private final AppUserSummary admin = new AppUserSummary(1L, "Yogi", "Pratama", "yogi", "yogi@gmail.com",
+            true, false, 3L);
+    private final AppUserSummary quoted = new AppUserSummary(2L, "John, \"JD\"", "Doe", "john", "john@gmail.com",
+            false, true, 0L);
+
+    @Test
+    void testNdjsonWritesOneObjectPerLine() throws IOException {
+        //given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        try (UserExportWriter writer = new NdjsonUserExportWriter(out)) {
+            writer.write(admin);
+            writer.write(quoted);
+        }
+
+        //then
+        assertThat(out.toString(StandardCharsets.UTF_8.name())).isEqualTo(
+                "{\"id\":1,\"firstName\":\"Yogi\",\"lastName\":\"Pratama\",\"username\":\"yogi\","
+                        + "\"email\":\"yogi@gmail.com\",\"enabled\":true,\"locked\":false,"
+                        + "\"roles\":[\"ROLE_USER\",\"ROLE_ADMIN\"]}\n"
+                        + "{\"id\":2,\"firstName\":\"John, \\\"JD\\\"\",\"lastName\":\"Doe\",\"username\":\"john\","
+                        + "\"email\":\"john@gmail.com\",\"enabled\":false,\"locked\":true,\"roles\":[]}\n");
+    }
+
+    @Test
+    void testCsvQuotesOnlyWhenNeeded() throws IOException {
+        //given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        try (UserExportWriter writer = new CsvUserExportWriter(out)) {
+            writer.write(admin);
+            writer.write(quoted);
+        }
+
+        //then
+        assertThat(out.toString(StandardCharsets.UTF_8.name())).isEqualTo(
+                "id,firstName,lastName,username,email,enabled,locked,roles\r\n"
+                        + "1,Yogi,Pratama,yogi,yogi@gmail.com,true,false,ROLE_USER;ROLE_ADMIN\r\n"
+                        + "2,\"John, \"\"JD\"\"\",Doe,john,john@gmail.com,false,true,\r\n");
+    }
+
+    @Test
+    void testCloseLeavesTargetOpen() throws IOException {
+        //given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        UserExportWriter writer = new NdjsonUserExportWriter(out);
+        writer.write(admin);
+
+        //when
+        writer.close();
+        out.write('x');
+
+        //then
+        assertThat(out.toString(StandardCharsets.UTF_8.name())).endsWith("}\nx");
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.spring.util;
+
+import com.example.spring.exception.ApiBadRequestException;
+import com.example.spring.model.requests.RegisterRequest;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserImportReaderTest {
+
+    @Test
+    void testJsonArray() throws IOException {
+        //given
+        String json = "[{\"firstName\":\"Yogi\",\"lastName\":\"Pratama\",\"username\":\"yogi\","
+                + "\"email\":\"yogi@gmail.com\",\"password\":\"toor\",\"roles\":[\"ROLE_ADMIN\"]},"
+                + "{\"username\":\"john\"}]";
+
+        //when
+        List<RegisterRequest> expected = readAll(new JsonUserImportReader(stream(json)));
+
+        //then
+        assertThat(expected).containsExactly(
+                new RegisterRequest("Yogi", "Pratama", "yogi", "yogi@gmail.com", "toor"),
+                RegisterRequest.builder().username("john").build());
+    }
+
+    @Test
+    void testNdjson() throws IOException {
+        //given
+        String ndjson = "{\"username\":\"yogi\"}\n{\"username\":\"john\"}\n";
+
+        //when
+        List<RegisterRequest> expected = readAll(new JsonUserImportReader(stream(ndjson)));
+
+        //then
+        assertThat(expected).extracting(RegisterRequest::getUsername).containsExactly("yogi", "john");
+    }
+
+    @Test
+    void testJsonRejectsNonObjects() throws IOException {
+        //given
+        UserImportReader reader = new JsonUserImportReader(stream("[{\"username\":\"yogi\"}, 42]"));
+        reader.next();
+
+        //when & then
+        assertThatThrownBy(reader::next).hasMessageStartingWith("Expected a user object but found VALUE_NUMBER_INT");
+    }
+
+    @Test
+    void testCsvWithQuotedFieldsAndAnyColumnOrder() throws IOException {
+        //given
+        String csv = "username,email,password,lastName,firstName,roles\r\n"
+                + "yogi,yogi@gmail.com,\"to,\"\"or\"\"\",Pratama,Yogi,ROLE_ADMIN\r\n"
+                + "\r\n"
+                + "john,john@gmail.com,\"multi\nline\",,John\n";
+
+        //when
+        List<RegisterRequest> expected = readAll(new CsvUserImportReader(stream(csv)));
+
+        //then
+        assertThat(expected).containsExactly(
+                new RegisterRequest("Yogi", "Pratama", "yogi", "yogi@gmail.com", "to,\"or\""),
+                new RegisterRequest("John", null, "john", "john@gmail.com", "multi\nline"));
+    }
+
+    @Test
+    void testCsvRequiresEveryColumn() {
+        //when & then
+        assertThatThrownBy(() -> new CsvUserImportReader(stream("firstName,lastName,username,email\n")))
+                .isInstanceOf(ApiBadRequestException.class)
+                .hasMessage("Missing CSV column password");
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<RegisterRequest> readAll(UserImportReader reader) throws IOException {
+        List<RegisterRequest> requests = new ArrayList<>();
+        try (UserImportReader ignored = reader) {
+            RegisterRequest request;
+            while ((request = reader.next()) != null) {
+                requests.add(request);
+            }
+        }
+        return requests;
+    }
+}
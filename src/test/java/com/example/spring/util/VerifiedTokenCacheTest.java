@@ -0,0 +1,83 @@
+package com.example.spring.util;
+
+import com.example.spring.model.domain.JwtPrincipal;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    @Test
+    void testGetHitAfterPut() {
+        //given
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 100);
+        JwtPrincipal principal = principal(System.currentTimeMillis() + 60000);
+
+        //when
+        JwtPrincipal miss = cache.get("token");
+        cache.put("token", principal);
+        JwtPrincipal hit = cache.get("token");
+
+        //then
+        assertThat(miss).isNull();
+        assertThat(hit).isSameAs(principal);
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testGetExpiredEntryIsEvicted() {
+        //given
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 100);
+        cache.put("token", principal(System.currentTimeMillis() - 1));
+
+        //when
+        JwtPrincipal expected = cache.get("token");
+
+        //then
+        assertThat(expected).isNull();
+        assertThat(cache.evictionCount()).isEqualTo(1);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void testPutStaysBounded() {
+        //given
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 64);
+        JwtPrincipal principal = principal(System.currentTimeMillis() + 60000);
+
+        //when
+        for (int i = 0; i < 1000; i++) {
+            cache.put("token-" + i, principal);
+        }
+
+        //then
+        assertThat(cache.size()).isLessThanOrEqualTo(64);
+        assertThat(cache.evictionCount()).isGreaterThan(0);
+    }
+
+    @Test
+    void testDisabledCacheNeverStores() {
+        //given
+        VerifiedTokenCache cache = new VerifiedTokenCache(false, 100);
+
+        //when
+        cache.put("token", principal(System.currentTimeMillis() + 60000));
+
+        //then
+        assertThat(cache.get("token")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    private JwtPrincipal principal(long expiresAt) {
+        return JwtPrincipal.builder()
+                .username("yogi")
+                .roles(Collections.singletonList("ROLE_USER"))
+                .authorities(Collections.emptyList())
+                .expiresAt(new Date(expiresAt))
+                .build();
+    }
+}
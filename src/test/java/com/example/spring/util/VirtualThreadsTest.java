@@ -0,0 +1,54 @@
+package com.example.spring.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadsTest {
+
+    @Test
+    void testSupportFollowsJavaVersion() {
+        //given
+        String version = System.getProperty("java.specification.version");
+        int feature = Integer.parseInt(version.startsWith("1.") ? version.substring(2) : version);
+
+        //when
+        //then
+        assertThat(VirtualThreads.isSupported()).isEqualTo(feature >= 21);
+    }
+
+    @Test
+    void testExecutorRunsTasksOnNamedVirtualThreads() throws Exception {
+        //given
+        assumeTrue(VirtualThreads.isSupported());
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("request-");
+
+        //when
+        Future<Thread> thread = executor.submit(Thread::currentThread);
+
+        //then
+        Thread current = thread.get(10, TimeUnit.SECONDS);
+        assertThat(current.getName()).isEqualTo("request-0");
+        assertThat(Thread.class.getMethod("isVirtual").invoke(current)).isEqualTo(true);
+        executor.shutdown();
+    }
+
+    @Test
+    void testOlderJavaFailsWithClearMessage() {
+        //given
+        assumeFalse(VirtualThreads.isSupported());
+
+        //when
+        //then
+        assertThatThrownBy(() -> VirtualThreads.factory("request-"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Java 21");
+    }
+}